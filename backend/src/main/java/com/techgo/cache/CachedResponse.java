@@ -0,0 +1,43 @@
+package com.techgo.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A complete 200 response held by {@link ResponseCache}: its headers and its gzipped body
+ */
+public final class CachedResponse {
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final int length;
+
+    public CachedResponse(Map<String, List<String>> headers, byte[] body, int length) {
+        this.headers = headers;
+        this.body = body;
+        this.length = length;
+    }
+
+    // Getters
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * The gzipped body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Length of the body before compression
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public String getETag() {
+        List<String> values = headers.get("ETag");
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+}
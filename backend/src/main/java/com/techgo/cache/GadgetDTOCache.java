@@ -0,0 +1,159 @@
+package com.techgo.cache;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.index.CatalogIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of fully assembled gadget DTOs, keyed by gadget id.
+ * Entries are evicted least-recently-used beyond the maximum size and expire after the TTL.
+ * Changed gadgets are evicted after commit through {@link CatalogIndex}; a load that overlaps
+ * an eviction is returned to its caller but not cached, so stale reads cannot be stored.
+ */
+@Component
+public class GadgetDTOCache implements CatalogIndex {
+
+    private static final String CACHE_NAME = "gadgets";
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final Map<Long, Entry> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+
+    public GadgetDTOCache(@Value("${cache.gadgets.maximum-size:10000}") int maximumSize,
+                          @Value("${cache.gadgets.ttl:10m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > GadgetDTOCache.this.maximumSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Gadget DTO cache hits").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Gadget DTO cache misses").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "size")
+                .description("Gadget DTO cache evictions").register(meterRegistry);
+        this.expirations = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "expired")
+                .description("Gadget DTO cache evictions").register(meterRegistry);
+        Gauge.builder("cache.size", this, GadgetDTOCache::size).tag("cache", CACHE_NAME)
+                .description("Number of cached gadget DTOs").register(meterRegistry);
+    }
+
+    /**
+     * Return the cached DTO for the gadget, loading and caching it on a miss
+     */
+    public GadgetDTO get(Long gadgetId, Supplier<GadgetDTO> loader) {
+        long now = System.nanoTime();
+        GadgetDTO cached = lookup(gadgetId, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        GadgetDTO gadget = loader.get();
+        synchronized (entries) {
+            if (invalidations.get() == generation) {
+                entries.put(gadgetId, new Entry(gadget, now));
+            }
+        }
+        return gadget;
+    }
+
+    /**
+     * Return the cached DTO for the gadget, or null without loading it
+     */
+    public GadgetDTO getIfPresent(Long gadgetId) {
+        return lookup(gadgetId, System.nanoTime());
+    }
+
+    /**
+     * Return the cached DTO for the gadget without loading it or recording a hit or miss
+     */
+    public GadgetDTO peek(Long gadgetId) {
+        synchronized (entries) {
+            Entry entry = entries.get(gadgetId);
+            return entry != null && System.nanoTime() - entry.loadedAt < ttlNanos ? entry.gadget : null;
+        }
+    }
+
+    public void evict(Long gadgetId) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.remove(gadgetId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        evict(gadget.getId());
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        evict(gadgetId);
+    }
+
+    private GadgetDTO lookup(Long gadgetId, long now) {
+        synchronized (entries) {
+            Entry entry = entries.get(gadgetId);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                hits.increment();
+                return entry.gadget;
+            }
+            if (entry != null) {
+                entries.remove(gadgetId);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    private static final class Entry {
+        private final GadgetDTO gadget;
+        private final long loadedAt;
+
+        private Entry(GadgetDTO gadget, long loadedAt) {
+            this.gadget = gadget;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.techgo.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent queries.
+ * The first caller for a key runs the query; callers arriving with the same key while it runs
+ * wait for it and share its result or exception instead of running the query again.
+ * A flight is only joined until its timeout: later callers start a new one, and waiting callers
+ * that reach the timeout run the query themselves, so a stuck query cannot hold up its key.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter shared;
+    private final Counter timedOut;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("coalescing.calls").tag("result", "executed")
+                .description("Queries run by a caller").register(meterRegistry);
+        this.shared = Counter.builder("coalescing.calls").tag("result", "shared")
+                .description("Queries saved by sharing the result of an identical running query")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("coalescing.calls").tag("result", "timeout")
+                .description("Callers that stopped waiting for an identical query and ran their own")
+                .register(meterRegistry);
+        Gauge.builder("coalescing.in.flight", flights, Map::size)
+                .description("Queries currently running on behalf of waiting callers").register(meterRegistry);
+    }
+
+    /**
+     * Run the query for the key, or wait up to the timeout for an identical running query and share its result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Duration timeout, Supplier<T> query) {
+        long now = System.nanoTime();
+        Flight flight = new Flight(now + timeout.toNanos());
+        Flight current = flights.compute(key,
+                (k, running) -> running != null && now - running.deadline < 0 ? running : flight);
+        if (current != flight) {
+            return (T) await(current, now, query);
+        }
+
+        executed.increment();
+        try {
+            T result = query.get();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private Object await(Flight flight, long now, Supplier<?> query) {
+        try {
+            Object result = flight.result.get(flight.deadline - now, TimeUnit.NANOSECONDS);
+            shared.increment();
+            return result;
+        } catch (TimeoutException ex) {
+            timedOut.increment();
+            executed.increment();
+            return query.get();
+        } catch (ExecutionException ex) {
+            shared.increment();
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical query", ex);
+        }
+    }
+
+    private static final class Flight {
+        private final long deadline;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Flight(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
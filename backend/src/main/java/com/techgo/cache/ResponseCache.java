@@ -0,0 +1,286 @@
+package com.techgo.cache;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.event.BrandDirectoryChangedEvent;
+import com.techgo.index.CatalogIndex;
+import com.techgo.model.Category;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of complete, gzipped catalog responses, keyed by the normalized request.
+ * Each entry is tagged with what it was computed from: a category, specific gadget ids, or
+ * the whole catalog. A committed gadget change evicts the entries tagged with its id, its
+ * old and new category and the whole catalog, and leaves listings of other categories alone.
+ * Entries are evicted least-recently-used beyond the maximum size and expire after the TTL.
+ * A response computed while a change was being applied is not stored, so stale responses cannot be cached.
+ */
+@Component
+public class ResponseCache implements CatalogIndex {
+
+    /** Tag of responses that may change with any gadget, e.g. unfiltered listings */
+    public static final String ALL = "all";
+    /** Tag of brand lists, which are served from the brand directory */
+    public static final String BRANDS = "brands";
+
+    private static final String CACHE_NAME = "responses";
+
+    private final long maximumBytes;
+    private final long maximumEntryBytes;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysByTag = new HashMap<>();
+    /** Category of every gadget, to find the listings a gadget leaves when it moves or is deleted */
+    private final Map<Long, Category> categories = new HashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private long bytes;
+    private volatile boolean ready;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+    private final Counter changeEvictions;
+
+    public ResponseCache(@Value("${cache.responses.maximum-size:64MB}") DataSize maximumSize,
+                         @Value("${cache.responses.maximum-entry-size:1MB}") DataSize maximumEntrySize,
+                         @Value("${cache.responses.ttl:10m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.maximumBytes = maximumSize.toBytes();
+        this.maximumEntryBytes = maximumEntrySize.toBytes();
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Response cache hits").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Response cache misses").register(meterRegistry);
+        this.bytesSaved = Counter.builder("cache.bytes.saved").tag("cache", CACHE_NAME).baseUnit("bytes")
+                .description("Uncompressed response bytes served from the cache instead of being serialized")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "size")
+                .description("Response cache evictions").register(meterRegistry);
+        this.expirations = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "expired")
+                .description("Response cache evictions").register(meterRegistry);
+        this.changeEvictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "changed")
+                .description("Response cache evictions").register(meterRegistry);
+        Gauge.builder("cache.size", this, ResponseCache::size).tag("cache", CACHE_NAME)
+                .description("Number of cached responses").register(meterRegistry);
+        Gauge.builder("cache.bytes", this, ResponseCache::bytes).tag("cache", CACHE_NAME).baseUnit("bytes")
+                .description("Compressed size of the cached responses").register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, ResponseCache::hitRatio).tag("cache", CACHE_NAME)
+                .description("Share of cacheable requests answered from the cache").register(meterRegistry);
+    }
+
+    public static String categoryTag(String category) {
+        Category known = Category.fromValue(category.trim());
+        return "category:" + (known != null ? known.getValue() : category.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static String gadgetTag(Long gadgetId) {
+        return "gadget:" + gadgetId;
+    }
+
+    /**
+     * Token to pass to {@link #put}; a response is only stored if no change was applied in between
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * Return the cached response for the key, or null
+     */
+    public CachedResponse get(String key) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.storedAt < ttlNanos) {
+                hits.increment();
+                bytesSaved.increment(entry.response.getLength());
+                return entry.response;
+            }
+            if (entry != null) {
+                removeEntry(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Store a response computed since the given generation, unless it is too large,
+     * the catalog is being rebuilt or a change was applied while it was computed
+     */
+    public void put(String key, Set<String> tags, CachedResponse response, long generation) {
+        if (!ready || response.getBody().length > maximumEntryBytes) {
+            return;
+        }
+        synchronized (entries) {
+            if (invalidations.get() != generation) {
+                return;
+            }
+            removeEntry(key);
+            entries.put(key, new Entry(response, tags, System.nanoTime()));
+            bytes += response.getBody().length;
+            for (String tag : tags) {
+                keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+            }
+            Iterator<String> eldest = entries.keySet().iterator();
+            while (bytes > maximumBytes && eldest.hasNext()) {
+                String evicted = eldest.next();
+                Entry entry = entries.get(evicted);
+                eldest.remove();
+                unlink(evicted, entry);
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total > 0 ? hits.count() / total : 0;
+    }
+
+    @Override
+    public boolean isDerived() {
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        ready = false;
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.clear();
+            keysByTag.clear();
+            categories.clear();
+            bytes = 0;
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        synchronized (entries) {
+            Category previous = categories.put(gadget.getId(), gadget.getCategory());
+            if (!ready) {
+                return;
+            }
+            if (previous != null && previous != gadget.getCategory()) {
+                evictTag(categoryTag(previous.getValue()));
+            }
+            if (gadget.getCategory() != null) {
+                evictTag(categoryTag(gadget.getCategory().getValue()));
+            }
+            evictTag(gadgetTag(gadget.getId()));
+            evictTag(ALL);
+        }
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        synchronized (entries) {
+            Category previous = categories.remove(gadgetId);
+            if (previous != null) {
+                evictTag(categoryTag(previous.getValue()));
+            }
+            evictTag(gadgetTag(gadgetId));
+            evictTag(ALL);
+        }
+    }
+
+    /**
+     * Evict brand lists once the brand directory serves the committed counts.
+     * Ordered after the directory's own listener so a list cannot be recomputed from its old snapshot.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onBrandDirectoryChanged(BrandDirectoryChangedEvent event) {
+        synchronized (entries) {
+            evictTag(BRANDS);
+        }
+    }
+
+    private void evictTag(String tag) {
+        invalidations.incrementAndGet();
+        Set<String> keys = keysByTag.remove(tag);
+        if (keys == null) {
+            return;
+        }
+        for (String key : List.copyOf(keys)) {
+            if (removeEntry(key)) {
+                changeEvictions.increment();
+            }
+        }
+    }
+
+    private boolean removeEntry(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(key, entry);
+        return true;
+    }
+
+    private void unlink(String key, Entry entry) {
+        bytes -= entry.response.getBody().length;
+        for (String tag : entry.tags) {
+            Set<String> keys = keysByTag.get(tag);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final CachedResponse response;
+        private final Set<String> tags;
+        private final long storedAt;
+
+        private Entry(CachedResponse response, Set<String> tags, long storedAt) {
+            this.response = response;
+            this.tags = tags;
+            this.storedAt = storedAt;
+        }
+    }
+}
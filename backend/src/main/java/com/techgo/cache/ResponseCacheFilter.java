@@ -0,0 +1,219 @@
+package com.techgo.cache;
+
+import com.techgo.index.CatalogRevision;
+import com.techgo.model.Category;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Answers anonymous catalog reads from the {@link ResponseCache}.
+ * A hit is written straight from the cached gzipped bytes, without reaching the controller,
+ * so no service, JPA or Jackson work is done. A miss runs the request as usual and stores
+ * a successful JSON response, tagged with the category or gadget ids it depends on.
+ * A listing's ETag carries the catalog revision, which moves with changes that leave the entry
+ * valid, so it is recomputed for the current revision on every hit.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> CACHED_PATHS = Set.of("/gadgets", "/gadgets/featured", "/gadgets/brands");
+    /** Response headers that describe the transfer rather than the content */
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.CONTENT_ENCODING.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.DATE.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(), "keep-alive");
+
+    private final ResponseCache cache;
+    private final CatalogRevision catalogRevision;
+
+    public ResponseCacheFilter(ResponseCache cache, CatalogRevision catalogRevision) {
+        this.cache = cache;
+        this.catalogRevision = catalogRevision;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || !CACHED_PATHS.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = key(request);
+        // Read before the entry: the revision moves only after the cache has evicted what a change affects
+        String revision = catalogRevision.isReady() ? catalogRevision.current() : null;
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            write(cached, eTag(cached, revision, request), request, response);
+            return;
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+            if (isCacheable(wrapper)) {
+                cache.put(key, tags(request), capture(wrapper), generation);
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * The path, the query parameters sorted by name and the origin, which decides the CORS headers
+     */
+    private static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path(request)).append('?');
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8)).append('=')
+                        .append(URLEncoder.encode(value, StandardCharsets.UTF_8)).append('&');
+            }
+        }
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        return origin != null ? key.append(' ').append(origin).toString() : key.toString();
+    }
+
+    /**
+     * What the response depends on: the requested gadgets for a multi-get, the whole catalog
+     * for facet counts, which span other categories, brands and price ranges,
+     * otherwise the category filter, or the whole catalog without a known one
+     */
+    private static Set<String> tags(HttpServletRequest request) {
+        Set<String> tags = new LinkedHashSet<>();
+        String ids = request.getParameter("ids");
+        if (ids != null) {
+            for (String id : ids.split(",")) {
+                if (!id.isBlank()) {
+                    tags.add(ResponseCache.gadgetTag(Long.valueOf(id.trim())));
+                }
+            }
+            return tags;
+        }
+        if (path(request).endsWith("/brands")) {
+            tags.add(ResponseCache.BRANDS);
+        }
+        String facets = request.getParameter("facets");
+        if (facets != null && !facets.equalsIgnoreCase("false")) {
+            tags.add(ResponseCache.ALL);
+            return tags;
+        }
+        String category = request.getParameter("category");
+        boolean known = category != null && Category.fromValue(category.trim()) != null;
+        tags.add(known ? ResponseCache.categoryTag(category) : ResponseCache.ALL);
+        return tags;
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                && !response.containsHeader(HttpHeaders.SET_COOKIE);
+    }
+
+    private static CachedResponse capture(ContentCachingResponseWrapper response) throws IOException {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!UNCACHED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        headers.put(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+
+        byte[] body = response.getContentAsByteArray();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return new CachedResponse(headers, compressed.toByteArray(), body.length);
+    }
+
+    /**
+     * The entry's ETag for the current revision, or none while the revision is unknown;
+     * the entry is unchanged since it was stored, so only the revision part can differ
+     */
+    private static String eTag(CachedResponse cached, String revision, HttpServletRequest request) {
+        if (cached.getETag() == null || revision == null) {
+            return null;
+        }
+        return CatalogRevision.listingETag(revision, "uri=" + request.getRequestURI(), request.getParameterMap());
+    }
+
+    private static void write(CachedResponse cached, String eTag, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        for (Map.Entry<String, List<String>> header : cached.getHeaders().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(HttpHeaders.ETAG)) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+        if (eTag != null) {
+            response.setHeader(HttpHeaders.ETAG, eTag);
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader("X-Cache", "HIT");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(cached.getBody().length);
+            response.getOutputStream().write(cached.getBody());
+            return;
+        }
+        response.setContentLength(cached.getLength());
+        try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(cached.getBody()))) {
+            body.transferTo(response.getOutputStream());
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String tag = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || (trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.techgo.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.techgo.dto.GadgetFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson configuration for the TechGo API.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Serialize every GadgetDTO property unless a request selects a sparse fieldset
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer gadgetFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(GadgetFields.FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,161 @@
+package com.techgo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes read-only transactions to a replica and everything else to the primary.
+ * Reads stay on the primary from just before any write commits until the read-your-writes window
+ * after it, so the writer and the in-memory caches refilled after the change never see replica lag. The replica
+ * is checked in the background and skipped while unreachable or lagging more than the window.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so that a transaction has declared whether
+ * it is read-only by the time its connection is fetched.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long readYourWritesNanos;
+    private final ScheduledExecutorService healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean replicaHealthy;
+    private volatile long lastWriteAt;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                      Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+        this.lastWriteAt = System.nanoTime() - readYourWritesNanos;
+        healthCheck.scheduleWithFixedDelay(this::checkReplica, 0, healthCheckInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!useReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            markReplica(false, ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!useReplica()) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException ex) {
+            markReplica(false, ex.getMessage());
+            return primary.getConnection(username, password);
+        }
+    }
+
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+    }
+
+    private boolean useReplica() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicaHealthy && System.nanoTime() - lastWriteAt >= readYourWritesNanos;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Before the commit, so that reads made by after-commit listeners and by requests
+                // racing them, such as cache reloads after an eviction, already use the primary
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    lastWriteAt = System.nanoTime();
+                }
+
+                // The window then runs from the end of the commit
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        lastWriteAt = System.nanoTime();
+                    }
+                }
+            });
+        }
+        return false;
+    }
+
+    /**
+     * The replica is healthy if it answers and, when it reports replication status, is
+     * replicating within the read-your-writes window. A standalone instance counts as current.
+     */
+    private void checkReplica() {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                markReplica(false, "connection is not valid");
+                return;
+            }
+            Long lagSeconds = replicationLag(connection);
+            if (lagSeconds == null) {
+                markReplica(false, "replication is not running");
+            } else if (TimeUnit.SECONDS.toNanos(lagSeconds) > readYourWritesNanos) {
+                markReplica(false, "replication lag of " + lagSeconds + "s exceeds the read-your-writes window");
+            } else {
+                markReplica(true, null);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            markReplica(false, ex.getMessage());
+        }
+    }
+
+    /**
+     * Seconds behind the primary, 0 if the instance is not a replica, null if replication is stopped.
+     * A status that cannot be read, e.g. without the REPLICATION CLIENT privilege or on a server
+     * before 8.0.22, fails the check: the lag is unknown, so the replica is not used.
+     */
+    private static Long replicationLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                return 0L;
+            }
+            long lag = status.getLong("Seconds_Behind_Source");
+            return status.wasNull() ? null : lag;
+        }
+    }
+
+    private void markReplica(boolean healthy, String reason) {
+        if (healthy && !replicaHealthy) {
+            log.info("Replica is available, routing read-only transactions to it");
+        } else if (!healthy && replicaHealthy) {
+            log.warn("Replica is unavailable ({}), routing read-only transactions to the primary", reason);
+        }
+        replicaHealthy = healthy;
+    }
+}
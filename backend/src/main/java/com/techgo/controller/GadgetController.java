@@ -1,16 +1,41 @@
 package com.techgo.controller;
 
+import com.techgo.dto.BulkImportResultDTO;
 import com.techgo.dto.CreateGadgetDTO;
 import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.GadgetFields;
+import com.techgo.dto.PriceHistoryDTO;
+import com.techgo.dto.SpecRangeFilter;
 import com.techgo.dto.SpecificationDTO;
+import com.techgo.dto.SuggestionDTO;
+import com.techgo.exception.BadRequestException;
+import com.techgo.index.CatalogRevision;
+import com.techgo.repository.projection.GadgetVersion;
+import com.techgo.service.CatalogExportService;
+import com.techgo.service.GadgetImportService;
 import com.techgo.service.GadgetService;
+import com.techgo.service.PriceHistoryService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for gadget management operations.
@@ -22,14 +47,30 @@ import java.util.List;
 public class GadgetController {
 
     private final GadgetService gadgetService;
+    private final CatalogExportService exportService;
+    private final GadgetImportService importService;
+    private final PriceHistoryService priceHistoryService;
 
-    public GadgetController(GadgetService gadgetService) {
+    public GadgetController(GadgetService gadgetService,
+                            CatalogExportService exportService,
+                            GadgetImportService importService,
+                            PriceHistoryService priceHistoryService) {
         this.gadgetService = gadgetService;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.priceHistoryService = priceHistoryService;
     }
 
     /**
      * Get all gadgets with pagination and filtering
      * GET /api/gadgets?page=0&size=20&category=mobiles&brand=apple&minPrice=500&maxPrice=1500&minRating=4&search=iphone
+     * sortBy accepts id, price, rating, reviewCount, createdAt or name, optionally followed by ",asc" or ",desc"
+     * facets=true adds brand, category, price range and rating counts for the result set
+     * Passing cursor (empty for the first page) switches to keyset pagination:
+     * GET /api/gadgets?cursor=&size=20, then GET /api/gadgets?cursor={next}&size=20
+     * fields=id,name,price limits each gadget to the listed properties
+     * Numeric specification filters: spec.ram_gb>=8, spec.storage_gb<=256, spec.display_inch=6..6.7
+     * Responses carry an ETag of the catalog revision; If-None-Match is answered with 304.
      */
     @GetMapping
     public ResponseEntity<?> getAllGadgets(
@@ -41,27 +82,87 @@ public class GadgetController {
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "id") String sortBy) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+
+        GadgetFields fieldset = GadgetFields.parse(fields);
+        List<SpecRangeFilter> specFilters = SpecRangeFilter.fromParameters(request.getParameterMap());
+        if (isListingNotModified(request)) {
+            return notModified();
+        }
+        if (cursor != null) {
+            return withFields(gadgetService.getGadgetsAfter(category, brand, minPrice, maxPrice, minRating,
+                search, specFilters, cursor, size, sortBy, fieldset), fieldset);
+        }
+        if (facets) {
+            return withFields(gadgetService.getAllGadgetsWithFacets(category, brand, minPrice, maxPrice, minRating,
+                search, specFilters, page, size, sortBy, fieldset), fieldset);
+        }
 
         var gadgets = gadgetService.getAllGadgets(
-            category, brand, minPrice, maxPrice, minRating, search, page, size, sortBy);
+            category, brand, minPrice, maxPrice, minRating, search, specFilters, page, size, sortBy, fieldset);
 
-        return ResponseEntity.ok(gadgets);
+        return withFields(gadgets, fieldset);
     }
 
     /**
      * Get gadget by ID
-     * GET /api/gadgets/{id}
+     * GET /api/gadgets/{id}?fields=id,name,price
+     * Responses carry an ETag of the gadget version and Last-Modified; If-None-Match is answered with 304.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<GadgetDTO> getGadgetById(@PathVariable Long id) {
-        GadgetDTO gadget = gadgetService.getGadgetById(id);
-        return ResponseEntity.ok(gadget);
+    public ResponseEntity<?> getGadgetById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+
+        GadgetFields fieldset = GadgetFields.parse(fields);
+        if (isGadgetNotModified(request, id, fieldset.token())) {
+            return notModified();
+        }
+        GadgetDTO gadget = gadgetService.getGadgetById(id, fieldset);
+        return withFields(gadget, fieldset);
+    }
+
+    /**
+     * Get many gadgets by id in one round trip, e.g. for a comparison
+     * GET /api/gadgets?ids=12,7,31&fields=id,name,price
+     * Gadgets come back in the order requested; unknown ids are listed under "missing".
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getGadgetsByIds(
+            @RequestParam String ids,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+
+        GadgetFields fieldset = GadgetFields.parse(fields);
+        List<Long> gadgetIds = parseIds(ids);
+        if (isListingNotModified(request)) {
+            return notModified();
+        }
+        return withFields(gadgetService.getGadgetsByIds(gadgetIds, fieldset), fieldset);
+    }
+
+    /**
+     * Get many gadgets by id, for id lists too long for a query string
+     * POST /api/gadgets/batch?fields=id,name,price with body [12, 7, 31]
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getGadgetsByIdsBatch(
+            @RequestBody List<Long> ids,
+            @RequestParam(required = false) String fields) {
+
+        GadgetFields fieldset = GadgetFields.parse(fields);
+        return withFields(gadgetService.getGadgetsByIds(ids, fieldset), fieldset);
     }
 
     /**
      * Search gadgets by name
-     * GET /api/gadgets/search?q=iphone&category=mobiles&brand=apple&page=0&size=10
+     * GET /api/gadgets/search?q=iphone&category=mobiles&brand=apple&page=0&size=10&fields=id,name
+     * Passing cursor (empty for the first page) switches to keyset pagination.
      */
     @GetMapping("/search")
     public ResponseEntity<?> searchGadgets(
@@ -69,23 +170,141 @@ public class GadgetController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String brand,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+
+        GadgetFields fieldset = GadgetFields.parse(fields);
+        if (isListingNotModified(request)) {
+            return notModified();
+        }
+        if (cursor != null) {
+            return withFields(gadgetService.searchGadgetsAfter(query, category, brand, cursor, size, fieldset),
+                fieldset);
+        }
+
+        var gadgets = gadgetService.searchGadgets(query, category, brand, page, size, fieldset);
+        return withFields(gadgets, fieldset);
+    }
+
+    /**
+     * Export the full catalog with specifications for feed partners
+     * GET /api/gadgets/export?format=ndjson (default) or format=csv
+     * The response is streamed straight from a database cursor.
+     */
+    @GetMapping("/export")
+    public void exportGadgets(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
 
-        var gadgets = gadgetService.searchGadgets(query, category, brand, page, size);
-        return ResponseEntity.ok(gadgets);
+        CatalogExportService.Format exportFormat = CatalogExportService.Format.parse(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"gadgets." + exportFormat.getExtension() + "\"");
+        exportService.export(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Suggest gadgets for the search box
+     * GET /api/gadgets/suggest?q=iph&limit=8
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggestGadgets(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "8") int limit) {
+
+        List<SuggestionDTO> suggestions = gadgetService.suggest(query, limit);
+        return ResponseEntity.ok(suggestions);
     }
 
     /**
      * Get featured gadgets
-     * GET /api/gadgets/featured?category=mobiles&limit=6
+     * GET /api/gadgets/featured?category=mobiles&limit=6&fields=id,name,imageUrl
      */
     @GetMapping("/featured")
-    public ResponseEntity<List<GadgetDTO>> getFeaturedGadgets(
+    public ResponseEntity<?> getFeaturedGadgets(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "6") int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+
+        GadgetFields fieldset = GadgetFields.parse(fields);
+        if (isListingNotModified(request)) {
+            return notModified();
+        }
+        List<GadgetDTO> gadgets = gadgetService.getFeaturedGadgets(category, limit, fieldset);
+        return withFields(gadgets, fieldset);
+    }
+
+    /**
+     * Get the most reviewed gadgets
+     * GET /api/gadgets/popular?category=mobiles&limit=6
+     */
+    @GetMapping("/popular")
+    public ResponseEntity<List<GadgetDTO>> getPopularGadgets(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "6") int limit,
+            WebRequest request) {
+
+        if (isListingNotModified(request)) {
+            return notModified();
+        }
+        List<GadgetDTO> gadgets = gadgetService.getPopularGadgets(category, limit);
+        return revalidated().body(gadgets);
+    }
+
+    /**
+     * Get the newest gadgets
+     * GET /api/gadgets/latest?category=mobiles&limit=6
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<List<GadgetDTO>> getLatestGadgets(
             @RequestParam(required = false) String category,
-            @RequestParam(defaultValue = "6") int limit) {
+            @RequestParam(defaultValue = "6") int limit,
+            WebRequest request) {
+
+        if (isListingNotModified(request)) {
+            return notModified();
+        }
+        List<GadgetDTO> gadgets = gadgetService.getLatestGadgets(category, limit);
+        return revalidated().body(gadgets);
+    }
+
+    /**
+     * Get gadgets similar to a gadget, for "compare with" suggestions
+     * GET /api/gadgets/{id}/similar?limit=6&fields=id,name,price,imageUrl
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarGadgets(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "6") int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
 
-        List<GadgetDTO> gadgets = gadgetService.getFeaturedGadgets(category, limit);
-        return ResponseEntity.ok(gadgets);
+        GadgetFields fieldset = GadgetFields.parse(fields);
+        if (isListingNotModified(request)) {
+            return notModified();
+        }
+        List<GadgetDTO> gadgets = gadgetService.getSimilarGadgets(id, limit, fieldset);
+        return withFields(gadgets, fieldset);
+    }
+
+    /**
+     * Get the price history of a gadget for charts, downsampled to min/max/last per bucket
+     * GET /api/gadgets/{id}/price-history?from=2024-01-01T00:00:00&to=2026-01-01T00:00:00&resolution=7d
+     * from defaults to a year before to, to to now; resolution (e.g. 1h, 1d, 7d) defaults to about 300 buckets
+     */
+    @GetMapping("/{id}/price-history")
+    public ResponseEntity<PriceHistoryDTO> getPriceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String resolution) {
+
+        PriceHistoryDTO history = priceHistoryService.getPriceHistory(id, from, to, resolution);
+        return ResponseEntity.ok(history);
     }
 
     /**
@@ -98,6 +317,40 @@ public class GadgetController {
         return new ResponseEntity<>(createdGadget, HttpStatus.CREATED);
     }
 
+    /**
+     * Import gadgets in bulk from a JSON array (Admin only)
+     * POST /api/gadgets/bulk
+     * Gadgets whose name and brand already exist are skipped and reported.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResultDTO> importGadgets(@RequestBody List<CreateGadgetDTO> gadgets) {
+        BulkImportResultDTO result = importService.importGadgets(gadgets);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+
+    /**
+     * Import gadgets in bulk from a CSV request body (Admin only)
+     * POST /api/gadgets/bulk with Content-Type: text/csv
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResultDTO> importGadgetsCsv(InputStream body) throws IOException {
+        BulkImportResultDTO result = importService.importCsv(body);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+
+    /**
+     * Import gadgets in bulk from an uploaded CSV file (Admin only)
+     * POST /api/gadgets/bulk with a multipart "file" part
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkImportResultDTO> importGadgetsCsvFile(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            BulkImportResultDTO result = importService.importCsv(input);
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        }
+    }
+
     /**
      * Update an existing gadget (Admin only)
      * PUT /api/gadgets/{id}
@@ -126,9 +379,12 @@ public class GadgetController {
      * GET /api/gadgets/{id}/specifications
      */
     @GetMapping("/{id}/specifications")
-    public ResponseEntity<List<SpecificationDTO>> getGadgetSpecifications(@PathVariable Long id) {
+    public ResponseEntity<List<SpecificationDTO>> getGadgetSpecifications(@PathVariable Long id, WebRequest request) {
+        if (isGadgetNotModified(request, id, "specifications")) {
+            return notModified();
+        }
         List<SpecificationDTO> specifications = gadgetService.getGadgetSpecifications(id);
-        return ResponseEntity.ok(specifications);
+        return revalidated().body(specifications);
     }
 
     /**
@@ -145,6 +401,20 @@ public class GadgetController {
         return new ResponseEntity<>(specification, HttpStatus.CREATED);
     }
 
+    /**
+     * Replace all specifications of a gadget (Admin only)
+     * PUT /api/gadgets/{id}/specifications with a body like {"RAM": "8GB", "Storage": "256GB"}
+     * Specifications missing from the body are removed.
+     */
+    @PutMapping("/{id}/specifications")
+    public ResponseEntity<List<SpecificationDTO>> replaceSpecifications(
+            @PathVariable Long id,
+            @RequestBody Map<String, String> specifications) {
+
+        List<SpecificationDTO> updated = gadgetService.replaceSpecifications(id, specifications);
+        return ResponseEntity.ok(updated);
+    }
+
     /**
      * Get available brands by category
      * GET /api/gadgets/brands?category=mobiles
@@ -157,6 +427,90 @@ public class GadgetController {
         return ResponseEntity.ok(brands);
     }
 
+    /**
+     * Get specification names in use, optionally within a category
+     * GET /api/gadgets/specifications/names?category=mobiles
+     */
+    @GetMapping("/specifications/names")
+    public ResponseEntity<List<String>> getSpecificationNames(
+            @RequestParam(required = false) String category) {
+
+        List<String> names = gadgetService.getSpecificationNames(category);
+        return ResponseEntity.ok(names);
+    }
+
+    /**
+     * Get the values in use for a specification name
+     * GET /api/gadgets/specifications/values?name=RAM
+     */
+    @GetMapping("/specifications/values")
+    public ResponseEntity<List<String>> getSpecificationValues(@RequestParam String name) {
+        List<String> values = gadgetService.getSpecificationValues(name);
+        return ResponseEntity.ok(values);
+    }
+
+    /**
+     * Serialize the body restricted to the requested gadget fields
+     */
+    private ResponseEntity<?> withFields(Object body, GadgetFields fields) {
+        if (fields.isAll()) {
+            return revalidated().body(body);
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(fields.toFilterProvider());
+        return revalidated().body(value);
+    }
+
+    /**
+     * Check If-None-Match / If-Modified-Since against the gadget version, setting ETag and Last-Modified.
+     * The variant distinguishes representations of the same gadget.
+     */
+    private boolean isGadgetNotModified(WebRequest request, Long id, String variant) {
+        GadgetVersion version = gadgetService.getGadgetVersion(id);
+        String eTag = "\"g" + id + "-" + version.getVersion() + "-" + variant + "\"";
+        long lastModified = version.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return request.checkNotModified(eTag, lastModified);
+    }
+
+    /**
+     * Check If-None-Match against the catalog revision combined with the request path and parameters,
+     * setting the ETag. Nothing is validated until the revision is known.
+     */
+    private boolean isListingNotModified(WebRequest request) {
+        String revision = gadgetService.getCatalogRevision();
+        if (revision == null) {
+            return false;
+        }
+        return request.checkNotModified(
+                CatalogRevision.listingETag(revision, request.getDescription(false), request.getParameterMap()));
+    }
+
+    /**
+     * Validated responses may be stored but must be revalidated before reuse
+     */
+    private static ResponseEntity.BodyBuilder revalidated() {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache());
+    }
+
+    private static List<Long> parseIds(String ids) {
+        List<Long> parsed = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("Invalid gadget id '" + id.trim() + "'");
+            }
+        }
+        return parsed;
+    }
+
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
     /**
      * Inner class for specification request body
      */
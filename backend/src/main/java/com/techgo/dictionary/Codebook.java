@@ -0,0 +1,272 @@
+package com.techgo.dictionary;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * One dictionary table (id, string) held in memory in both directions.
+ * Entries are append-only and never change, so lookups need no locking.
+ * Database access uses the caller's transactional connection, or a connection of its own
+ * outside a transaction. New entries are inserted in the caller's transaction and only
+ * published to other threads once it commits, so a rolled-back code is never reused.
+ * The database's collation decides which strings are the same entry: a string that differs
+ * from a stored one only in a way the collation ignores (e.g. accents) gets the stored code.
+ */
+final class Codebook {
+
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final String table;
+    private final String column;
+    private final String keyColumn;
+    private final Function<String, String> normalize;
+    private final Function<String, Object> uniqueKey;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    // Indexed by code; a slot is written once, before its code is published in codes
+    private volatile String[] strings = new String[0];
+    private volatile boolean loaded;
+
+    Codebook(DataSource dataSource, String table, String column, String keyColumn,
+             Function<String, String> normalize, Function<String, Object> uniqueKey) {
+        this.dataSource = dataSource;
+        this.table = table;
+        this.column = column;
+        this.keyColumn = keyColumn;
+        this.normalize = normalize;
+        this.uniqueKey = uniqueKey;
+    }
+
+    int encode(String value) {
+        Integer code = find(value);
+        if (code == null) {
+            encodeAll(Collections.singletonList(value));
+            code = find(value);
+        }
+        if (code == null) {
+            throw new IllegalStateException("'" + value + "' could not be added to " + table);
+        }
+        return code;
+    }
+
+    Integer find(String value) {
+        ensureLoaded();
+        String normalized = normalize.apply(value);
+        Integer code = codes.get(normalized);
+        if (code == null) {
+            Pending pending = pending(false);
+            code = pending != null ? pending.codes.get(normalized) : null;
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        ensureLoaded();
+        String[] snapshot = strings;
+        if (code < snapshot.length && snapshot[code] != null) {
+            return snapshot[code];
+        }
+        Pending pending = pending(false);
+        if (pending != null && pending.strings.containsKey(code)) {
+            return pending.strings.get(code);
+        }
+        // Added by another instance since we loaded
+        for (Entry entry : query("SELECT id, " + column + " FROM " + table + " WHERE id = ?",
+                Collections.singletonList(code))) {
+            publish(entry.code, entry.value, normalize.apply(entry.value));
+            return entry.value;
+        }
+        throw new IllegalStateException("Unknown code " + code + " in " + table);
+    }
+
+    /**
+     * Add any values missing from the dictionary with one batched insert and one lookup per
+     * thousand values, on the caller's connection
+     */
+    void encodeAll(Collection<String> values) {
+        ensureLoaded();
+        // Sorted, so concurrent transactions take the unique key locks in the same order
+        Map<String, String> missing = new TreeMap<>();
+        for (String value : values) {
+            if (find(value) == null) {
+                missing.putIfAbsent(normalize.apply(value), value);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<String> pending = new ArrayList<>(missing.values());
+        insertIgnoringDuplicates(pending);
+        boolean transactional = TransactionSynchronizationManager.isActualTransactionActive();
+        // Read the current rows, including those committed concurrently after our snapshot
+        String locking = transactional ? " FOR SHARE" : "";
+        for (int from = 0; from < pending.size(); from += LOOKUP_BATCH_SIZE) {
+            List<String> batch = pending.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, pending.size()));
+            List<Object> keys = new ArrayList<>(batch.size());
+            for (String value : batch) {
+                keys.add(uniqueKey.apply(value));
+            }
+            for (Entry entry : query("SELECT id, " + column + " FROM " + table + " WHERE " + keyColumn + " IN ("
+                    + String.join(", ", Collections.nCopies(keys.size(), "?")) + ")" + locking, keys)) {
+                register(entry.code, entry.value, normalize.apply(entry.value), transactional);
+            }
+        }
+        // A value equal to a stored one under the collation but not in Java finds that row by its own key
+        for (String value : pending) {
+            if (find(value) != null) {
+                continue;
+            }
+            for (Entry entry : query("SELECT id, " + column + " FROM " + table + " WHERE " + keyColumn + " = ?"
+                    + locking, Collections.singletonList(uniqueKey.apply(value)))) {
+                register(entry.code, entry.value, normalize.apply(entry.value), transactional);
+                register(entry.code, entry.value, normalize.apply(value), transactional);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (lock) {
+            if (!loaded) {
+                for (Entry entry : query("SELECT id, " + column + " FROM " + table, Collections.emptyList())) {
+                    publish(entry.code, entry.value, normalize.apply(entry.value));
+                }
+                loaded = true;
+            }
+        }
+    }
+
+    private void insertIgnoringDuplicates(List<String> values) {
+        boolean hashed = !keyColumn.equals(column);
+        String columns = hashed ? column + ", " + keyColumn : column;
+        String sql = "INSERT IGNORE INTO " + table + " (" + columns + ") VALUES (" + (hashed ? "?, ?" : "?") + ")";
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (String value : values) {
+                statement.setString(1, value);
+                if (hashed) {
+                    statement.setObject(2, uniqueKey.apply(value));
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to add entries to " + table, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Run a lookup on the caller's connection and return the (id, string) rows
+     */
+    private List<Entry> query(String sql, List<?> parameters) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            List<Entry> entries = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(new Entry(rs.getInt(1), rs.getString(2)));
+                }
+            }
+            return entries;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read " + table, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Make an entry visible to the current transaction only until it commits, or to everyone
+     * outside a transaction. Rows that were already committed are the same either way.
+     */
+    private void register(int code, String value, String normalized, boolean transactional) {
+        if (transactional) {
+            Pending pending = pending(true);
+            pending.codes.put(normalized, code);
+            pending.strings.put(code, value);
+        } else {
+            publish(code, value, normalized);
+        }
+    }
+
+    private void publish(int code, String value, String normalized) {
+        synchronized (lock) {
+            String[] snapshot = strings;
+            if (code >= snapshot.length) {
+                snapshot = Arrays.copyOf(snapshot, Math.max(code + 1, snapshot.length * 2));
+            }
+            snapshot[code] = value;
+            strings = snapshot;
+        }
+        codes.put(normalized, code);
+    }
+
+    /**
+     * Entries added or looked up by the current transaction, published when it commits
+     */
+    private Pending pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            Pending registered = pending;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(Codebook.this);
+                    if (status == STATUS_COMMITTED) {
+                        for (Map.Entry<String, Integer> code : registered.codes.entrySet()) {
+                            publish(code.getValue(), registered.strings.get(code.getValue()), code.getKey());
+                        }
+                    }
+                }
+            });
+        }
+        return pending;
+    }
+
+    private static final class Pending {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final Map<Integer, String> strings = new HashMap<>();
+    }
+
+    private static final class Entry {
+        private final int code;
+        private final String value;
+
+        private Entry(int code, String value) {
+            this.code = code;
+            this.value = value;
+        }
+    }
+}
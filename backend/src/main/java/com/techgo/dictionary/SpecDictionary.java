@@ -0,0 +1,101 @@
+package com.techgo.dictionary;
+
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Dictionary encoding of specification names and values.
+ * gadget_specifications stores integer codes referencing spec_keys and spec_values; this
+ * component maps between codes and strings in memory. Each distinct string is held once
+ * and shared by every specification using it. New strings are added in the caller's
+ * transaction, and become visible to other threads when it commits.
+ */
+@Component
+public class SpecDictionary {
+
+    private final Codebook names;
+    private final Codebook values;
+
+    public SpecDictionary(DataSource dataSource) {
+        // Names compare case-insensitively, like the spec_keys.name unique key; other differences
+        // the column's collation ignores, such as accents, are resolved by the database
+        this.names = new Codebook(dataSource, "spec_keys", "name", "name",
+                name -> name.toLowerCase(Locale.ROOT), name -> name);
+        // Values are exact; the unique key is on a SHA-256 hash since TEXT cannot be indexed whole
+        this.values = new Codebook(dataSource, "spec_values", "value", "value_hash",
+                value -> value, SpecDictionary::sha256);
+    }
+
+    /**
+     * Code of a specification name, adding it to the dictionary if it is new
+     */
+    public int encodeName(String name) {
+        return names.encode(name);
+    }
+
+    /**
+     * Code of a specification value, adding it to the dictionary if it is new
+     */
+    public int encodeValue(String value) {
+        return values.encode(value);
+    }
+
+    /**
+     * Add any new names to the dictionary with one batched insert
+     */
+    public void encodeNames(Collection<String> specNames) {
+        names.encodeAll(specNames);
+    }
+
+    /**
+     * Add any new values to the dictionary with one batched insert
+     */
+    public void encodeValues(Collection<String> specValues) {
+        values.encodeAll(specValues);
+    }
+
+    /**
+     * Code of a specification name, or null if no specification has ever used it
+     */
+    public Integer findNameCode(String name) {
+        return names.find(name);
+    }
+
+    public String decodeName(int code) {
+        return names.decode(code);
+    }
+
+    public String decodeValue(int code) {
+        return values.decode(code);
+    }
+
+    /**
+     * The shared dictionary instance of a name, or the name itself if it is not in the dictionary
+     */
+    public String canonicalName(String name) {
+        Integer code = names.find(name);
+        return code != null ? names.decode(code) : name;
+    }
+
+    /**
+     * The shared dictionary instance of a value, or the value itself if it is not in the dictionary
+     */
+    public String canonicalValue(String value) {
+        Integer code = values.find(value);
+        return code != null ? values.decode(code) : value;
+    }
+
+    private static Object sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.techgo.dictionary;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores specification names as {@link SpecDictionary} codes.
+ * Runs inside the Hibernate flush, so services add new names to the dictionary beforehand
+ * and the conversion is a memory lookup.
+ */
+@Component
+@Converter
+public class SpecNameConverter implements AttributeConverter<String, Integer> {
+
+    private final SpecDictionary dictionary;
+
+    public SpecNameConverter(SpecDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        return name != null ? dictionary.encodeName(name) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer code) {
+        return code != null ? dictionary.decodeName(code) : null;
+    }
+}
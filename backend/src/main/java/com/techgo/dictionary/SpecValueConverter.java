@@ -0,0 +1,31 @@
+package com.techgo.dictionary;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores specification values as {@link SpecDictionary} codes.
+ * Runs inside the Hibernate flush, so services add new values to the dictionary beforehand
+ * and the conversion is a memory lookup.
+ */
+@Component
+@Converter
+public class SpecValueConverter implements AttributeConverter<String, Integer> {
+
+    private final SpecDictionary dictionary;
+
+    public SpecValueConverter(SpecDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String value) {
+        return value != null ? dictionary.encodeValue(value) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer code) {
+        return code != null ? dictionary.decodeValue(code) : null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.techgo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing a bulk gadget import.
+ */
+public class BulkImportResultDTO {
+    private int received;
+    private int created;
+    private int specificationsCreated;
+    private List<Long> createdIds = new ArrayList<>();
+    private List<String> skipped = new ArrayList<>();
+
+    // Default constructor
+    public BulkImportResultDTO() {}
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    /**
+     * Gadget rows inserted, as reported by the database
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    /**
+     * Specification rows inserted, as reported by the database
+     */
+    public int getSpecificationsCreated() {
+        return specificationsCreated;
+    }
+
+    public void setSpecificationsCreated(int specificationsCreated) {
+        this.specificationsCreated = specificationsCreated;
+    }
+
+    public List<Long> getCreatedIds() {
+        return createdIds;
+    }
+
+    public void setCreatedIds(List<Long> createdIds) {
+        this.createdIds = createdIds;
+    }
+
+    /**
+     * Gadgets left out because the same name and brand already exists or appears earlier in the import
+     */
+    public List<String> getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(List<String> skipped) {
+        this.skipped = skipped;
+    }
+}
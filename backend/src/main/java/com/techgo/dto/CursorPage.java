@@ -0,0 +1,52 @@
+package com.techgo.dto;
+
+import java.util.List;
+
+/**
+ * A page of results fetched in cursor (keyset) mode.
+ * Carries an opaque token for the next page instead of page numbers and totals.
+ */
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String next;
+
+    // Default constructor
+    public CursorPage() {}
+
+    // Constructor with all fields
+    public CursorPage(List<T> content, int size, String next) {
+        this.content = content;
+        this.size = size;
+        this.next = next;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    public boolean isLast() {
+        return next == null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.techgo.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for facet counts shown in the filter sidebar.
+ * Each facet is counted with every active filter applied except its own,
+ * so the counts show how many results selecting that value would give.
+ */
+public class FacetCountsDTO {
+    private Map<String, Integer> categories = new LinkedHashMap<>();
+    private Map<String, Integer> brands = new LinkedHashMap<>();
+    private Map<String, Integer> priceRanges = new LinkedHashMap<>();
+    private Map<String, Integer> ratings = new LinkedHashMap<>();
+
+    // Default constructor
+    public FacetCountsDTO() {}
+
+    // Getters and Setters
+    public Map<String, Integer> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(Map<String, Integer> categories) {
+        this.categories = categories;
+    }
+
+    public Map<String, Integer> getBrands() {
+        return brands;
+    }
+
+    public void setBrands(Map<String, Integer> brands) {
+        this.brands = brands;
+    }
+
+    public Map<String, Integer> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public void setPriceRanges(Map<String, Integer> priceRanges) {
+        this.priceRanges = priceRanges;
+    }
+
+    public Map<String, Integer> getRatings() {
+        return ratings;
+    }
+
+    public void setRatings(Map<String, Integer> ratings) {
+        this.ratings = ratings;
+    }
+}
@@ -0,0 +1,23 @@
+package com.techgo.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page of results that also carries facet counts for the whole result set.
+ * Serializes like a regular page with an extra "facets" property.
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+    private final FacetCountsDTO facets;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, FacetCountsDTO facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+
+    public FacetCountsDTO getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,39 @@
+package com.techgo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of fetching many gadgets by id: the gadgets found, in request order,
+ * and the requested ids that do not exist.
+ */
+public class GadgetBatchDTO {
+    private List<GadgetDTO> gadgets = new ArrayList<>();
+    private List<Long> missing = new ArrayList<>();
+
+    // Default constructor
+    public GadgetBatchDTO() {}
+
+    // Constructor with all fields
+    public GadgetBatchDTO(List<GadgetDTO> gadgets, List<Long> missing) {
+        this.gadgets = gadgets;
+        this.missing = missing;
+    }
+
+    // Getters and Setters
+    public List<GadgetDTO> getGadgets() {
+        return gadgets;
+    }
+
+    public void setGadgets(List<GadgetDTO> gadgets) {
+        this.gadgets = gadgets;
+    }
+
+    public List<Long> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<Long> missing) {
+        this.missing = missing;
+    }
+}
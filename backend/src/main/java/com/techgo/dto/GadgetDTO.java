@@ -1,6 +1,11 @@
 package com.techgo.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.techgo.model.Category;
+import com.techgo.model.Hundredths;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -8,24 +13,44 @@ import java.util.List;
 /**
  * Data Transfer Object for Gadget entity.
  * Used for API responses to avoid exposing internal entity structure.
+ * Price and rating are held as {@link Hundredths} and written to JSON as decimals.
  */
+@JsonFilter(GadgetFields.FILTER)
 public class GadgetDTO {
     private Long id;
     private String name;
     private String brand;
     private Category category;
-    private BigDecimal price;
+    private long priceCents;
     private String description;
     private String imageUrl;
-    private BigDecimal rating;
+    private int ratingX100;
+    // False when the rating column is null, which is written as 0 but sorts before every rating
+    private boolean rated = true;
     private Integer reviewCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private List<SpecificationDTO> specifications;
 
     // Default constructor
     public GadgetDTO() {}
 
+    // Constructor for listing projections (no description, audit timestamps or specifications)
+    public GadgetDTO(Long id, String name, String brand, Category category, BigDecimal price,
+                     String imageUrl, BigDecimal rating, Integer reviewCount, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.brand = brand;
+        this.category = category;
+        this.priceCents = Hundredths.of(price);
+        this.imageUrl = imageUrl;
+        this.ratingX100 = (int) Hundredths.of(rating);
+        this.rated = rating != null;
+        this.reviewCount = reviewCount;
+        this.createdAt = createdAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -59,12 +84,14 @@ public class GadgetDTO {
         this.category = category;
     }
 
-    public BigDecimal getPrice() {
-        return price;
+    @JsonProperty("price")
+    @JsonSerialize(using = HundredthsSerializer.class)
+    public long getPriceCents() {
+        return priceCents;
     }
 
-    public void setPrice(BigDecimal price) {
-        this.price = price;
+    public void setPriceCents(long priceCents) {
+        this.priceCents = priceCents;
     }
 
     public String getDescription() {
@@ -83,12 +110,23 @@ public class GadgetDTO {
         this.imageUrl = imageUrl;
     }
 
-    public BigDecimal getRating() {
-        return rating;
+    @JsonProperty("rating")
+    @JsonSerialize(using = HundredthsSerializer.class)
+    public int getRatingX100() {
+        return ratingX100;
     }
 
-    public void setRating(BigDecimal rating) {
-        this.rating = rating;
+    public void setRatingX100(int ratingX100) {
+        this.ratingX100 = ratingX100;
+    }
+
+    @JsonIgnore
+    public boolean isRated() {
+        return rated;
+    }
+
+    public void setRated(boolean rated) {
+        this.rated = rated;
     }
 
     public Integer getReviewCount() {
@@ -115,6 +153,14 @@ public class GadgetDTO {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<SpecificationDTO> getSpecifications() {
         return specifications;
     }
@@ -129,10 +175,11 @@ public class GadgetDTO {
     }
 
     public String getFormattedPrice() {
-        return price != null ? String.format("$%.2f", price) : null;
+        return "$" + Hundredths.format(priceCents);
     }
 
     public String getFormattedRating() {
-        return rating != null ? String.format("%.1f", rating) : "0.0";
+        int tenths = (ratingX100 + 5) / 10;
+        return tenths / 10 + "." + tenths % 10;
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.techgo.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.techgo.exception.BadRequestException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Sparse fieldset requested through the fields query parameter, e.g. fields=id,name,price.
+ * Limits which GadgetDTO properties are serialized and whether specifications are loaded at all.
+ */
+public final class GadgetFields {
+
+    /** Name of the Jackson filter declared on {@link GadgetDTO} */
+    public static final String FILTER = "gadgetFields";
+
+    public static final String SPECIFICATIONS = "specifications";
+
+    private static final List<String> AVAILABLE = Arrays.asList(
+        "id", "name", "brand", "category", "categoryDisplayName", "price", "formattedPrice",
+        "description", "imageUrl", "rating", "formattedRating", "reviewCount", "createdAt", "updatedAt",
+        "version", SPECIFICATIONS
+    );
+
+    /** Every field, the default when no fields parameter is given */
+    public static final GadgetFields ALL = new GadgetFields(null);
+
+    private final Set<String> fields;
+
+    private GadgetFields(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parse a comma separated fields parameter; null or blank selects every field
+     */
+    public static GadgetFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!AVAILABLE.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'. Available fields: " + AVAILABLE);
+            }
+            selected.add(name);
+        }
+        return new GadgetFields(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Stable token identifying the fieldset, independent of the order fields were listed in
+     */
+    public String token() {
+        if (fields == null) {
+            return "all";
+        }
+        return DigestUtils.md5DigestAsHex(String.join(",", new TreeSet<>(fields)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean includesSpecifications() {
+        return includes(SPECIFICATIONS);
+    }
+
+    /**
+     * Jackson filters serializing only the selected GadgetDTO properties
+     */
+    public FilterProvider toFilterProvider() {
+        SimpleBeanPropertyFilter filter = fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        return new SimpleFilterProvider().addFilter(FILTER, filter);
+    }
+}
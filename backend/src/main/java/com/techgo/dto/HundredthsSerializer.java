@@ -0,0 +1,24 @@
+package com.techgo.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.techgo.model.Hundredths;
+
+import java.io.IOException;
+
+/**
+ * Writes a fixed-point value in hundredths as a JSON decimal number, e.g. 129999 as 1299.99,
+ * without going through BigDecimal
+ */
+public class HundredthsSerializer extends StdSerializer<Number> {
+
+    public HundredthsSerializer() {
+        super(Number.class);
+    }
+
+    @Override
+    public void serialize(Number value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(Hundredths.format(value.longValue()));
+    }
+}
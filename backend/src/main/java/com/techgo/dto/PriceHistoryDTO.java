@@ -0,0 +1,62 @@
+package com.techgo.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the price history of a gadget over a period, downsampled to
+ * buckets of the given resolution. Only buckets with a price change are listed, plus the
+ * first bucket when a price was already in effect at the start of the period.
+ */
+public class PriceHistoryDTO {
+    private Long gadgetId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String resolution;
+    private List<PricePointDTO> points = new ArrayList<>();
+
+    // Default constructor
+    public PriceHistoryDTO() {}
+
+    // Getters and Setters
+    public Long getGadgetId() {
+        return gadgetId;
+    }
+
+    public void setGadgetId(Long gadgetId) {
+        this.gadgetId = gadgetId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+
+    public List<PricePointDTO> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<PricePointDTO> points) {
+        this.points = points;
+    }
+}
@@ -0,0 +1,58 @@
+package com.techgo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for one bucket of a downsampled price chart.
+ * min and max include the price in effect when the bucket starts; last is the price at its end.
+ */
+public class PricePointDTO {
+    private LocalDateTime time;
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal last;
+
+    // Default constructor
+    public PricePointDTO() {}
+
+    public PricePointDTO(LocalDateTime time, BigDecimal min, BigDecimal max, BigDecimal last) {
+        this.time = time;
+        this.min = min;
+        this.max = max;
+        this.last = last;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public void setTime(LocalDateTime time) {
+        this.time = time;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public void setMin(BigDecimal min) {
+        this.min = min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    public void setMax(BigDecimal max) {
+        this.max = max;
+    }
+
+    public BigDecimal getLast() {
+        return last;
+    }
+
+    public void setLast(BigDecimal last) {
+        this.last = last;
+    }
+}
@@ -0,0 +1,116 @@
+package com.techgo.dto;
+
+import com.techgo.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Numeric range filter on a unit-normalized specification, taken from /gadgets query parameters:
+ * spec.ram_gb>=8, spec.ram_gb<=16, spec.ram_gb=8 or spec.display_inch=6..6.7.
+ * The key is the specification's filter key, i.e. its name and canonical unit.
+ */
+public final class SpecRangeFilter {
+
+    public static final String PARAMETER_PREFIX = "spec.";
+
+    private static final Pattern KEY = Pattern.compile("[a-z0-9_]{1,120}");
+
+    private final String key;
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    public SpecRangeFilter(String key, BigDecimal min, BigDecimal max) {
+        this.key = key;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Collect the spec.* filters from request parameters; bounds given for the same key are combined
+     */
+    public static List<SpecRangeFilter> fromParameters(Map<String, String[]> parameters) {
+        Map<String, BigDecimal[]> ranges = new LinkedHashMap<>();
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            String name = parameter.getKey();
+            if (!name.startsWith(PARAMETER_PREFIX)) {
+                continue;
+            }
+            // A query string of spec.ram_gb>=8 arrives as parameter "spec.ram_gb>" with value "8"
+            String key = name.substring(PARAMETER_PREFIX.length());
+            char operator = key.isEmpty() ? '=' : key.charAt(key.length() - 1);
+            if (operator == '>' || operator == '<') {
+                key = key.substring(0, key.length() - 1);
+            } else {
+                operator = '=';
+            }
+            if (!KEY.matcher(key).matches()) {
+                throw new BadRequestException("Invalid specification filter '" + name + "'");
+            }
+
+            BigDecimal[] range = ranges.computeIfAbsent(key, k -> new BigDecimal[2]);
+            for (String value : parameter.getValue()) {
+                if (operator == '>') {
+                    range[0] = greater(range[0], number(name, value));
+                } else if (operator == '<') {
+                    range[1] = lesser(range[1], number(name, value));
+                } else if (value.contains("..")) {
+                    String[] bounds = value.split("\\.\\.", -1);
+                    if (!bounds[0].isBlank()) {
+                        range[0] = greater(range[0], number(name, bounds[0]));
+                    }
+                    if (!bounds[1].isBlank()) {
+                        range[1] = lesser(range[1], number(name, bounds[1]));
+                    }
+                } else {
+                    BigDecimal exact = number(name, value);
+                    range[0] = greater(range[0], exact);
+                    range[1] = lesser(range[1], exact);
+                }
+            }
+        }
+
+        List<SpecRangeFilter> filters = new ArrayList<>(ranges.size());
+        ranges.forEach((key, range) -> filters.add(new SpecRangeFilter(key, range[0], range[1])));
+        return filters;
+    }
+
+    private static BigDecimal number(String parameter, String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Specification filter '" + parameter + "' needs a number, got '" + value + "'");
+        }
+    }
+
+    private static BigDecimal greater(BigDecimal current, BigDecimal value) {
+        return current == null || value.compareTo(current) > 0 ? value : current;
+    }
+
+    private static BigDecimal lesser(BigDecimal current, BigDecimal value) {
+        return current == null || value.compareTo(current) < 0 ? value : current;
+    }
+
+    // Getters
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Inclusive lower bound, or null
+     */
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    /**
+     * Inclusive upper bound, or null
+     */
+    public BigDecimal getMax() {
+        return max;
+    }
+}
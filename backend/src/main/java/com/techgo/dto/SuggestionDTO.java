@@ -0,0 +1,58 @@
+package com.techgo.dto;
+
+import com.techgo.model.Category;
+
+/**
+ * Data Transfer Object for search box suggestions.
+ * Carries only what the typeahead dropdown renders.
+ */
+public class SuggestionDTO {
+    private Long id;
+    private String name;
+    private String brand;
+    private Category category;
+
+    // Default constructor
+    public SuggestionDTO() {}
+
+    // Constructor with all fields
+    public SuggestionDTO(Long id, String name, String brand, Category category) {
+        this.id = id;
+        this.name = name;
+        this.brand = brand;
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+}
@@ -0,0 +1,8 @@
+package com.techgo.event;
+
+/**
+ * Event published when gadget counts in the brand directory were adjusted.
+ * Listeners run after the adjusting transaction commits.
+ */
+public class BrandDirectoryChangedEvent {
+}
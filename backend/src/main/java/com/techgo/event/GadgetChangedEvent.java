@@ -0,0 +1,38 @@
+package com.techgo.event;
+
+import com.techgo.dto.GadgetDTO;
+
+/**
+ * Event published whenever a gadget or one of its specifications changes.
+ * Carries the fully assembled gadget after the change, or null when the gadget was deleted.
+ */
+public class GadgetChangedEvent {
+    private final Long gadgetId;
+    private final GadgetDTO gadget;
+
+    public GadgetChangedEvent(Long gadgetId, GadgetDTO gadget) {
+        this.gadgetId = gadgetId;
+        this.gadget = gadget;
+    }
+
+    public static GadgetChangedEvent saved(GadgetDTO gadget) {
+        return new GadgetChangedEvent(gadget.getId(), gadget);
+    }
+
+    public static GadgetChangedEvent deleted(Long gadgetId) {
+        return new GadgetChangedEvent(gadgetId, null);
+    }
+
+    // Getters
+    public Long getGadgetId() {
+        return gadgetId;
+    }
+
+    public GadgetDTO getGadget() {
+        return gadget;
+    }
+
+    public boolean isDeleted() {
+        return gadget == null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+
+/**
+ * An in-memory structure derived from the gadget catalog.
+ * Implementations are rebuilt from the database at startup and then kept
+ * current by {@link CatalogIndexMaintainer} as gadgets change.
+ */
+public interface CatalogIndex {
+
+    /**
+     * Drop all indexed state before a full rebuild
+     */
+    void clear();
+
+    /**
+     * Add a gadget, replacing any previously indexed version with the same id
+     */
+    void index(GadgetDTO gadget);
+
+    /**
+     * Remove a gadget if it is indexed
+     */
+    void remove(Long gadgetId);
+
+    /**
+     * Whether this index holds results computed from the other indexes, so that
+     * changes must reach it after them
+     */
+    default boolean isDerived() {
+        return false;
+    }
+
+    /**
+     * Called once a full rebuild has indexed every gadget
+     */
+    default void rebuildComplete() {
+    }
+}
@@ -0,0 +1,141 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.event.GadgetChangedEvent;
+import com.techgo.service.GadgetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps every {@link CatalogIndex} in sync with the database.
+ * Rebuilds all indexes from the catalog at startup and applies gadget
+ * changes once the transaction that made them has committed, derived indexes last.
+ * Changes committed while a rebuild reads the catalog are held back and applied after it,
+ * so a gadget read before it changed does not stay stale.
+ * Changes of concurrent transactions can arrive out of order, so the last applied version of
+ * each gadget is kept and older states are dropped; a deleted gadget is never indexed again.
+ */
+@Component
+public class CatalogIndexMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndexMaintainer.class);
+    private static final int REBUILD_BATCH_SIZE = 500;
+    /** Recorded for deleted gadgets; ids are never reused */
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final List<CatalogIndex> indexes;
+    private final GadgetService gadgetService;
+    private final Object rebuildLock = new Object();
+    /** Changes received during a rebuild, null when no rebuild is running */
+    private List<GadgetChangedEvent> pendingChanges;
+    /** Version of the state of each gadget the indexes hold, or DELETED */
+    private final Map<Long, Long> appliedVersions = new ConcurrentHashMap<>();
+
+    public CatalogIndexMaintainer(List<CatalogIndex> indexes, GadgetService gadgetService) {
+        // Derived indexes after the ones they read, and the catalog revision last of all, so a
+        // listing validated by a revision always includes the changes behind it
+        this.indexes = indexes.stream()
+                .sorted(Comparator.comparing(CatalogIndex::isDerived)
+                        .thenComparing(index -> index instanceof CatalogRevision))
+                .collect(Collectors.toList());
+        this.gadgetService = gadgetService;
+    }
+
+    /**
+     * Rebuild all indexes from the database, reading the catalog in id order one batch at a time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        indexes.forEach(CatalogIndex::clear);
+        appliedVersions.clear();
+
+        long lastId = 0;
+        long total = 0;
+        List<GadgetDTO> batch;
+        do {
+            batch = gadgetService.getCatalogAfter(lastId, REBUILD_BATCH_SIZE);
+            for (GadgetDTO gadget : batch) {
+                indexes.forEach(index -> index.index(gadget));
+                appliedVersions.put(gadget.getId(), version(gadget));
+                lastId = gadget.getId();
+            }
+            total += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        int replayed;
+        synchronized (rebuildLock) {
+            List<GadgetChangedEvent> changes = pendingChanges;
+            pendingChanges = null;
+            changes.forEach(this::apply);
+            replayed = changes.size();
+        }
+
+        indexes.forEach(CatalogIndex::rebuildComplete);
+        log.info("Rebuilt {} catalog indexes over {} gadgets in {} ms, replaying {} concurrent changes",
+                indexes.size(), total, System.currentTimeMillis() - start, replayed);
+    }
+
+    /**
+     * Apply a committed gadget change to all indexes, or hold it back until the running rebuild is done
+     */
+    @TransactionalEventListener
+    public void onGadgetChanged(GadgetChangedEvent event) {
+        synchronized (rebuildLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    /**
+     * Apply a change unless the indexes already hold a later state of the gadget.
+     * Changes of one gadget are applied one at a time, so the check and the update cannot interleave.
+     */
+    private void apply(GadgetChangedEvent event) {
+        long version = event.isDeleted() ? DELETED : version(event.getGadget());
+        appliedVersions.compute(event.getGadgetId(), (id, applied) -> {
+            if (applied != null && applied > version) {
+                log.debug("Dropping change of gadget {} at version {}, already at {}", id, version, applied);
+                return applied;
+            }
+            applyToIndexes(event);
+            return version;
+        });
+    }
+
+    private static long version(GadgetDTO gadget) {
+        return gadget.getVersion() != null ? gadget.getVersion() : 0L;
+    }
+
+    private void applyToIndexes(GadgetChangedEvent event) {
+        for (CatalogIndex index : indexes) {
+            try {
+                if (event.isDeleted()) {
+                    index.remove(event.getGadgetId());
+                } else {
+                    index.index(event.getGadget());
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to apply change of gadget {} to {}",
+                        event.getGadgetId(), index.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog-wide revision counter, bumped after every committed gadget change.
+ * Serves as a cheap validator for listing responses: any change to any gadget
+ * produces a new revision, so a listing tagged with the current revision is current.
+ * It is bumped after every other index and cache has applied the change, so a listing
+ * computed after reading a revision is never older than that revision.
+ */
+@Component
+public class CatalogRevision implements CatalogIndex {
+
+    // Distinguishes revisions across restarts, when the counter starts over
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong revision = new AtomicLong();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Opaque token that changes whenever any gadget changes
+     */
+    public String current() {
+        return epoch + "." + revision.get();
+    }
+
+    /**
+     * ETag of a listing at the given revision: the revision and a digest of the resource
+     * description (e.g. "uri=/api/gadgets") and the query parameters sorted by name
+     */
+    public static String listingETag(String revision, String resource, Map<String, String[]> parameters) {
+        StringBuilder key = new StringBuilder(resource);
+        for (Map.Entry<String, String[]> param : new TreeMap<>(parameters).entrySet()) {
+            key.append('&').append(param.getKey()).append('=').append(Arrays.toString(param.getValue()));
+        }
+        return "\"c" + revision + "-"
+                + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @Override
+    public boolean isDerived() {
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        ready = false;
+        revision.incrementAndGet();
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        revision.incrementAndGet();
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        revision.incrementAndGet();
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+}
@@ -0,0 +1,362 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import com.techgo.model.Hundredths;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable columnar copy of the catalog for filter-only listings.
+ * Each attribute is a primitive array indexed by row, rows in id order. Changes are collected
+ * and folded into a new snapshot by a background task once writes pause for the rebuild delay,
+ * or at the latest the maximum rebuild delay after the first unfolded change, so a steady stream
+ * of writes still gets rebuilds while a burst (e.g. a bulk import) costs one. The new snapshot is
+ * swapped in atomically, so readers never lock or rebuild. Until then queries answer from the
+ * previous snapshot; {@link #isCurrent()} tells whether it includes every change.
+ * Filtering is a branch-free scan; sorting packs each match's sort keys and row into one long.
+ */
+@Component
+public class CatalogSnapshot implements CatalogIndex {
+
+    /**
+     * Listing orders the snapshot can serve; each ends with id in the same direction
+     */
+    public enum Order {
+        ID, PRICE, RATING, REVIEW_COUNT, CREATED_AT
+    }
+
+    private static final int ROW_BITS = 24;
+    private static final int MAX_ROWS = 1 << ROW_BITS;
+    // Sort keys store a rating or review count plus one, so -1 (no reviews) packs as 0
+    private static final int RATING_BITS = 10;
+    private static final int MIN_RATING_X100 = -1;
+    private static final int MAX_RATING_X100 = (1 << RATING_BITS) - 2;
+    private static final int REVIEW_COUNT_BITS = 29;
+    private static final int MIN_REVIEW_COUNT = -1;
+    private static final int MAX_REVIEW_COUNT = (1 << REVIEW_COUNT_BITS) - 2;
+
+    /** Latest state of every gadget, in id order; guarded by this */
+    private final TreeMap<Long, Row> rows = new TreeMap<>();
+    /** Lower-cased brand to code, matching the case-insensitive brand column; guarded by this */
+    private final Map<String, Integer> brandCodes = new HashMap<>();
+    /** The rebuild waiting to run, or null; guarded by this */
+    private ScheduledFuture<?> scheduledRebuild;
+    /** When the oldest change not yet folded in was made; guarded by this */
+    private long pendingSince;
+
+    private final long rebuildDelayNanos;
+    private final long maxRebuildDelayNanos;
+    private final ScheduledThreadPoolExecutor rebuilder = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Number of changes so far; written under this */
+    private volatile long changes;
+    private volatile Columns columns;
+    private volatile boolean ready;
+
+    public CatalogSnapshot(@Value("${catalog.snapshot.rebuild-delay:50ms}") Duration rebuildDelay,
+                           @Value("${catalog.snapshot.max-rebuild-delay:500ms}") Duration maxRebuildDelay) {
+        this.rebuildDelayNanos = rebuildDelay.toNanos();
+        this.maxRebuildDelayNanos = Math.max(maxRebuildDelay.toNanos(), rebuildDelayNanos);
+        rebuilder.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Whether the snapshot has been fully built and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the snapshot queries answer from includes every change made so far
+     */
+    public boolean isCurrent() {
+        Columns snapshot = columns;
+        return snapshot != null && snapshot.changes == changes;
+    }
+
+    /**
+     * One page of ids of the gadgets matching the filters in the given order, or null if the
+     * catalog holds values the snapshot cannot represent and the database must answer instead.
+     * Filters compare like the SQL predicates in GadgetFilters; null filters are ignored.
+     */
+    public SearchHits query(Category category, String brand, BigDecimal minPrice, BigDecimal maxPrice,
+                            BigDecimal minRating, Order order, boolean descending, int page, int size) {
+        Columns snapshot = columns;
+        if (snapshot == null || !snapshot.representable) {
+            return null;
+        }
+        int categoryCode = category != null ? category.ordinal() : -1;
+        int brandCode = brand != null ? snapshot.brandCodes.getOrDefault(brand.toLowerCase(Locale.ROOT), -2) : -1;
+        long minCents = Hundredths.of(minPrice, RoundingMode.CEILING, Long.MIN_VALUE);
+        long maxCents = Hundredths.of(maxPrice, RoundingMode.FLOOR, Long.MAX_VALUE);
+        long minRatingX100 = Hundredths.of(minRating, RoundingMode.CEILING, Long.MIN_VALUE);
+
+        int[] matches = snapshot.filter(categoryCode, brandCode, minCents, maxCents, minRatingX100);
+        int total = matches.length;
+        long offset = (long) page * size;
+        if (offset >= total) {
+            return new SearchHits(List.of(), total, 0f, false);
+        }
+        int end = (int) Math.min(total, offset + size);
+
+        long[] keys = null;
+        if (order != Order.ID) {
+            keys = snapshot.sortKeys(matches, order);
+            Arrays.sort(keys);
+        }
+        List<Long> ids = new ArrayList<>(end - (int) offset);
+        for (int i = (int) offset; i < end; i++) {
+            int position = descending ? total - 1 - i : i;
+            int row = keys != null ? (int) (keys[position] & (MAX_ROWS - 1)) : matches[position];
+            ids.add(snapshot.ids[row]);
+        }
+        return new SearchHits(ids, total, 0f, end < total);
+    }
+
+    @Override
+    public synchronized void clear() {
+        ready = false;
+        rows.clear();
+        brandCodes.clear();
+        changes++;
+    }
+
+    /**
+     * Build the first snapshot of a full rebuild right away, on the caller's thread.
+     * Marked ready first, so changes arriving during the build schedule the next one.
+     */
+    @Override
+    public void rebuildComplete() {
+        synchronized (this) {
+            ready = true;
+        }
+        rebuild();
+    }
+
+    @Override
+    public synchronized void index(GadgetDTO gadget) {
+        rows.put(gadget.getId(), new Row(gadget, brandCodes));
+        changed();
+    }
+
+    @Override
+    public synchronized void remove(Long gadgetId) {
+        if (rows.remove(gadgetId) != null) {
+            changed();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Count a change and push the waiting rebuild back to the rebuild delay from now, but no later
+     * than the maximum delay after the first change it will fold in; callers hold this.
+     * During a full rebuild the snapshot is built once at the end instead.
+     */
+    private void changed() {
+        changes++;
+        if (!ready) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (scheduledRebuild == null) {
+            pendingSince = now;
+        } else {
+            scheduledRebuild.cancel(false);
+        }
+        long delay = Math.min(rebuildDelayNanos, pendingSince + maxRebuildDelayNanos - now);
+        scheduledRebuild = rebuilder.schedule(this::rebuild, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Copy the rows under the lock and build the columns outside it, so writers only wait for the copy
+     */
+    private void rebuild() {
+        List<Row> source;
+        Map<String, Integer> brands;
+        long version;
+        synchronized (this) {
+            if (scheduledRebuild != null) {
+                scheduledRebuild.cancel(false);
+                scheduledRebuild = null;
+            }
+            source = new ArrayList<>(rows.values());
+            brands = Map.copyOf(brandCodes);
+            version = changes;
+        }
+        Columns built = new Columns(source, brands, version);
+        synchronized (this) {
+            if (columns == null || columns.changes < built.changes) {
+                columns = built;
+            }
+        }
+    }
+
+    /**
+     * A gadget reduced to the columns the snapshot stores
+     */
+    private static final class Row {
+        private final long id;
+        private final long priceCents;
+        private final int ratingX100;
+        private final long reviewCount;
+        private final long createdAtMicros;
+        private final byte category;
+        private final int brandCode;
+
+        private Row(GadgetDTO gadget, Map<String, Integer> brandCodes) {
+            id = gadget.getId();
+            priceCents = gadget.getPriceCents();
+            ratingX100 = gadget.getRatingX100();
+            reviewCount = gadget.getReviewCount() != null ? gadget.getReviewCount() : -1;
+            createdAtMicros = micros(gadget.getCreatedAt());
+            category = (byte) (gadget.getCategory() != null ? gadget.getCategory().ordinal() : -1);
+            brandCode = gadget.getBrand() != null
+                    ? brandCodes.computeIfAbsent(gadget.getBrand().toLowerCase(Locale.ROOT), b -> brandCodes.size())
+                    : -1;
+        }
+
+        private static long micros(LocalDateTime time) {
+            return time != null
+                    ? ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), time) : Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * The immutable column arrays of one snapshot
+     */
+    private static final class Columns {
+        private final long[] ids;
+        private final int[] priceCents;
+        private final short[] ratingX100;
+        private final int[] reviewCount;
+        /** Rank of created_at among all rows, equal for equal times, so the sort key fits next to the row */
+        private final int[] createdAtRank;
+        private final byte[] category;
+        private final int[] brandCode;
+        private final Map<String, Integer> brandCodes;
+        /** False if a value does not fit its column, e.g. a price of $21M or more */
+        private final boolean representable;
+        /** The number of changes folded in */
+        private final long changes;
+
+        private Columns(Collection<Row> source, Map<String, Integer> brandCodes, long changes) {
+            int n = source.size();
+            this.ids = new long[n];
+            this.priceCents = new int[n];
+            this.ratingX100 = new short[n];
+            this.reviewCount = new int[n];
+            this.createdAtRank = new int[n];
+            this.category = new byte[n];
+            this.brandCode = new int[n];
+            this.brandCodes = brandCodes;
+            this.changes = changes;
+
+            boolean fits = n < MAX_ROWS;
+            long[] createdAt = new long[n];
+            int row = 0;
+            for (Row gadget : source) {
+                ids[row] = gadget.id;
+                fits &= gadget.priceCents >= 0 && gadget.priceCents <= Integer.MAX_VALUE;
+                fits &= gadget.reviewCount >= MIN_REVIEW_COUNT && gadget.reviewCount <= MAX_REVIEW_COUNT;
+                fits &= gadget.ratingX100 >= MIN_RATING_X100 && gadget.ratingX100 <= MAX_RATING_X100;
+                priceCents[row] = (int) gadget.priceCents;
+                ratingX100[row] = (short) gadget.ratingX100;
+                reviewCount[row] = (int) gadget.reviewCount;
+                createdAt[row] = gadget.createdAtMicros;
+                category[row] = gadget.category;
+                brandCode[row] = gadget.brandCode;
+                row++;
+            }
+            this.representable = fits;
+            rankCreatedAt(createdAt);
+        }
+
+        private void rankCreatedAt(long[] createdAt) {
+            long[] sorted = createdAt.clone();
+            Arrays.sort(sorted);
+            for (int row = 0; row < createdAt.length; row++) {
+                createdAtRank[row] = Arrays.binarySearch(sorted, createdAt[row]);
+            }
+        }
+
+        /**
+         * Rows matching every filter, in id order; negative codes disable a filter
+         */
+        int[] filter(int categoryCode, int brandFilter, long minCents, long maxCents, long minRatingX100) {
+            int n = ids.length;
+            int[] matches = new int[n];
+            int count = 0;
+            boolean anyCategory = categoryCode < 0;
+            boolean anyBrand = brandFilter == -1;
+            for (int row = 0; row < n; row++) {
+                // Non-short-circuit operators keep the loop free of data-dependent branches
+                boolean match = (anyCategory | category[row] == categoryCode)
+                        & (anyBrand | brandCode[row] == brandFilter)
+                        & priceCents[row] >= minCents
+                        & priceCents[row] <= maxCents
+                        & ratingX100[row] >= minRatingX100;
+                matches[count] = row;
+                count += match ? 1 : 0;
+            }
+            return Arrays.copyOf(matches, count);
+        }
+
+        /**
+         * Pack the sort keys of each matching row above its row number, so sorting the longs
+         * orders rows by the keys and then by id, as rows are in id order
+         */
+        long[] sortKeys(int[] matches, Order order) {
+            long[] keys = new long[matches.length];
+            for (int i = 0; i < matches.length; i++) {
+                int row = matches[i];
+                long key;
+                switch (order) {
+                    case PRICE:
+                        key = priceCents[row];
+                        break;
+                    case RATING:
+                        key = ((long) (ratingX100[row] + 1) << REVIEW_COUNT_BITS) | (reviewCount[row] + 1);
+                        break;
+                    case REVIEW_COUNT:
+                        key = ((long) (reviewCount[row] + 1) << RATING_BITS) | (ratingX100[row] + 1);
+                        break;
+                    case CREATED_AT:
+                        key = createdAtRank[row];
+                        break;
+                    default:
+                        key = 0;
+                }
+                keys[i] = (key << ROW_BITS) | row;
+            }
+            return keys;
+        }
+    }
+}
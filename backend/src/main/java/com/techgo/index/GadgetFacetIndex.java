@@ -0,0 +1,307 @@
+package com.techgo.index;
+
+import com.techgo.dto.FacetCountsDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import com.techgo.model.Hundredths;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet aggregation over the catalog using one bitmap per facet value.
+ * Counting a facet intersects its value bitmaps with the bitmaps of the other active filters,
+ * so counts reflect the current result set without touching the database.
+ */
+@Component
+public class GadgetFacetIndex implements CatalogIndex {
+
+    /** Lower bounds of the price buckets, in cents */
+    private static final long[] PRICE_BUCKET_BOUNDS = {0, 10_000, 25_000, 50_000, 100_000, 200_000};
+    private static final String[] PRICE_BUCKET_LABELS = {
+        "Under $100", "$100 - $250", "$250 - $500", "$500 - $1000", "$1000 - $2000", "$2000 & above"
+    };
+    /** Rating buckets are cumulative: "4 & up" counts every gadget rated 4.0 or higher */
+    private static final int[] RATING_BUCKET_BOUNDS = {400, 300, 200, 100};
+    private static final String[] RATING_BUCKET_LABELS = {"4 & up", "3 & up", "2 & up", "1 & up"};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docsByGadget = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Map<Category, BitSet> categories = new EnumMap<>(Category.class);
+    private final Map<String, BrandFacet> brands = new HashMap<>();
+
+    private long[] gadgetIds = new long[0];
+    private Category[] docCategories = new Category[0];
+    private String[] docBrands = new String[0];
+    private long[] priceCents = new long[0];
+    private int[] ratings = new int[0];
+    private int maxDoc;
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+
+    private volatile boolean ready;
+
+    public GadgetFacetIndex() {
+        for (Category category : Category.values()) {
+            categories.put(category, new BitSet());
+        }
+    }
+
+    /**
+     * Whether the index has been fully built and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Count facet values for the gadgets matching the given filters.
+     * matches restricts the counts to the given gadget ids, e.g. those matching a text query
+     * or specification filters; null means no such restriction is active.
+     */
+    public FacetCountsDTO count(Category category, String brand, BigDecimal minPrice, BigDecimal maxPrice,
+                                BigDecimal minRating, Collection<Long> matches) {
+        long minCents = Hundredths.of(minPrice, RoundingMode.CEILING, Long.MIN_VALUE);
+        long maxCents = Hundredths.of(maxPrice, RoundingMode.FLOOR, Long.MAX_VALUE);
+        long minRatingX100 = Hundredths.of(minRating, RoundingMode.CEILING, Long.MIN_VALUE);
+
+        lock.readLock().lock();
+        try {
+            BitSet text = matches != null ? toBitSet(matches) : null;
+            BitSet categoryFilter = category != null ? categories.get(category) : null;
+            BitSet brandFilter = brand != null ? brandDocs(brand) : null;
+            BitSet priceFilter = minPrice != null || maxPrice != null ? scanPrice(minCents, maxCents) : null;
+            BitSet ratingFilter = minRating != null ? scanRating(minRatingX100) : null;
+
+            FacetCountsDTO facets = new FacetCountsDTO();
+
+            BitSet mask = mask(text, brandFilter, priceFilter, ratingFilter);
+            for (Category value : Category.values()) {
+                facets.getCategories().put(value.getValue(), intersectionSize(categories.get(value), mask));
+            }
+
+            mask = mask(text, categoryFilter, priceFilter, ratingFilter);
+            Map<String, Integer> brandCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (BrandFacet facet : brands.values()) {
+                int count = intersectionSize(facet.docs, mask);
+                if (count > 0) {
+                    brandCounts.put(facet.name, count);
+                }
+            }
+            facets.getBrands().putAll(brandCounts);
+
+            mask = mask(text, categoryFilter, brandFilter, ratingFilter);
+            int[] priceCounts = new int[PRICE_BUCKET_BOUNDS.length];
+            for (int doc = mask.nextSetBit(0); doc >= 0; doc = mask.nextSetBit(doc + 1)) {
+                priceCounts[priceBucket(priceCents[doc])]++;
+            }
+            for (int i = 0; i < priceCounts.length; i++) {
+                facets.getPriceRanges().put(PRICE_BUCKET_LABELS[i], priceCounts[i]);
+            }
+
+            mask = mask(text, categoryFilter, brandFilter, priceFilter);
+            int[] ratingCounts = new int[RATING_BUCKET_BOUNDS.length];
+            for (int doc = mask.nextSetBit(0); doc >= 0; doc = mask.nextSetBit(doc + 1)) {
+                for (int i = 0; i < RATING_BUCKET_BOUNDS.length; i++) {
+                    if (ratings[doc] >= RATING_BUCKET_BOUNDS[i]) {
+                        ratingCounts[i]++;
+                    }
+                }
+            }
+            for (int i = 0; i < ratingCounts.length; i++) {
+                facets.getRatings().put(RATING_BUCKET_LABELS[i], ratingCounts[i]);
+            }
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            docsByGadget.clear();
+            live.clear();
+            categories.values().forEach(BitSet::clear);
+            brands.clear();
+            maxDoc = 0;
+            freeCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(gadget.getId());
+
+            int doc = allocateDoc();
+            gadgetIds[doc] = gadget.getId();
+            docCategories[doc] = gadget.getCategory();
+            docBrands[doc] = gadget.getBrand();
+            priceCents[doc] = gadget.getPriceCents();
+            ratings[doc] = gadget.getRatingX100();
+
+            live.set(doc);
+            if (gadget.getCategory() != null) {
+                categories.get(gadget.getCategory()).set(doc);
+            }
+            if (gadget.getBrand() != null) {
+                brands.computeIfAbsent(brandKey(gadget.getBrand()), key -> new BrandFacet(gadget.getBrand()))
+                        .docs.set(doc);
+            }
+            docsByGadget.put(gadget.getId(), doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(gadgetId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Helper methods
+    private void removeDoc(Long gadgetId) {
+        Integer doc = docsByGadget.remove(gadgetId);
+        if (doc == null) {
+            return;
+        }
+        live.clear(doc);
+        if (docCategories[doc] != null) {
+            categories.get(docCategories[doc]).clear(doc);
+        }
+        if (docBrands[doc] != null) {
+            String key = brandKey(docBrands[doc]);
+            BrandFacet facet = brands.get(key);
+            facet.docs.clear(doc);
+            if (facet.docs.isEmpty()) {
+                brands.remove(key);
+            }
+        }
+        docCategories[doc] = null;
+        docBrands[doc] = null;
+        if (freeCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+        }
+        freeDocs[freeCount++] = doc;
+    }
+
+    private int allocateDoc() {
+        if (freeCount > 0) {
+            return freeDocs[--freeCount];
+        }
+        if (maxDoc == gadgetIds.length) {
+            int capacity = Math.max(16, maxDoc * 2);
+            gadgetIds = Arrays.copyOf(gadgetIds, capacity);
+            docCategories = Arrays.copyOf(docCategories, capacity);
+            docBrands = Arrays.copyOf(docBrands, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+        }
+        return maxDoc++;
+    }
+
+    private BitSet mask(BitSet... filters) {
+        BitSet mask = (BitSet) live.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                mask.and(filter);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet brandDocs(String brand) {
+        BrandFacet facet = brands.get(brandKey(brand));
+        return facet != null ? facet.docs : new BitSet();
+    }
+
+    private BitSet toBitSet(Collection<Long> ids) {
+        BitSet docs = new BitSet(maxDoc);
+        for (Long id : ids) {
+            Integer doc = docsByGadget.get(id);
+            if (doc != null) {
+                docs.set(doc);
+            }
+        }
+        return docs;
+    }
+
+    private BitSet scanPrice(long minCents, long maxCents) {
+        BitSet docs = new BitSet(maxDoc);
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            if (priceCents[doc] >= minCents && priceCents[doc] <= maxCents) {
+                docs.set(doc);
+            }
+        }
+        return docs;
+    }
+
+    private BitSet scanRating(long minRatingX100) {
+        BitSet docs = new BitSet(maxDoc);
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            if (ratings[doc] >= minRatingX100) {
+                docs.set(doc);
+            }
+        }
+        return docs;
+    }
+
+    private static int intersectionSize(BitSet values, BitSet mask) {
+        BitSet intersection = (BitSet) values.clone();
+        intersection.and(mask);
+        return intersection.cardinality();
+    }
+
+    private static int priceBucket(long cents) {
+        int bucket = 0;
+        while (bucket + 1 < PRICE_BUCKET_BOUNDS.length && cents >= PRICE_BUCKET_BOUNDS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static String brandKey(String brand) {
+        return brand.toLowerCase(Locale.ROOT);
+    }
+
+
+    /**
+     * Gadgets of one brand, under the brand name as first indexed
+     */
+    private static final class BrandFacet {
+        private final String name;
+        private final BitSet docs = new BitSet();
+
+        private BrandFacet(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ordered in-memory leaderboards of featured, popular and latest gadgets,
+ * kept per category and across the whole catalog.
+ * Reading the top K is O(K); a gadget change is O(log n) per board.
+ * Orderings match the GadgetRepository queries, with the newest id winning ties
+ * as in the descending GadgetSort orders.
+ */
+@Component
+public class GadgetLeaderboards implements CatalogIndex {
+
+    /**
+     * Available leaderboards
+     */
+    public enum Board {
+        /** Rated 4.0 or higher, best rated first, then most reviewed */
+        FEATURED(Comparator.comparingInt((Entry e) -> -e.ratingX100)
+                .thenComparingInt(e -> -e.reviewCount)),
+        /** Most reviewed first, then best rated */
+        POPULAR(Comparator.comparingInt((Entry e) -> -e.reviewCount)
+                .thenComparingInt(e -> -e.ratingX100)),
+        /** Newest first */
+        LATEST(Comparator.comparing((Entry e) -> e.createdAt, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        private final Comparator<Entry> order;
+
+        Board(Comparator<Entry> order) {
+            this.order = order.thenComparing(e -> e.gadgetId, Comparator.reverseOrder());
+        }
+    }
+
+    private static final int FEATURED_MIN_RATING_X100 = 400;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Board, NavigableSet<Entry>> overall = new EnumMap<>(Board.class);
+    private final Map<Board, Map<Category, NavigableSet<Entry>>> byCategory = new EnumMap<>(Board.class);
+
+    private volatile boolean ready;
+
+    public GadgetLeaderboards() {
+        for (Board board : Board.values()) {
+            overall.put(board, new TreeSet<>(board.order));
+            Map<Category, NavigableSet<Entry>> categories = new EnumMap<>(Category.class);
+            for (Category category : Category.values()) {
+                categories.put(category, new TreeSet<>(board.order));
+            }
+            byCategory.put(board, categories);
+        }
+    }
+
+    /**
+     * Whether the leaderboards have been fully built and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of the top gadgets on a board, optionally restricted to a category
+     */
+    public List<Long> top(Board board, Category category, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Entry> ranked = category != null ? byCategory.get(board).get(category) : overall.get(board);
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+            Iterator<Entry> iterator = ranked.iterator();
+            while (ids.size() < limit && iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (board == Board.FEATURED && entry.ratingX100 < FEATURED_MIN_RATING_X100) {
+                    break;
+                }
+                ids.add(entry.gadgetId);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            entries.clear();
+            overall.values().forEach(NavigableSet::clear);
+            byCategory.values().forEach(categories -> categories.values().forEach(NavigableSet::clear));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        Entry entry = new Entry(gadget.getId(), gadget.getCategory(),
+                gadget.getRatingX100(),
+                gadget.getReviewCount() != null ? gadget.getReviewCount() : 0, gadget.getCreatedAt());
+        lock.writeLock().lock();
+        try {
+            unlink(entries.put(entry.gadgetId, entry));
+            for (Board board : Board.values()) {
+                overall.get(board).add(entry);
+                if (entry.category != null) {
+                    byCategory.get(board).get(entry.category).add(entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        lock.writeLock().lock();
+        try {
+            unlink(entries.remove(gadgetId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Helper methods
+    private void unlink(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (Board board : Board.values()) {
+            overall.get(board).remove(entry);
+            if (entry.category != null) {
+                byCategory.get(board).get(entry.category).remove(entry);
+            }
+        }
+    }
+
+
+    /**
+     * Ranking attributes of one gadget
+     */
+    private static final class Entry {
+        private final long gadgetId;
+        private final Category category;
+        private final int ratingX100;
+        private final int reviewCount;
+        private final LocalDateTime createdAt;
+
+        private Entry(long gadgetId, Category category, int ratingX100, int reviewCount, LocalDateTime createdAt) {
+            this.gadgetId = gadgetId;
+            this.category = category;
+            this.ratingX100 = ratingX100;
+            this.reviewCount = reviewCount;
+            this.createdAt = createdAt;
+        }
+    }
+}
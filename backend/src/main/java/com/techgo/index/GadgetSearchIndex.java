@@ -0,0 +1,425 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.model.Category;
+import com.techgo.model.Hundredths;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over gadget name, brand, description and specification values.
+ * Query terms are matched as prefixes of indexed words and all of them must match; hits are ranked
+ * with BM25. Unlike the LIKE '%term%' fallback, text inside a word is not matched: "phone" finds
+ * "Phone 15" but not "iPhone 15".
+ * Documents are addressed by dense int ordinals that are reused after removal.
+ */
+@Component
+public class GadgetSearchIndex implements CatalogIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_MATCH_WEIGHT = 0.5f;
+    /** Shorter query terms only match whole words, since they would expand to much of the vocabulary */
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private static final int NAME_BOOST = 3;
+    private static final int BRAND_BOOST = 2;
+    private static final int TEXT_BOOST = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Integer> docsByGadget = new HashMap<>();
+
+    private long[] gadgetIds = new long[0];
+    private String[][] docTerms = new String[0][];
+    private int[] docLengths = new int[0];
+    private Category[] categories = new Category[0];
+    private String[] brands = new String[0];
+    private long[] priceCents = new long[0];
+    private int[] ratings = new int[0];
+
+    private int maxDoc;
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    /**
+     * Whether the index has been fully built and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            docsByGadget.clear();
+            maxDoc = 0;
+            freeCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        Map<String, Integer> freqs = new HashMap<>();
+        addTerms(freqs, gadget.getName(), NAME_BOOST);
+        addTerms(freqs, gadget.getBrand(), BRAND_BOOST);
+        addTerms(freqs, gadget.getDescription(), TEXT_BOOST);
+        if (gadget.getSpecifications() != null) {
+            for (SpecificationDTO spec : gadget.getSpecifications()) {
+                addTerms(freqs, spec.getSpecValue(), TEXT_BOOST);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDoc(gadget.getId());
+
+            int doc = allocateDoc();
+            int length = 0;
+            String[] terms = new String[freqs.size()];
+            int t = 0;
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new PostingList()).add(doc, entry.getValue());
+                terms[t++] = entry.getKey();
+                length += entry.getValue();
+            }
+
+            gadgetIds[doc] = gadget.getId();
+            docTerms[doc] = terms;
+            docLengths[doc] = length;
+            categories[doc] = gadget.getCategory();
+            brands[doc] = gadget.getBrand();
+            priceCents[doc] = gadget.getPriceCents();
+            ratings[doc] = gadget.getRatingX100();
+            docsByGadget.put(gadget.getId(), doc);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(gadgetId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index, applying optional exact-match filters, and return one page of ranked gadget ids
+     */
+    public SearchHits search(String query, Category category, String brand,
+                             BigDecimal minPrice, BigDecimal maxPrice, BigDecimal minRating,
+                             int page, int size) {
+        lock.readLock().lock();
+        try {
+            RankedDocs ranked = rank(query, category, brand, minPrice, maxPrice, minRating);
+            int from = (int) Math.min((long) page * size, ranked.docs.length);
+            return ranked.slice(from, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index and return the hits ranked after the given score and gadget id.
+     * A null score starts from the best hit.
+     */
+    public SearchHits searchAfter(String query, Category category, String brand,
+                                  BigDecimal minPrice, BigDecimal maxPrice, BigDecimal minRating,
+                                  Float afterScore, Long afterId, int size) {
+        lock.readLock().lock();
+        try {
+            RankedDocs ranked = rank(query, category, brand, minPrice, maxPrice, minRating);
+            int from = 0;
+            if (afterScore != null) {
+                while (from < ranked.docs.length && !ranked.isAfter(from, afterScore, afterId)) {
+                    from++;
+                }
+            }
+            return ranked.slice(from, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of every gadget matching the query, ignoring filters and ranking
+     */
+    public List<Long> matchingIds(String query) {
+        lock.readLock().lock();
+        try {
+            RankedDocs ranked = rank(query, null, null, null, null, null);
+            List<Long> ids = new ArrayList<>(ranked.docs.length);
+            for (int doc : ranked.docs) {
+                ids.add(gadgetIds[doc]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Score and filter all matching documents, best first. Caller must hold the read lock.
+     * Only the posting lists of the query terms are visited, so the cost depends on how many
+     * documents contain them rather than on the size of the index.
+     */
+    private RankedDocs rank(String query, Category category, String brand,
+                            BigDecimal minPrice, BigDecimal maxPrice, BigDecimal minRating) {
+        Set<String> tokens = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (tokens.isEmpty()) {
+            return new RankedDocs(new int[0], new float[0]);
+        }
+        long minCents = Hundredths.of(minPrice, RoundingMode.CEILING, Long.MIN_VALUE);
+        long maxCents = Hundredths.of(maxPrice, RoundingMode.FLOOR, Long.MAX_VALUE);
+        long minRatingX100 = Hundredths.of(minRating, RoundingMode.CEILING, Long.MIN_VALUE);
+
+        int liveDocs = docsByGadget.size();
+        float avgLength = liveDocs == 0 ? 1f : (float) totalLength / liveDocs;
+
+        // Intersect the matches of each token, starting with the rarest
+        List<ScoredDocs> matches = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            matches.add(match(token, liveDocs, avgLength));
+        }
+        matches.sort(Comparator.comparingInt(match -> match.size));
+        ScoredDocs candidates = matches.get(0);
+        for (int i = 1; i < matches.size() && candidates.size > 0; i++) {
+            candidates = candidates.intersect(matches.get(i));
+        }
+
+        int hits = 0;
+        Integer[] order = new Integer[candidates.size];
+        for (int i = 0; i < candidates.size; i++) {
+            int doc = candidates.docs[i];
+            if ((category == null || categories[doc] == category)
+                    && (brand == null || brand.equalsIgnoreCase(brands[doc]))
+                    && priceCents[doc] >= minCents && priceCents[doc] <= maxCents
+                    && ratings[doc] >= minRatingX100) {
+                order[hits++] = i;
+            }
+        }
+        ScoredDocs scored = candidates;
+        Arrays.sort(order, 0, hits, (a, b) -> {
+            int byScore = Float.compare(scored.scores[b], scored.scores[a]);
+            return byScore != 0 ? byScore
+                    : Long.compare(gadgetIds[scored.docs[a]], gadgetIds[scored.docs[b]]);
+        });
+        int[] docs = new int[hits];
+        float[] scores = new float[hits];
+        for (int i = 0; i < hits; i++) {
+            docs[i] = scored.docs[order[i]];
+            scores[i] = scored.scores[order[i]];
+        }
+        return new RankedDocs(docs, scores);
+    }
+
+    /**
+     * Documents containing the token, or for tokens of at least {@link #MIN_PREFIX_LENGTH}
+     * characters any term it is a prefix of, with their summed BM25 scores in document order
+     */
+    private ScoredDocs match(String token, int liveDocs, float avgLength) {
+        if (token.length() < MIN_PREFIX_LENGTH) {
+            PostingList list = postings.get(token);
+            if (list == null) {
+                return new ScoredDocs(0);
+            }
+            ScoredDocs scored = new ScoredDocs(list.size());
+            scoreTerm(list, 1f, liveDocs, avgLength, scored);
+            return scored;
+        }
+
+        Collection<Map.Entry<String, PostingList>> expansions =
+                postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet();
+        int total = 0;
+        for (Map.Entry<String, PostingList> entry : expansions) {
+            total += entry.getValue().size();
+        }
+        ScoredDocs all = new ScoredDocs(total);
+        for (Map.Entry<String, PostingList> entry : expansions) {
+            float weight = entry.getKey().length() == token.length() ? 1f : PREFIX_MATCH_WEIGHT;
+            scoreTerm(entry.getValue(), weight, liveDocs, avgLength, all);
+        }
+        return expansions.size() > 1 ? all.mergeDuplicates() : all;
+    }
+
+    // Helper methods
+    private void scoreTerm(PostingList list, float weight, int liveDocs, float avgLength, ScoredDocs scored) {
+        int df = list.size();
+        float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+        for (int i = 0; i < df; i++) {
+            int doc = list.doc(i);
+            int tf = list.freq(i);
+            float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+            scored.add(doc, weight * idf * (tf * (K1 + 1)) / (tf + norm));
+        }
+    }
+
+    private void removeDoc(Long gadgetId) {
+        Integer doc = docsByGadget.remove(gadgetId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : docTerms[doc]) {
+            PostingList list = postings.get(term);
+            list.remove(doc);
+            if (list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= docLengths[doc];
+        docTerms[doc] = null;
+        categories[doc] = null;
+        brands[doc] = null;
+        if (freeCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+        }
+        freeDocs[freeCount++] = doc;
+    }
+
+    private int allocateDoc() {
+        if (freeCount > 0) {
+            return freeDocs[--freeCount];
+        }
+        if (maxDoc == gadgetIds.length) {
+            int capacity = Math.max(16, maxDoc * 2);
+            gadgetIds = Arrays.copyOf(gadgetIds, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            brands = Arrays.copyOf(brands, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+        }
+        return maxDoc++;
+    }
+
+    private static void addTerms(Map<String, Integer> freqs, String text, int boost) {
+        for (String token : Tokenizer.tokenize(text)) {
+            freqs.merge(token, boost, Integer::sum);
+        }
+    }
+
+
+    /**
+     * Documents with their scores, as parallel arrays
+     */
+    private static final class ScoredDocs {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        private ScoredDocs(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        private void add(int doc, float score) {
+            docs[size] = doc;
+            scores[size++] = score;
+        }
+
+        /**
+         * Sort by document and sum the scores of documents matched by several terms.
+         * Scores are non-negative, so their float bits sort like the values and pack under the ordinal.
+         */
+        private ScoredDocs mergeDuplicates() {
+            long[] packed = new long[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = (long) docs[i] << 32 | Float.floatToRawIntBits(scores[i]) & 0xffffffffL;
+            }
+            Arrays.sort(packed);
+            ScoredDocs merged = new ScoredDocs(size);
+            for (long entry : packed) {
+                int doc = (int) (entry >>> 32);
+                float score = Float.intBitsToFloat((int) entry);
+                if (merged.size > 0 && merged.docs[merged.size - 1] == doc) {
+                    merged.scores[merged.size - 1] += score;
+                } else {
+                    merged.add(doc, score);
+                }
+            }
+            return merged;
+        }
+
+        /**
+         * Documents in both, with their scores added; both must be in document order
+         */
+        private ScoredDocs intersect(ScoredDocs other) {
+            ScoredDocs both = new ScoredDocs(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    both.add(docs[i], scores[i++] + other.scores[j++]);
+                }
+            }
+            return both;
+        }
+    }
+
+    /**
+     * Matching documents in rank order together with their scores
+     */
+    private final class RankedDocs {
+        private final int[] docs;
+        private final float[] scores;
+
+        private RankedDocs(int[] docs, float[] scores) {
+            this.docs = docs;
+            this.scores = scores;
+        }
+
+        private boolean isAfter(int rank, float score, long gadgetId) {
+            int byScore = Float.compare(score, scores[rank]);
+            return byScore != 0 ? byScore > 0 : gadgetIds[docs[rank]] > gadgetId;
+        }
+
+        private SearchHits slice(int from, int size) {
+            int to = Math.min(from + size, docs.length);
+            List<Long> ids = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                ids.add(gadgetIds[docs[i]]);
+            }
+            float lastScore = to > from ? scores[to - 1] : 0f;
+            return new SearchHits(ids, docs.length, lastScore, to < docs.length);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.model.Category;
+import com.techgo.model.SpecQuantity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nearest-neighbour search over gadget feature vectors, partitioned by category.
+ * Each gadget becomes a fixed-width float vector of log price, rating and the numeric
+ * specifications of its category (see {@link SpecQuantity}). Vectors of a category are packed
+ * into one contiguous array, so a query is a single linear scan with a bounded top-k.
+ */
+@Component
+public class GadgetSimilarityIndex implements CatalogIndex {
+
+    /** Width of every vector: price, rating and up to 14 numeric specifications per category */
+    private static final int DIMENSIONS = 16;
+    private static final int PRICE = 0;
+    private static final int RATING = 1;
+    private static final int FIRST_SPEC = 2;
+
+    /** One star of rating weighs as much as roughly tripling the price (0.5 in log10 space) */
+    private static final float RATING_PER_STAR = 0.5f;
+    /** Squared distance added for a specification only one of the two gadgets has */
+    private static final float MISSING_PENALTY = 0.25f;
+
+    public static final int MAX_RESULTS = 50;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Category, Partition> partitions = new EnumMap<>(Category.class);
+    private final Map<Long, Category> categories = new HashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * Whether the index has been fully built and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of the gadgets in the same category closest to the given one, nearest first,
+     * or null if the gadget is not indexed
+     */
+    public List<Long> similar(Long gadgetId, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_RESULTS));
+        lock.readLock().lock();
+        try {
+            Category category = categories.get(gadgetId);
+            if (category == null) {
+                return null;
+            }
+            return partitions.get(category).nearest(gadgetId, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            partitions.clear();
+            categories.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(gadget.getId());
+            if (gadget.getCategory() == null) {
+                return;
+            }
+            Partition partition = partitions.computeIfAbsent(gadget.getCategory(), c -> new Partition());
+            partition.add(gadget);
+            categories.put(gadget.getId(), gadget.getCategory());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(gadgetId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long gadgetId) {
+        Category category = categories.remove(gadgetId);
+        if (category != null) {
+            partitions.get(category).remove(gadgetId);
+        }
+    }
+
+    /**
+     * The vectors of one category, stored row by row in a single array
+     */
+    private static final class Partition {
+        /** Filter key of a numeric specification to its dimension, assigned in first-seen order */
+        private final Map<String, Integer> specDimensions = new HashMap<>();
+        private final Map<Long, Integer> rows = new HashMap<>();
+        private float[] vectors = new float[16 * DIMENSIONS];
+        private long[] gadgetIds = new long[16];
+        private int size;
+
+        void add(GadgetDTO gadget) {
+            if (size == gadgetIds.length) {
+                gadgetIds = Arrays.copyOf(gadgetIds, size * 2);
+                vectors = Arrays.copyOf(vectors, size * 2 * DIMENSIONS);
+            }
+            int offset = size * DIMENSIONS;
+            Arrays.fill(vectors, offset, offset + DIMENSIONS, Float.NaN);
+            vectors[offset + PRICE] = gadget.getPriceCents() > 0
+                    ? (float) Math.log10(gadget.getPriceCents() / 100.0) : 0f;
+            vectors[offset + RATING] = gadget.getRatingX100() / 100f * RATING_PER_STAR;
+            for (SpecificationDTO spec : specifications(gadget)) {
+                SpecQuantity quantity = SpecQuantity.parse(spec.getSpecName(), spec.getSpecValue());
+                if (quantity == null || quantity.getValue().signum() < 0) {
+                    continue;
+                }
+                Integer dimension = dimension(SpecQuantity.filterKey(spec.getSpecName(), quantity.getUnit()));
+                if (dimension != null) {
+                    // Log scale: 8 GB vs 16 GB is as far apart as 128 GB vs 256 GB
+                    vectors[offset + dimension] = (float) Math.log10(1 + quantity.getValue().doubleValue());
+                }
+            }
+            gadgetIds[size] = gadget.getId();
+            rows.put(gadget.getId(), size);
+            size++;
+        }
+
+        void remove(Long gadgetId) {
+            Integer row = rows.remove(gadgetId);
+            if (row == null) {
+                return;
+            }
+            int last = size - 1;
+            if (row != last) {
+                // Move the last row into the hole to keep the array dense
+                System.arraycopy(vectors, last * DIMENSIONS, vectors, row * DIMENSIONS, DIMENSIONS);
+                gadgetIds[row] = gadgetIds[last];
+                rows.put(gadgetIds[row], row);
+            }
+            size = last;
+        }
+
+        List<Long> nearest(Long gadgetId, int k) {
+            int query = rows.get(gadgetId);
+            int queryOffset = query * DIMENSIONS;
+            float[] v = vectors;
+
+            // Bounded top-k kept sorted by distance; k is small, so insertion beats a heap
+            float[] bestDistances = new float[k];
+            int[] bestRows = new int[k];
+            int found = 0;
+            float worst = Float.POSITIVE_INFINITY;
+
+            for (int row = 0, offset = 0; row < size; row++, offset += DIMENSIONS) {
+                if (row == query) {
+                    continue;
+                }
+                float distance = 0f;
+                for (int d = 0; d < DIMENSIONS; d++) {
+                    float diff = v[queryOffset + d] - v[offset + d];
+                    if (diff != diff) {
+                        // NaN: at least one side lacks this specification
+                        if (v[queryOffset + d] == v[queryOffset + d] || v[offset + d] == v[offset + d]) {
+                            distance += MISSING_PENALTY;
+                        }
+                    } else {
+                        distance += diff * diff;
+                    }
+                }
+                if (found == k && distance >= worst) {
+                    continue;
+                }
+                int i = found < k ? found++ : k - 1;
+                while (i > 0 && bestDistances[i - 1] > distance) {
+                    bestDistances[i] = bestDistances[i - 1];
+                    bestRows[i] = bestRows[i - 1];
+                    i--;
+                }
+                bestDistances[i] = distance;
+                bestRows[i] = row;
+                if (found == k) {
+                    worst = bestDistances[k - 1];
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                ids.add(gadgetIds[bestRows[i]]);
+            }
+            return ids;
+        }
+
+        private Integer dimension(String filterKey) {
+            Integer dimension = specDimensions.get(filterKey);
+            if (dimension == null && FIRST_SPEC + specDimensions.size() < DIMENSIONS) {
+                dimension = FIRST_SPEC + specDimensions.size();
+                specDimensions.put(filterKey, dimension);
+            }
+            return dimension;
+        }
+
+        private static List<SpecificationDTO> specifications(GadgetDTO gadget) {
+            return gadget.getSpecifications() != null ? gadget.getSpecifications() : Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SuggestionDTO;
+import com.techgo.model.Category;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie over normalized gadget names, name word suffixes and brands for typeahead.
+ * Every node keeps the ids of the most popular gadgets below it, so a lookup is a walk
+ * down the prefix followed by a copy of at most {@link #TOP_K} suggestions.
+ */
+@Component
+public class GadgetSuggester implements CatalogIndex {
+
+    /** Suggestions kept per trie node; the most a single lookup can return */
+    public static final int TOP_K = 10;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Suggestion> suggestions = new HashMap<>();
+    private final Comparator<Long> byPopularity = Comparator
+            .comparingInt((Long id) -> -suggestions.get(id).reviewCount)
+            .thenComparingInt(id -> -suggestions.get(id).ratingX100)
+            .thenComparingLong(id -> id);
+    private Node root = new Node();
+
+    private volatile boolean ready;
+
+    /**
+     * Whether the trie has been fully built and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Most popular gadgets whose name, a word of their name, or brand starts with the query
+     */
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        List<SuggestionDTO> result = new ArrayList<>();
+        if (prefix.isEmpty()) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return result;
+            }
+            for (int i = 0; i < node.topCount && result.size() < limit; i++) {
+                Suggestion suggestion = suggestions.get(node.top[i]);
+                result.add(new SuggestionDTO(suggestion.id, suggestion.name, suggestion.brand, suggestion.category));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            suggestions.clear();
+            root = new Node();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        Suggestion suggestion = new Suggestion(gadget);
+        lock.writeLock().lock();
+        try {
+            removeSuggestion(gadget.getId());
+            suggestions.put(suggestion.id, suggestion);
+            for (String key : suggestion.keys) {
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.childOrCreate(key.charAt(i));
+                    node.offer(suggestion.id);
+                }
+                node.addTerminal(suggestion.id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        lock.writeLock().lock();
+        try {
+            removeSuggestion(gadgetId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Helper methods
+    private void removeSuggestion(Long gadgetId) {
+        Suggestion suggestion = suggestions.get(gadgetId);
+        if (suggestion == null) {
+            return;
+        }
+        for (String key : suggestion.keys) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length() && path[i] != null; i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+            if (path[key.length()] == null) {
+                continue;
+            }
+            path[key.length()].removeTerminal(gadgetId);
+            // Refill deepest first so every node merges already-corrected children
+            for (int i = key.length(); i > 0; i--) {
+                if (path[i].contains(gadgetId)) {
+                    path[i].refill(gadgetId);
+                }
+            }
+        }
+        suggestions.remove(gadgetId);
+    }
+
+    static String normalize(String text) {
+        return String.join(" ", Tokenizer.tokenize(text));
+    }
+
+    /**
+     * Suggestion payload and popularity of one gadget, with the trie keys it was indexed under
+     */
+    private static final class Suggestion {
+        private final long id;
+        private final String name;
+        private final String brand;
+        private final Category category;
+        private final int reviewCount;
+        private final int ratingX100;
+        private final Set<String> keys = new LinkedHashSet<>();
+
+        private Suggestion(GadgetDTO gadget) {
+            this.id = gadget.getId();
+            this.name = gadget.getName();
+            this.brand = gadget.getBrand();
+            this.category = gadget.getCategory();
+            this.reviewCount = gadget.getReviewCount() != null ? gadget.getReviewCount() : 0;
+            this.ratingX100 = gadget.getRatingX100();
+
+            List<String> words = Tokenizer.tokenize(gadget.getName());
+            for (int i = 0; i < words.size(); i++) {
+                keys.add(String.join(" ", words.subList(i, words.size())));
+            }
+            String brandKey = normalize(gadget.getBrand());
+            if (!brandKey.isEmpty()) {
+                keys.add(brandKey);
+            }
+        }
+    }
+
+    /**
+     * Trie node with sorted child labels and the top gadgets of its subtree
+     */
+    private final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private long[] terminals = new long[0];
+        private final long[] top = new long[TOP_K];
+        private int topCount;
+
+        private Node child(char label) {
+            int pos = Arrays.binarySearch(labels, label);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int pos = Arrays.binarySearch(labels, label);
+            if (pos >= 0) {
+                return children[pos];
+            }
+            pos = -(pos + 1);
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            newLabels[pos] = label;
+            newChildren[pos] = child;
+            System.arraycopy(labels, pos, newLabels, pos + 1, labels.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        private void addTerminal(long id) {
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = id;
+        }
+
+        private void removeTerminal(long id) {
+            for (int i = 0; i < terminals.length; i++) {
+                if (terminals[i] == id) {
+                    long[] remaining = new long[terminals.length - 1];
+                    System.arraycopy(terminals, 0, remaining, 0, i);
+                    System.arraycopy(terminals, i + 1, remaining, i, remaining.length - i);
+                    terminals = remaining;
+                    return;
+                }
+            }
+        }
+
+        private boolean contains(long id) {
+            for (int i = 0; i < topCount; i++) {
+                if (top[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Insert a gadget into this node's top list if it ranks high enough
+         */
+        private void offer(long id) {
+            if (contains(id)) {
+                return;
+            }
+            if (topCount == TOP_K && byPopularity.compare(id, top[TOP_K - 1]) >= 0) {
+                return;
+            }
+            int pos = topCount == TOP_K ? TOP_K - 1 : topCount++;
+            while (pos > 0 && byPopularity.compare(id, top[pos - 1]) < 0) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = id;
+        }
+
+        /**
+         * Recompute the top list without the given gadget from terminals and children's top lists
+         */
+        private void refill(long removed) {
+            topCount = 0;
+            for (long id : terminals) {
+                if (id != removed) {
+                    offer(id);
+                }
+            }
+            for (Node child : children) {
+                for (int i = 0; i < child.topCount; i++) {
+                    if (child.top[i] != removed) {
+                        offer(child.top[i]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.techgo.index;
+
+import java.util.Arrays;
+
+/**
+ * Primitive posting list: document ordinals in ascending order with their term frequencies.
+ * Not thread-safe; guarded by the owning index.
+ */
+final class PostingList {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    /**
+     * Insert a document, keeping ordinals sorted. Appends are O(1).
+     */
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        int pos = size;
+        if (size > 0 && docs[size - 1] > doc) {
+            pos = -(Arrays.binarySearch(docs, 0, size, doc) + 1);
+            System.arraycopy(docs, pos, docs, pos + 1, size - pos);
+            System.arraycopy(freqs, pos, freqs, pos + 1, size - pos);
+        }
+        docs[pos] = doc;
+        freqs[pos] = freq;
+        size++;
+    }
+
+    void remove(int doc) {
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos >= 0) {
+            System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+            System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int i) {
+        return docs[i];
+    }
+
+    int freq(int i) {
+        return freqs[i];
+    }
+}
@@ -0,0 +1,40 @@
+package com.techgo.index;
+
+import java.util.List;
+
+/**
+ * One page of gadget ids returned by an in-memory index, in rank order, with the total match count.
+ */
+public class SearchHits {
+    private final List<Long> gadgetIds;
+    private final long total;
+    private final float lastScore;
+    private final boolean hasMore;
+
+    public SearchHits(List<Long> gadgetIds, long total, float lastScore, boolean hasMore) {
+        this.gadgetIds = gadgetIds;
+        this.total = total;
+        this.lastScore = lastScore;
+        this.hasMore = hasMore;
+    }
+
+    // Getters
+    public List<Long> getGadgetIds() {
+        return gadgetIds;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Relevance score of the last hit on this page, used to build cursors
+     */
+    public float getLastScore() {
+        return lastScore;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,179 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.model.Category;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distinct specification names per category and distinct values per name.
+ * Names and values are reference counted across gadgets so updates and deletes can retract them;
+ * sorted lists are built on first read after a change and shared until the next one.
+ */
+@Component
+public class SpecVocabulary implements CatalogIndex {
+
+    private static final String ALL_CATEGORIES = "";
+
+    private final Map<Long, Indexed> gadgets = new HashMap<>();
+    /** Lower-cased name to display name and count, per category value and for all categories */
+    private final Map<String, Map<String, Term>> namesByCategory = new HashMap<>();
+    /** Lower-cased name to value counts */
+    private final Map<String, Map<String, Term>> valuesByName = new HashMap<>();
+    private final Map<String, List<String>> sortedNames = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> sortedValues = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * Whether the vocabulary has been fully built and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Distinct specification names used by gadgets in the category, or in any category if null
+     */
+    public List<String> names(Category category) {
+        String key = category != null ? category.getValue() : ALL_CATEGORIES;
+        List<String> names = sortedNames.get(key);
+        if (names == null) {
+            synchronized (this) {
+                names = sortedNames.computeIfAbsent(key, k -> sorted(namesByCategory.get(k)));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Distinct values of the named specification, matched case-insensitively
+     */
+    public List<String> values(String specName) {
+        String key = specName.toLowerCase(Locale.ROOT);
+        List<String> values = sortedValues.get(key);
+        if (values == null) {
+            synchronized (this) {
+                values = sortedValues.computeIfAbsent(key, k -> sorted(valuesByName.get(k)));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized void clear() {
+        ready = false;
+        gadgets.clear();
+        namesByCategory.clear();
+        valuesByName.clear();
+        sortedNames.clear();
+        sortedValues.clear();
+    }
+
+    @Override
+    public void rebuildComplete() {
+        ready = true;
+    }
+
+    @Override
+    public synchronized void index(GadgetDTO gadget) {
+        retract(gadgets.remove(gadget.getId()));
+        List<SpecificationDTO> specifications = gadget.getSpecifications() != null
+                ? new ArrayList<>(gadget.getSpecifications()) : Collections.emptyList();
+        Indexed indexed = new Indexed(gadget.getCategory(), specifications);
+        gadgets.put(gadget.getId(), indexed);
+        for (SpecificationDTO spec : specifications) {
+            String name = spec.getSpecName().toLowerCase(Locale.ROOT);
+            adjust(namesByCategory, sortedNames, ALL_CATEGORIES, name, spec.getSpecName(), 1);
+            if (indexed.category != null) {
+                adjust(namesByCategory, sortedNames, indexed.category.getValue(), name, spec.getSpecName(), 1);
+            }
+            adjust(valuesByName, sortedValues, name, spec.getSpecValue(), spec.getSpecValue(), 1);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long gadgetId) {
+        retract(gadgets.remove(gadgetId));
+    }
+
+    private void retract(Indexed indexed) {
+        if (indexed == null) {
+            return;
+        }
+        for (SpecificationDTO spec : indexed.specifications) {
+            String name = spec.getSpecName().toLowerCase(Locale.ROOT);
+            adjust(namesByCategory, sortedNames, ALL_CATEGORIES, name, spec.getSpecName(), -1);
+            if (indexed.category != null) {
+                adjust(namesByCategory, sortedNames, indexed.category.getValue(), name, spec.getSpecName(), -1);
+            }
+            adjust(valuesByName, sortedValues, name, spec.getSpecValue(), spec.getSpecValue(), -1);
+        }
+    }
+
+    /**
+     * Change the count of a term, dropping the cached list of its group when the term appears or disappears
+     */
+    private static void adjust(Map<String, Map<String, Term>> groups, Map<String, List<String>> sorted,
+                               String group, String key, String display, int delta) {
+        Map<String, Term> terms = groups.computeIfAbsent(group, g -> new HashMap<>());
+        Term term = terms.get(key);
+        if (term == null) {
+            if (delta <= 0) {
+                return;
+            }
+            terms.put(key, new Term(display, delta));
+            sorted.remove(group);
+            return;
+        }
+        term.count += delta;
+        if (term.count <= 0) {
+            terms.remove(key);
+            if (terms.isEmpty()) {
+                groups.remove(group);
+            }
+            sorted.remove(group);
+        }
+    }
+
+    private static List<String> sorted(Map<String, Term> terms) {
+        if (terms == null) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>(terms.size());
+        for (Term term : terms.values()) {
+            values.add(term.display);
+        }
+        values.sort(String.CASE_INSENSITIVE_ORDER);
+        return Collections.unmodifiableList(values);
+    }
+
+    private static final class Term {
+        private final String display;
+        private int count;
+
+        private Term(String display, int count) {
+            this.display = display;
+            this.count = count;
+        }
+    }
+
+    private static final class Indexed {
+        private final Category category;
+        private final List<SpecificationDTO> specifications;
+
+        private Indexed(Category category, List<SpecificationDTO> specifications) {
+            this.category = category;
+            this.specifications = specifications;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.techgo.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits free text into lower-cased alphanumeric tokens for indexing and querying.
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {}
+
+    /**
+     * Tokenize text, appending tokens to the given list
+     */
+    public static void tokenize(String text, List<String> tokens) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean alphanumeric = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (alphanumeric && start < 0) {
+                start = i;
+            } else if (!alphanumeric && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Tokenize text into a new list
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, tokens);
+        return tokens;
+    }
+}
@@ -17,10 +17,18 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "gadgets", indexes = {
-    @Index(name = "idx_brand", columnList = "brand"),
-    @Index(name = "idx_category", columnList = "category"),
     @Index(name = "idx_price", columnList = "price"),
-    @Index(name = "idx_rating", columnList = "rating")
+    @Index(name = "idx_rating_review_count", columnList = "rating, review_count"),
+    @Index(name = "idx_review_count_rating", columnList = "review_count, rating"),
+    @Index(name = "idx_created_at", columnList = "created_at"),
+    @Index(name = "idx_name", columnList = "name"),
+    @Index(name = "idx_category_price", columnList = "category, price"),
+    @Index(name = "idx_category_rating", columnList = "category, rating, review_count"),
+    @Index(name = "idx_category_review_count", columnList = "category, review_count, rating"),
+    @Index(name = "idx_category_created_at", columnList = "category, created_at"),
+    @Index(name = "idx_category_name", columnList = "category, name"),
+    @Index(name = "idx_brand_price", columnList = "brand, price"),
+    @Index(name = "idx_brand_rating", columnList = "brand, rating, review_count")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Gadget {
@@ -62,6 +70,10 @@ public class Gadget {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     @OneToMany(mappedBy = "gadget", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<GadgetSpecification> specifications = new ArrayList<>();
 
@@ -168,6 +180,14 @@ public class Gadget {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<GadgetSpecification> getSpecifications() {
         return specifications;
     }
@@ -185,6 +205,14 @@ public class Gadget {
     }
 
     // Utility methods
+    /**
+     * Mark the gadget as modified so its version and updated_at are bumped on flush,
+     * e.g. when only its specifications changed.
+     */
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public void addSpecification(GadgetSpecification specification) {
         specifications.add(specification);
         specification.setGadget(this);
@@ -217,12 +245,13 @@ public class Gadget {
             return;
         }
 
-        BigDecimal totalRating = reviews.stream()
-                .map(Review::getRating)
-                .map(BigDecimal::valueOf)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.rating = totalRating.divide(BigDecimal.valueOf(reviews.size()), 2, BigDecimal.ROUND_HALF_UP);
+        long total = 0;
+        for (Review review : reviews) {
+            total += review.getRating();
+        }
+        long count = reviews.size();
+        // Average in hundredths, rounded half up, with integer arithmetic
+        this.rating = Hundredths.toDecimal((total * 200 + count) / (count * 2));
         this.reviewCount = reviews.size();
     }
 
@@ -1,9 +1,12 @@
 package com.techgo.model;
 
+import com.techgo.dictionary.SpecNameConverter;
+import com.techgo.dictionary.SpecValueConverter;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -12,8 +15,10 @@ import java.util.Objects;
  * Specifications are key-value pairs that describe the technical details of a gadget.
  */
 @Entity
-@Table(name = "gadget_specifications", indexes = {
-    @Index(name = "idx_gadget_id", columnList = "gadget_id")
+@Table(name = "gadget_specifications", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_gadget_spec_key", columnNames = {"gadget_id", "spec_key_id"})
+}, indexes = {
+    @Index(name = "idx_filter_key_value", columnList = "filter_key, numeric_value, gadget_id")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class GadgetSpecification {
@@ -26,16 +31,32 @@ public class GadgetSpecification {
     @JoinColumn(name = "gadget_id", nullable = false)
     private Gadget gadget;
 
-    @Column(name = "spec_name", nullable = false, length = 100)
+    // Names and values are stored as dictionary codes, see SpecDictionary
+    @Convert(converter = SpecNameConverter.class)
+    @Column(name = "spec_key_id", nullable = false)
     private String specName;
 
-    @Column(name = "spec_value", nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = SpecValueConverter.class)
+    @Column(name = "spec_value_id", nullable = false)
     private String specValue;
 
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Quantity parsed from specValue on write, see SpecQuantity
+    @Column(name = "numeric_value", precision = 19, scale = 6)
+    private BigDecimal numericValue;
+
+    @Column(length = 10)
+    private String unit;
+
+    @Column(name = "filter_key", length = 120)
+    private String filterKey;
+
+    @Column(name = "parser_version", nullable = false, columnDefinition = "TINYINT")
+    private int parserVersion;
+
     // Default constructor
     public GadgetSpecification() {}
 
@@ -87,6 +108,35 @@ public class GadgetSpecification {
         this.createdAt = createdAt;
     }
 
+    public BigDecimal getNumericValue() {
+        return numericValue;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public String getFilterKey() {
+        return filterKey;
+    }
+
+    public int getParserVersion() {
+        return parserVersion;
+    }
+
+    /**
+     * Parse specValue into its typed, unit-normalized columns before every write
+     */
+    @PrePersist
+    @PreUpdate
+    public void parseQuantity() {
+        SpecQuantity quantity = SpecQuantity.parse(specName, specValue);
+        this.numericValue = quantity != null ? quantity.getValue() : null;
+        this.unit = quantity != null ? quantity.getUnit() : null;
+        this.filterKey = quantity != null ? SpecQuantity.filterKey(specName, quantity.getUnit()) : null;
+        this.parserVersion = SpecQuantity.PARSER_VERSION;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
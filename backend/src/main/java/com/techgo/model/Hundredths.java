@@ -0,0 +1,52 @@
+package com.techgo.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point representation of prices (cents) and ratings (hundredths of a star).
+ * Values are carried as integers inside the application and converted to BigDecimal
+ * only where they enter or leave it: the database columns, request parameters and JSON.
+ */
+public final class Hundredths {
+
+    private Hundredths() {}
+
+    /**
+     * Value times 100 rounded to an integer, or the default when the value is null
+     */
+    public static long of(BigDecimal value, RoundingMode rounding, long defaultValue) {
+        return value == null ? defaultValue : value.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    /**
+     * Value times 100, or 0 when the value is null; exact for the two-decimal price and rating columns
+     */
+    public static long of(BigDecimal value) {
+        return of(value, RoundingMode.HALF_UP, 0);
+    }
+
+    /**
+     * The decimal with two fraction digits that the given hundredths stand for
+     */
+    public static BigDecimal toDecimal(long hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    /**
+     * Plain decimal text with two fraction digits, as BigDecimal would print it, e.g. "1299.00"
+     */
+    public static String format(long hundredths) {
+        long magnitude = Math.abs(hundredths);
+        long fraction = magnitude % 100;
+        StringBuilder text = new StringBuilder(24);
+        if (hundredths < 0) {
+            text.append('-');
+        }
+        text.append(magnitude / 100).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+}
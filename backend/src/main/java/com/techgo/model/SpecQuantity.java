@@ -0,0 +1,125 @@
+package com.techgo.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Numeric quantity parsed from a free-text specification value, e.g. "8 GB" or "6.1-inch",
+ * normalized to a canonical unit: GB, mAh, inch, Hz, W or g.
+ * Stored next to the specification so listings can be filtered by numeric range.
+ */
+public final class SpecQuantity {
+
+    /**
+     * Bumped whenever parsing changes, so the backfill job re-parses stored values
+     */
+    public static final int PARSER_VERSION = 2;
+
+    // Value with optional thousands separators, an optional hyphen, then the unit ("5,000mAh", "6.1-inch")
+    private static final Pattern QUANTITY = Pattern.compile(
+            "(\\d{1,3}(?:,\\d{3})+|\\d+)(\\.\\d+)?(\\s*-?\\s*)"
+            + "(tb|gb|mb|mah|inches|inch|\"|″|cm|ghz|mhz|khz|hz|kw|w|kg|g)(?![a-z])",
+            Pattern.CASE_INSENSITIVE);
+
+    // Specifications whose "g" is a network generation ("5G"), never grams
+    private static final Pattern CONNECTIVITY_NAME = Pattern.compile(
+            "\\b(network|connectivity|cellular|wireless|mobile data|lte|sim)\\b", Pattern.CASE_INSENSITIVE);
+    // Specifications where a "g" directly after the number ("150g") means grams
+    private static final Pattern MASS_NAME = Pattern.compile("\\b(weight|mass)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private final BigDecimal value;
+    private final String unit;
+
+    private SpecQuantity(BigDecimal value, String unit) {
+        this.value = value;
+        this.unit = unit;
+    }
+
+    /**
+     * Parse the first quantity with a known unit in the value of the named specification,
+     * or return null if there is none. A bare "g" is read as grams only when separated from the
+     * number ("150 g") or in a weight specification ("150g"), and never in a connectivity
+     * specification, so "5G" is not a mass.
+     */
+    public static SpecQuantity parse(String specName, String specValue) {
+        if (specValue == null) {
+            return null;
+        }
+        Matcher matcher = QUANTITY.matcher(specValue);
+        while (matcher.find()) {
+            if (!matcher.group(4).equalsIgnoreCase("g") || isGrams(specName, matcher.group(3))) {
+                return quantity(matcher);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isGrams(String specName, String separator) {
+        if (specName != null && CONNECTIVITY_NAME.matcher(specName).find()) {
+            return false;
+        }
+        return !separator.isEmpty() || (specName != null && MASS_NAME.matcher(specName).find());
+    }
+
+    private static SpecQuantity quantity(Matcher matcher) {
+        String number = matcher.group(1).replace(",", "") + (matcher.group(2) != null ? matcher.group(2) : "");
+        BigDecimal amount = new BigDecimal(number);
+        switch (matcher.group(4).toLowerCase(Locale.ROOT)) {
+            case "tb":
+                return of(amount.multiply(BigDecimal.valueOf(1024)), "GB");
+            case "gb":
+                return of(amount, "GB");
+            case "mb":
+                return of(amount.divide(BigDecimal.valueOf(1024), 6, RoundingMode.HALF_UP), "GB");
+            case "mah":
+                return of(amount, "mAh");
+            case "cm":
+                return of(amount.divide(new BigDecimal("2.54"), 6, RoundingMode.HALF_UP), "inch");
+            case "ghz":
+                return of(amount.movePointRight(9), "Hz");
+            case "mhz":
+                return of(amount.movePointRight(6), "Hz");
+            case "khz":
+                return of(amount.movePointRight(3), "Hz");
+            case "hz":
+                return of(amount, "Hz");
+            case "kw":
+                return of(amount.movePointRight(3), "W");
+            case "w":
+                return of(amount, "W");
+            case "kg":
+                return of(amount.movePointRight(3), "g");
+            case "g":
+                return of(amount, "g");
+            default:
+                // inch, inches, " and ″
+                return of(amount, "inch");
+        }
+    }
+
+    /**
+     * Filter key of a specification with this unit, e.g. "RAM" in GB becomes "ram_gb"
+     */
+    public static String filterKey(String specName, String unit) {
+        String name = NON_ALPHANUMERIC.matcher(specName.toLowerCase(Locale.ROOT)).replaceAll("_");
+        name = name.replaceAll("^_+|_+$", "");
+        return name + "_" + unit.toLowerCase(Locale.ROOT);
+    }
+
+    private static SpecQuantity of(BigDecimal value, String unit) {
+        return new SpecQuantity(value.scale() > 6 ? value.setScale(6, RoundingMode.HALF_UP) : value, unit);
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+}
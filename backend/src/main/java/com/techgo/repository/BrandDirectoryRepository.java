@@ -0,0 +1,90 @@
+package com.techgo.repository;
+
+import com.techgo.model.Category;
+import com.techgo.repository.projection.BrandCount;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-category gadget counts in the brands table.
+ * Counts are adjusted with atomic increments inside the caller's transaction,
+ * so they commit or roll back together with the gadget change.
+ */
+@Repository
+public class BrandDirectoryRepository {
+
+    private static final String ADJUST_COUNT =
+        "INSERT INTO brands (name, category, gadget_count) VALUES (?, ?, ?) AS new " +
+        "ON DUPLICATE KEY UPDATE gadget_count = gadget_count + new.gadget_count";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BrandDirectoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add the given deltas to brand counts in one batch, creating brands seen for the first time
+     */
+    public void adjustCounts(Map<BrandKey, Integer> deltas) {
+        List<Map.Entry<BrandKey, Integer>> rows = new ArrayList<>(deltas.entrySet());
+        rows.removeIf(entry -> entry.getValue() == 0);
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADJUST_COUNT, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.getKey().getBrand());
+            statement.setString(2, row.getKey().getCategory().getValue());
+            statement.setInt(3, row.getValue());
+        });
+    }
+
+    /**
+     * Find every brand that currently has gadgets, with its category and count, ordered by name
+     */
+    public List<BrandCount> findListed() {
+        return jdbcTemplate.query(
+                "SELECT name, category, gadget_count FROM brands WHERE gadget_count > 0 ORDER BY name",
+                (rs, rowNum) -> new BrandCount(rs.getString("name"),
+                        Category.fromValue(rs.getString("category")), rs.getInt("gadget_count")));
+    }
+
+    /**
+     * A brand within a category; brand names compare case-insensitively like the unique key
+     */
+    public static final class BrandKey {
+        private final String brand;
+        private final Category category;
+
+        public BrandKey(String brand, Category category) {
+            this.brand = brand;
+            this.category = category;
+        }
+
+        public String getBrand() {
+            return brand;
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BrandKey)) return false;
+            BrandKey other = (BrandKey) o;
+            return category == other.category && brand.equalsIgnoreCase(other.brand);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * category.hashCode() + brand.toLowerCase(Locale.ROOT).hashCode();
+        }
+    }
+}
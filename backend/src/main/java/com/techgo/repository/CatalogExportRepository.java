@@ -0,0 +1,126 @@
+package com.techgo.repository;
+
+import com.techgo.dictionary.SpecDictionary;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.model.Category;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * Streams the whole catalog through a forward-only JDBC cursor.
+ * Gadgets are joined with their specifications in one ordered query and handed
+ * out one at a time, so memory use does not grow with the size of the catalog.
+ * Specification names and values are decoded from the in-memory {@link SpecDictionary}.
+ * The query streams row by row (Connector/J fetch size Integer.MIN_VALUE) on its own connection,
+ * so the data source needs no cursor-fetch setting that would change how other statements run.
+ */
+@Repository
+public class CatalogExportRepository {
+
+    private static final String EXPORT_QUERY =
+        "SELECT g.id, g.name, g.brand, g.category, CAST(g.price * 100 AS SIGNED) AS price_cents, g.description, " +
+        "g.image_url, CAST(g.rating * 100 AS SIGNED) AS rating_x100, " +
+        "g.review_count, g.created_at, g.updated_at, g.version, s.id AS spec_id, s.spec_key_id, " +
+        "s.spec_value_id, s.created_at AS spec_created_at " +
+        "FROM gadgets g LEFT JOIN gadget_specifications s ON s.gadget_id = g.id " +
+        "ORDER BY g.id, s.id";
+
+    /** Tells MySQL Connector/J to stream rows one at a time instead of reading the whole result */
+    private static final int STREAM_ROWS = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SpecDictionary dictionary;
+
+    public CatalogExportRepository(JdbcTemplate jdbcTemplate, SpecDictionary dictionary) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Pass every gadget, with its specifications sorted by name, to the consumer in id order.
+     * Must not run inside a transaction: no other statement can use the connection while it streams,
+     * and dictionary misses are read on a connection of their own only outside one.
+     */
+    public void forEachGadget(Consumer<GadgetDTO> consumer) {
+        GadgetAssembler assembler = new GadgetAssembler(consumer, dictionary);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_ROWS);
+            return statement;
+        }, assembler);
+        assembler.finish();
+    }
+
+    /**
+     * Folds consecutive joined rows of the same gadget into one DTO
+     */
+    private static final class GadgetAssembler implements RowCallbackHandler {
+        private final Consumer<GadgetDTO> consumer;
+        private final SpecDictionary dictionary;
+        private GadgetDTO current;
+
+        private GadgetAssembler(Consumer<GadgetDTO> consumer, SpecDictionary dictionary) {
+            this.consumer = consumer;
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || current.getId() != id) {
+                finish();
+                current = toGadget(rs);
+            }
+            long specId = rs.getLong("spec_id");
+            if (!rs.wasNull()) {
+                current.getSpecifications().add(new SpecificationDTO(specId,
+                        dictionary.decodeName(rs.getInt("spec_key_id")),
+                        dictionary.decodeValue(rs.getInt("spec_value_id")),
+                        toLocalDateTime(rs.getTimestamp("spec_created_at"))));
+            }
+        }
+
+        private void finish() {
+            if (current != null) {
+                // Names are decoded in memory, so sort them here rather than joining the dictionary
+                current.getSpecifications().sort(Comparator.comparing(SpecificationDTO::getSpecName));
+                consumer.accept(current);
+                current = null;
+            }
+        }
+
+        private static GadgetDTO toGadget(ResultSet rs) throws SQLException {
+            GadgetDTO gadget = new GadgetDTO();
+            gadget.setId(rs.getLong("id"));
+            gadget.setName(rs.getString("name"));
+            gadget.setBrand(rs.getString("brand"));
+            gadget.setCategory(Category.fromValue(rs.getString("category")));
+            gadget.setPriceCents(rs.getLong("price_cents"));
+            gadget.setDescription(rs.getString("description"));
+            gadget.setImageUrl(rs.getString("image_url"));
+            gadget.setRatingX100(rs.getInt("rating_x100"));
+            gadget.setReviewCount(rs.getInt("review_count"));
+            gadget.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+            gadget.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+            gadget.setVersion(rs.getLong("version"));
+            gadget.setSpecifications(new ArrayList<>());
+            return gadget;
+        }
+
+        private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+}
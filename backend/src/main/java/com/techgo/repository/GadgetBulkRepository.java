@@ -0,0 +1,268 @@
+package com.techgo.repository;
+
+import com.techgo.dictionary.SpecDictionary;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.CreateSpecificationDTO;
+import com.techgo.model.SpecQuantity;
+import com.techgo.repository.projection.SpecificationRow;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based duplicate lookup and JDBC-batched writes for bulk gadget and specification changes.
+ * Bypasses the persistence context: with IDENTITY ids Hibernate would insert row by row.
+ * Batches are sent as multi-row inserts when the driver rewrites batched statements.
+ */
+@Repository
+public class GadgetBulkRepository {
+
+    private static final String INSERT_GADGET =
+        "INSERT IGNORE INTO gadgets (name, brand, category, price, description, image_url, rating, review_count, " +
+        "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0.00, 0, ?, ?, 0)";
+
+    private static final String INSERT_SPECIFICATION =
+        "INSERT INTO gadget_specifications (gadget_id, spec_key_id, spec_value_id, created_at, " +
+        "numeric_value, unit, filter_key, parser_version) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_SPECIFICATION =
+        "INSERT INTO gadget_specifications (gadget_id, spec_key_id, spec_value_id, created_at, " +
+        "numeric_value, unit, filter_key, parser_version) VALUES (?, ?, ?, ?, ?, ?, ?, ?) AS new " +
+        "ON DUPLICATE KEY UPDATE spec_value_id = new.spec_value_id, " +
+        "numeric_value = new.numeric_value, unit = new.unit, filter_key = new.filter_key, " +
+        "parser_version = new.parser_version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final SpecDictionary dictionary;
+
+    public GadgetBulkRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                                SpecDictionary dictionary) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Find the name and brand of existing gadgets with any of the given names, in one query
+     */
+    public List<String[]> findNameAndBrandByNameIn(Collection<String> names) {
+        return namedJdbcTemplate.query("SELECT name, brand FROM gadgets WHERE name IN (:names)",
+                Map.of("names", names),
+                (rs, rowNum) -> new String[] {rs.getString("name"), rs.getString("brand")});
+    }
+
+    /**
+     * Find the ids of the gadgets stored with exactly the given names and brands, in input order,
+     * or 0 for a gadget stored under none. The query matches under the column collation, so
+     * equal but differently spelled rows are returned too and told apart here.
+     */
+    public long[] findIdsByNameAndBrand(List<CreateGadgetDTO> gadgets) {
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, name, brand FROM gadgets WHERE name IN (:names)",
+                Map.of("names", gadgets.stream().map(CreateGadgetDTO::getName).collect(Collectors.toSet())),
+                rs -> {
+                    ids.put(rs.getString("name") + '\u0000' + rs.getString("brand"), rs.getLong("id"));
+                });
+        long[] result = new long[gadgets.size()];
+        for (int i = 0; i < gadgets.size(); i++) {
+            result[i] = ids.getOrDefault(gadgets.get(i).getName() + '\u0000' + gadgets.get(i).getBrand(), 0L);
+        }
+        return result;
+    }
+
+    /**
+     * Insert gadgets in one batch, returning the generated ids of the rows inserted.
+     * Gadgets whose name and brand already exist under the column collation are ignored by the
+     * unique constraint, so fewer ids than gadgets means the ids can no longer be matched to the
+     * input; {@link #findIdsByNameAndBrand(List)} tells which gadgets were stored.
+     */
+    public long[] insertGadgets(List<CreateGadgetDTO> gadgets, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_GADGET,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (CreateGadgetDTO gadget : gadgets) {
+                    statement.setString(1, gadget.getName());
+                    statement.setString(2, gadget.getBrand());
+                    statement.setString(3, gadget.getCategory().getValue());
+                    statement.setBigDecimal(4, gadget.getPrice());
+                    statement.setString(5, gadget.getDescription());
+                    statement.setString(6, gadget.getImageUrl());
+                    statement.setTimestamp(7, timestamp);
+                    statement.setTimestamp(8, timestamp);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                return generatedKeys(statement);
+            }
+        });
+    }
+
+    /**
+     * Insert the specifications of the given gadgets in one batch, returning their generated ids
+     * in input order (gadget by gadget)
+     */
+    public long[] insertSpecifications(long[] gadgetIds, List<CreateGadgetDTO> gadgets, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<String> names = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        for (CreateGadgetDTO gadget : gadgets) {
+            if (gadget.getSpecifications() != null) {
+                for (CreateSpecificationDTO spec : gadget.getSpecifications()) {
+                    names.add(spec.getSpecName());
+                    values.add(spec.getSpecValue());
+                }
+            }
+        }
+        // Register unseen names and values in a few set-based round trips before the batch
+        dictionary.encodeNames(names);
+        dictionary.encodeValues(values);
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SPECIFICATION,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                int count = 0;
+                for (int i = 0; i < gadgets.size(); i++) {
+                    List<CreateSpecificationDTO> specifications = gadgets.get(i).getSpecifications();
+                    if (specifications == null) {
+                        continue;
+                    }
+                    for (CreateSpecificationDTO spec : specifications) {
+                        statement.setLong(1, gadgetIds[i]);
+                        statement.setInt(2, dictionary.encodeName(spec.getSpecName()));
+                        statement.setInt(3, dictionary.encodeValue(spec.getSpecValue()));
+                        statement.setTimestamp(4, timestamp);
+                        setQuantity(statement, 5, spec.getSpecName(), spec.getSpecValue());
+                        statement.addBatch();
+                        count++;
+                    }
+                }
+                if (count == 0) {
+                    return new long[0];
+                }
+                statement.executeBatch();
+                return generatedKeys(statement, count);
+            }
+        });
+    }
+
+    /**
+     * Insert or update specifications of a gadget by name in one batch,
+     * relying on the unique (gadget_id, spec_key_id) constraint
+     */
+    public void upsertSpecifications(Long gadgetId, Map<String, String> specifications, LocalDateTime now) {
+        if (specifications.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Map.Entry<String, String>> rows = new ArrayList<>(specifications.entrySet());
+        dictionary.encodeNames(specifications.keySet());
+        dictionary.encodeValues(specifications.values());
+        jdbcTemplate.batchUpdate(UPSERT_SPECIFICATION, rows, rows.size(), (statement, spec) -> {
+            statement.setLong(1, gadgetId);
+            statement.setInt(2, dictionary.encodeName(spec.getKey()));
+            statement.setInt(3, dictionary.encodeValue(spec.getValue()));
+            statement.setTimestamp(4, timestamp);
+            setQuantity(statement, 5, spec.getKey(), spec.getValue());
+        });
+    }
+
+    /**
+     * Delete the named specifications of a gadget in one statement
+     */
+    public void deleteSpecifications(Long gadgetId, Collection<String> specNames) {
+        List<Integer> specKeyIds = new ArrayList<>();
+        for (String specName : specNames) {
+            Integer code = dictionary.findNameCode(specName);
+            if (code != null) {
+                specKeyIds.add(code);
+            }
+        }
+        if (specKeyIds.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update(
+                "DELETE FROM gadget_specifications WHERE gadget_id = :gadgetId AND spec_key_id IN (:specKeyIds)",
+                Map.of("gadgetId", gadgetId, "specKeyIds", specKeyIds));
+    }
+
+    /**
+     * Find up to limit specifications after the given id whose values were parsed by an older parser, in id order
+     */
+    public List<SpecificationRow> findSpecificationsToParse(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, gadget_id, spec_key_id, spec_value_id, created_at FROM gadget_specifications " +
+                "WHERE id > ? AND parser_version < ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new SpecificationRow(rs.getLong("gadget_id"), rs.getLong("id"),
+                        dictionary.decodeName(rs.getInt("spec_key_id")),
+                        dictionary.decodeValue(rs.getInt("spec_value_id")),
+                        rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toLocalDateTime() : null),
+                afterId, SpecQuantity.PARSER_VERSION, limit);
+    }
+
+    /**
+     * Store freshly parsed quantities for the given specifications in one batch
+     */
+    public void updateQuantities(List<SpecificationRow> specifications) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE gadget_specifications SET numeric_value = ?, unit = ?, filter_key = ?, parser_version = ? " +
+                "WHERE id = ?",
+                specifications, specifications.size(), (statement, spec) -> {
+                    setQuantity(statement, 1, spec.getSpecName(), spec.getSpecValue());
+                    statement.setLong(5, spec.getId());
+                });
+    }
+
+    /**
+     * Bind numeric_value, unit, filter_key and parser_version starting at the given parameter index
+     */
+    private static void setQuantity(PreparedStatement statement, int index, String specName, String specValue)
+            throws SQLException {
+        SpecQuantity quantity = SpecQuantity.parse(specName, specValue);
+        statement.setBigDecimal(index, quantity != null ? quantity.getValue() : null);
+        statement.setString(index + 1, quantity != null ? quantity.getUnit() : null);
+        statement.setString(index + 2, quantity != null ? SpecQuantity.filterKey(specName, quantity.getUnit()) : null);
+        statement.setInt(index + 3, SpecQuantity.PARSER_VERSION);
+    }
+
+    /**
+     * The generated ids of a batch, one per inserted row
+     */
+    private static long[] generatedKeys(PreparedStatement statement) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long[] generatedKeys(PreparedStatement statement, int expected) throws SQLException {
+        long[] ids = new long[expected];
+        int i = 0;
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next() && i < expected) {
+                ids[i++] = keys.getLong(1);
+            }
+        }
+        if (i != expected) {
+            throw new IllegalStateException("Expected " + expected + " generated ids but got " + i);
+        }
+        return ids;
+    }
+}
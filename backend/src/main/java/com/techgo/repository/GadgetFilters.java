@@ -0,0 +1,126 @@
+package com.techgo.repository;
+
+import com.techgo.dto.SpecRangeFilter;
+import com.techgo.model.Category;
+import com.techgo.model.Gadget;
+import com.techgo.model.GadgetSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query specifications for filtering gadget listings.
+ * Only the filters that are actually set become predicates, so MySQL can use
+ * the matching index instead of evaluating "(:x IS NULL OR ...)" for every row.
+ */
+public final class GadgetFilters {
+
+    private GadgetFilters() {}
+
+    /**
+     * Match gadgets against the given filters; null filters are ignored
+     */
+    public static Specification<Gadget> matching(Category category, String brand,
+                                                 BigDecimal minPrice, BigDecimal maxPrice,
+                                                 BigDecimal minRating, String name) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (category != null) {
+                predicates.add(cb.equal(root.get("category"), category));
+            }
+            if (brand != null) {
+                predicates.add(cb.equal(root.get("brand"), brand));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+            }
+            if (minRating != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("rating"), minRating));
+            }
+            if (name != null) {
+                predicates.add(cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Match gadgets having, for every filter, a specification with that filter key whose
+     * normalized value lies in the range. Each filter is an EXISTS on the (filter_key,
+     * numeric_value, gadget_id) index rather than a LIKE over spec values.
+     */
+    public static Specification<Gadget> specRanges(List<SpecRangeFilter> filters) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (SpecRangeFilter filter : filters) {
+                Subquery<Long> subquery = query.subquery(Long.class);
+                Root<GadgetSpecification> spec = subquery.from(GadgetSpecification.class);
+                List<Predicate> conditions = new ArrayList<>();
+                conditions.add(cb.equal(spec.get("gadget"), root));
+                conditions.add(cb.equal(spec.get("filterKey"), filter.getKey()));
+                if (filter.getMin() != null) {
+                    conditions.add(cb.greaterThanOrEqualTo(spec.get("numericValue"), filter.getMin()));
+                }
+                if (filter.getMax() != null) {
+                    conditions.add(cb.lessThanOrEqualTo(spec.get("numericValue"), filter.getMax()));
+                }
+                subquery.select(spec.get("id")).where(conditions.toArray(new Predicate[0]));
+                predicates.add(cb.exists(subquery));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Seek past the row with the given sort key values and id for keyset pagination.
+     * Expands (k1, ..., kn, id) > (v1, ..., vn, lastId) into OR-ed prefix comparisons,
+     * which MySQL evaluates as a range on the matching composite index.
+     * Null keys (rating, review count) are compared as MySQL orders them: before every value.
+     */
+    public static Specification<Gadget> seekAfter(List<String> attributes, List<Comparable<?>> keys,
+                                                 Long id, boolean descending) {
+        return (root, query, cb) -> {
+            if (id == null) {
+                return null;
+            }
+            List<Path<?>> paths = new ArrayList<>();
+            List<Comparable<?>> values = new ArrayList<>(keys);
+            for (String attribute : attributes) {
+                paths.add(root.get(attribute));
+            }
+            paths.add(root.get("id"));
+            values.add(id);
+
+            List<Predicate> alternatives = new ArrayList<>();
+            for (int i = 0; i < paths.size(); i++) {
+                List<Predicate> conjunction = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    conjunction.add(values.get(j) != null ? cb.equal(paths.get(j), values.get(j))
+                            : cb.isNull(paths.get(j)));
+                }
+                conjunction.add(beyond(cb, paths.get(i), values.get(i), descending));
+                alternatives.add(cb.and(conjunction.toArray(new Predicate[0])));
+            }
+            return cb.or(alternatives.toArray(new Predicate[0]));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder cb, Path path, Comparable value, boolean descending) {
+        if (value == null) {
+            // Nothing sorts before null; every value sorts after it
+            return descending ? cb.disjunction() : cb.isNotNull(path);
+        }
+        return descending ? cb.or(cb.lessThan(path, value), cb.isNull(path)) : cb.greaterThan(path, value);
+    }
+}
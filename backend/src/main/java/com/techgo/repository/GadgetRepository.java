@@ -1,15 +1,19 @@
 package com.techgo.repository;
 
+import com.techgo.dto.GadgetDTO;
 import com.techgo.model.Category;
 import com.techgo.model.Gadget;
+import com.techgo.repository.projection.GadgetVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +22,27 @@ import java.util.Optional;
  * Provides methods for CRUD operations and custom queries for gadgets.
  */
 @Repository
-public interface GadgetRepository extends JpaRepository<Gadget, Long> {
+public interface GadgetRepository extends JpaRepository<Gadget, Long>, JpaSpecificationExecutor<Gadget>,
+        GadgetRepositoryCustom {
+
+    /**
+     * Find listing projections for a batch of gadget ids
+     */
+    @Query("SELECT new com.techgo.dto.GadgetDTO(g.id, g.name, g.brand, g.category, g.price, g.imageUrl, " +
+           "g.rating, g.reviewCount, g.createdAt) FROM Gadget g WHERE g.id IN :ids")
+    List<GadgetDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the version and modification time of a gadget without loading it
+     */
+    @Query("SELECT new com.techgo.repository.projection.GadgetVersion(g.id, g.version, g.updatedAt) " +
+           "FROM Gadget g WHERE g.id = :id")
+    Optional<GadgetVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Find the gadgets with an id above the given one, in id order
+     */
+    List<Gadget> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 
     /**
      * Find gadgets by category with pagination
@@ -92,6 +116,14 @@ public interface GadgetRepository extends JpaRepository<Gadget, Long> {
     @Query("SELECT g FROM Gadget g WHERE g.category = :category AND g.rating >= 4.0 ORDER BY g.rating DESC, g.reviewCount DESC")
     List<Gadget> findFeaturedByCategory(@Param("category") Category category, Pageable pageable);
 
+    /**
+     * Find other gadgets of a category closest in price to the given one
+     */
+    @Query("SELECT g FROM Gadget g WHERE g.category = :category AND g.id <> :id " +
+           "ORDER BY ABS(g.price - :price), g.id")
+    List<Gadget> findClosestInPrice(@Param("category") Category category, @Param("id") Long id,
+                                    @Param("price") BigDecimal price, Pageable pageable);
+
     /**
      * Get all featured gadgets across all categories
      */
@@ -131,18 +163,6 @@ public interface GadgetRepository extends JpaRepository<Gadget, Long> {
     @Query("SELECT COUNT(g) FROM Gadget g WHERE g.brand = :brand")
     Long countByBrand(@Param("brand") String brand);
 
-    /**
-     * Get distinct brands for a category
-     */
-    @Query("SELECT DISTINCT g.brand FROM Gadget g WHERE g.category = :category ORDER BY g.brand")
-    List<String> findDistinctBrandsByCategory(@Param("category") Category category);
-
-    /**
-     * Get all distinct brands
-     */
-    @Query("SELECT DISTINCT g.brand FROM Gadget g ORDER BY g.brand")
-    List<String> findAllDistinctBrands();
-
     /**
      * Find gadgets by name or brand (for search autocomplete)
      */
@@ -0,0 +1,33 @@
+package com.techgo.repository;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Gadget;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom repository methods returning gadget listing projections.
+ * Rows are built with constructor expressions, so no entities are loaded into the
+ * persistence context and the description column is never read.
+ */
+public interface GadgetRepositoryCustom {
+
+    /**
+     * Find a page of listing projections matching the specification
+     */
+    Page<GadgetDTO> findSummaries(Specification<Gadget> spec, Pageable pageable);
+
+    /**
+     * Find up to limit listing projections matching the specification, without a count query
+     */
+    List<GadgetDTO> findSummaries(Specification<Gadget> spec, Sort sort, int limit);
+
+    /**
+     * Find the ids of all gadgets matching the specification
+     */
+    List<Long> findIds(Specification<Gadget> spec);
+}
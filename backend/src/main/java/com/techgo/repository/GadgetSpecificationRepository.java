@@ -2,11 +2,13 @@ package com.techgo.repository;
 
 import com.techgo.model.Gadget;
 import com.techgo.model.GadgetSpecification;
+import com.techgo.repository.projection.SpecificationRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,32 +29,45 @@ public interface GadgetSpecificationRepository extends JpaRepository<GadgetSpeci
     List<GadgetSpecification> findByGadgetId(Long gadgetId);
 
     /**
-     * Find specific specification by gadget and spec name
+     * Find read-only specification rows for a batch of gadgets in a single query
      */
-    GadgetSpecification findByGadgetAndSpecName(Gadget gadget, String specName);
+    @Query("SELECT new com.techgo.repository.projection.SpecificationRow(gs.gadget.id, gs.id, gs.specName, " +
+           "gs.specValue, gs.createdAt) FROM GadgetSpecification gs WHERE gs.gadget.id IN :gadgetIds " +
+           "ORDER BY gs.gadget.id, gs.id")
+    List<SpecificationRow> findRowsByGadgetIdIn(@Param("gadgetIds") Collection<Long> gadgetIds);
 
     /**
-     * Find specific specification by gadget ID and spec name
+     * Find distinct specification names used in a category, decoded through spec_keys
      */
-    GadgetSpecification findByGadgetIdAndSpecName(Long gadgetId, String specName);
+    @Query(value = "SELECT DISTINCT k.name FROM gadget_specifications gs " +
+                   "JOIN spec_keys k ON k.id = gs.spec_key_id JOIN gadgets g ON g.id = gs.gadget_id " +
+                   "WHERE g.category = :category ORDER BY k.name", nativeQuery = true)
+    List<String> findDistinctSpecNamesByCategory(@Param("category") String category);
 
     /**
-     * Find all gadgets that have a specific specification value
+     * Find distinct specification names in use across all categories
      */
-    @Query("SELECT gs.gadget FROM GadgetSpecification gs WHERE gs.specName = :specName AND gs.specValue LIKE %:specValue%")
-    List<Gadget> findGadgetsBySpecification(@Param("specName") String specName, @Param("specValue") String specValue);
+    @Query(value = "SELECT DISTINCT k.name FROM gadget_specifications gs " +
+                   "JOIN spec_keys k ON k.id = gs.spec_key_id ORDER BY k.name", nativeQuery = true)
+    List<String> findAllDistinctSpecNames();
 
     /**
-     * Find all unique specification names for a category
+     * Find distinct values of one specification name by its dictionary code
      */
-    @Query("SELECT DISTINCT gs.specName FROM GadgetSpecification gs WHERE gs.gadget.category = :category ORDER BY gs.specName")
-    List<String> findDistinctSpecNamesByCategory(@Param("category") String category);
+    @Query(value = "SELECT DISTINCT v.value FROM gadget_specifications gs " +
+                   "JOIN spec_values v ON v.id = gs.spec_value_id WHERE gs.spec_key_id = :specKeyId " +
+                   "ORDER BY v.value", nativeQuery = true)
+    List<String> findDistinctSpecValuesByKeyId(@Param("specKeyId") Integer specKeyId);
 
     /**
-     * Find all possible values for a specification name
+     * Find specific specification by gadget and spec name
      */
-    @Query("SELECT DISTINCT gs.specValue FROM GadgetSpecification gs WHERE gs.specName = :specName ORDER BY gs.specValue")
-    List<String> findDistinctSpecValuesByName(@Param("specName") String specName);
+    GadgetSpecification findByGadgetAndSpecName(Gadget gadget, String specName);
+
+    /**
+     * Find specific specification by gadget ID and spec name
+     */
+    GadgetSpecification findByGadgetIdAndSpecName(Long gadgetId, String specName);
 
     /**
      * Count specifications for a gadget
@@ -64,16 +79,4 @@ public interface GadgetSpecificationRepository extends JpaRepository<GadgetSpeci
      * Delete all specifications for a gadget
      */
     void deleteByGadget(Gadget gadget);
-
-    /**
-     * Find specifications with spec names containing search term
-     */
-    @Query("SELECT gs FROM GadgetSpecification gs WHERE LOWER(gs.specName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<GadgetSpecification> findBySpecNameContainingIgnoreCase(@Param("searchTerm") String searchTerm);
-
-    /**
-     * Find specifications with spec values containing search term
-     */
-    @Query("SELECT gs FROM GadgetSpecification gs WHERE LOWER(gs.specValue) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<GadgetSpecification> findBySpecValueContainingIgnoreCase(@Param("searchTerm") String searchTerm);
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.techgo.repository;
+
+import com.techgo.repository.projection.PriceHistoryBlock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Block storage for the append-only gadget price history.
+ * Appending a point is a single UPDATE that concatenates its encoded delta to the latest block.
+ */
+@Repository
+public class PriceHistoryRepository {
+
+    private static final String BLOCK_COLUMNS =
+        "h.gadget_id, h.block_start, h.block_end, h.first_price_cents, h.last_price_cents, h.point_count, h.points";
+
+    private static final RowMapper<PriceHistoryBlock> BLOCK_MAPPER = (rs, rowNum) -> new PriceHistoryBlock(
+            rs.getLong("gadget_id"),
+            rs.getTimestamp("block_start").toLocalDateTime(),
+            rs.getTimestamp("block_end").toLocalDateTime(),
+            rs.getLong("first_price_cents"),
+            rs.getLong("last_price_cents"),
+            rs.getInt("point_count"),
+            rs.getBytes("points"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Find the latest block of every gadget with a price history
+     */
+    public List<PriceHistoryBlock> findLatestBlocks() {
+        return jdbcTemplate.query(
+                "SELECT " + BLOCK_COLUMNS + " FROM gadget_price_history h " +
+                "JOIN (SELECT gadget_id, MAX(block_start) AS block_start FROM gadget_price_history " +
+                "GROUP BY gadget_id) latest ON latest.gadget_id = h.gadget_id AND latest.block_start = h.block_start",
+                BLOCK_MAPPER);
+    }
+
+    /**
+     * Find the blocks of a gadget overlapping the given period, including the one holding
+     * the price in effect at its start, in time order
+     */
+    public List<PriceHistoryBlock> findBlocks(Long gadgetId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(
+                "SELECT " + BLOCK_COLUMNS + " FROM gadget_price_history h " +
+                "WHERE h.gadget_id = ? AND h.block_start <= ? AND h.block_start >= " +
+                "(SELECT COALESCE(MAX(block_start), '1000-01-01') FROM gadget_price_history " +
+                "WHERE gadget_id = ? AND block_start <= ?) ORDER BY h.block_start",
+                BLOCK_MAPPER, gadgetId, Timestamp.valueOf(to), gadgetId, Timestamp.valueOf(from));
+    }
+
+    /**
+     * Start a new block with its first point
+     */
+    public void insertBlock(Long gadgetId, LocalDateTime at, long priceCents) {
+        Timestamp timestamp = Timestamp.valueOf(at);
+        jdbcTemplate.update(
+                "INSERT INTO gadget_price_history (gadget_id, block_start, block_end, first_price_cents, " +
+                "last_price_cents, point_count, points) VALUES (?, ?, ?, ?, ?, 1, X'')",
+                gadgetId, timestamp, timestamp, priceCents, priceCents);
+    }
+
+    /**
+     * Append an encoded point to a block unless that would exceed the block limits.
+     * Returns false if the block is full and a new one must be started.
+     */
+    public boolean appendPoint(Long gadgetId, LocalDateTime blockStart, LocalDateTime at, long priceCents,
+                               byte[] delta, int maxPoints, int maxBytes) {
+        return jdbcTemplate.update(
+                "UPDATE gadget_price_history SET points = CONCAT(points, ?), block_end = ?, " +
+                "last_price_cents = ?, point_count = point_count + 1 " +
+                "WHERE gadget_id = ? AND block_start = ? AND point_count < ? AND LENGTH(points) + ? <= ?",
+                delta, Timestamp.valueOf(at), priceCents, gadgetId, Timestamp.valueOf(blockStart),
+                maxPoints, delta.length, maxBytes) == 1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.techgo.repository.projection;
+
+import com.techgo.model.Category;
+
+/**
+ * A brand from the brand directory with the number of gadgets it has in one category
+ */
+public class BrandCount {
+    private final String name;
+    private final Category category;
+    private final int gadgetCount;
+
+    public BrandCount(String name, Category category, int gadgetCount) {
+        this.name = name;
+        this.category = category;
+        this.gadgetCount = gadgetCount;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public int getGadgetCount() {
+        return gadgetCount;
+    }
+}
@@ -0,0 +1,32 @@
+package com.techgo.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revision and modification time of a gadget, selected without loading the entity.
+ * Used as the validator for conditional GET requests.
+ */
+public class GadgetVersion {
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    public GadgetVersion(Long id, Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,57 @@
+package com.techgo.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored block of consecutive price points of a gadget.
+ * The first point is blockStart / firstPriceCents; later points are delta-encoded in points.
+ */
+public class PriceHistoryBlock {
+    private final Long gadgetId;
+    private final LocalDateTime blockStart;
+    private final LocalDateTime blockEnd;
+    private final long firstPriceCents;
+    private final long lastPriceCents;
+    private final int pointCount;
+    private final byte[] points;
+
+    public PriceHistoryBlock(Long gadgetId, LocalDateTime blockStart, LocalDateTime blockEnd,
+                             long firstPriceCents, long lastPriceCents, int pointCount, byte[] points) {
+        this.gadgetId = gadgetId;
+        this.blockStart = blockStart;
+        this.blockEnd = blockEnd;
+        this.firstPriceCents = firstPriceCents;
+        this.lastPriceCents = lastPriceCents;
+        this.pointCount = pointCount;
+        this.points = points;
+    }
+
+    // Getters
+    public Long getGadgetId() {
+        return gadgetId;
+    }
+
+    public LocalDateTime getBlockStart() {
+        return blockStart;
+    }
+
+    public LocalDateTime getBlockEnd() {
+        return blockEnd;
+    }
+
+    public long getFirstPriceCents() {
+        return firstPriceCents;
+    }
+
+    public long getLastPriceCents() {
+        return lastPriceCents;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public byte[] getPoints() {
+        return points;
+    }
+}
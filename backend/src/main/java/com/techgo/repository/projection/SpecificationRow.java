@@ -0,0 +1,44 @@
+package com.techgo.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only specification row selected with a JPQL constructor expression.
+ * Carries the owning gadget id so rows for many gadgets can be grouped in memory.
+ */
+public class SpecificationRow {
+    private final Long gadgetId;
+    private final Long id;
+    private final String specName;
+    private final String specValue;
+    private final LocalDateTime createdAt;
+
+    public SpecificationRow(Long gadgetId, Long id, String specName, String specValue, LocalDateTime createdAt) {
+        this.gadgetId = gadgetId;
+        this.id = id;
+        this.specName = specName;
+        this.specValue = specValue;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Long getGadgetId() {
+        return gadgetId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSpecName() {
+        return specName;
+    }
+
+    public String getSpecValue() {
+        return specValue;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,140 @@
+package com.techgo.service;
+
+import com.techgo.event.BrandDirectoryChangedEvent;
+import com.techgo.model.Category;
+import com.techgo.repository.BrandDirectoryRepository;
+import com.techgo.repository.BrandDirectoryRepository.BrandKey;
+import com.techgo.repository.projection.BrandCount;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Brands per category, backed by the maintained brands table.
+ * Gadget writes adjust the counts in their own transaction; reads are served from an immutable
+ * in-memory snapshot that is reloaded from the brands table only after a committed change.
+ */
+@Component
+public class BrandDirectory {
+
+    private final BrandDirectoryRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public BrandDirectory(BrandDirectoryRepository repository, ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Brands with gadgets in the category, or in any category if null, ordered by name
+     */
+    public List<String> brands(Category category) {
+        Snapshot current = snapshot;
+        if (current == null || current.generation != generation.get()) {
+            current = reload();
+        }
+        if (category == null) {
+            return current.all;
+        }
+        return current.byCategory.getOrDefault(category, Collections.emptyList());
+    }
+
+    /**
+     * Count a new gadget
+     */
+    public void gadgetAdded(String brand, Category category) {
+        Map<BrandKey, Integer> deltas = new HashMap<>();
+        deltas.merge(new BrandKey(brand, category), 1, Integer::sum);
+        adjust(deltas);
+    }
+
+    /**
+     * Count a batch of new gadgets with one statement per distinct brand
+     */
+    public void gadgetsAdded(Map<BrandKey, Integer> counts) {
+        adjust(counts);
+    }
+
+    /**
+     * Move a gadget between brands or categories; does nothing if neither changed
+     */
+    public void gadgetMoved(String oldBrand, Category oldCategory, String newBrand, Category newCategory) {
+        Map<BrandKey, Integer> deltas = new HashMap<>();
+        deltas.merge(new BrandKey(oldBrand, oldCategory), -1, Integer::sum);
+        deltas.merge(new BrandKey(newBrand, newCategory), 1, Integer::sum);
+        adjust(deltas);
+    }
+
+    /**
+     * Stop counting a deleted gadget
+     */
+    public void gadgetRemoved(String brand, Category category) {
+        Map<BrandKey, Integer> deltas = new HashMap<>();
+        deltas.merge(new BrandKey(brand, category), -1, Integer::sum);
+        adjust(deltas);
+    }
+
+    /**
+     * Invalidate the snapshot once the adjusting transaction has committed,
+     * ahead of the response cache evicting brand lists built from it
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBrandDirectoryChanged(BrandDirectoryChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private void adjust(Map<BrandKey, Integer> deltas) {
+        if (deltas.values().stream().allMatch(delta -> delta == 0)) {
+            return;
+        }
+        repository.adjustCounts(deltas);
+        eventPublisher.publishEvent(new BrandDirectoryChangedEvent());
+    }
+
+    private synchronized Snapshot reload() {
+        Snapshot current = snapshot;
+        long loading = generation.get();
+        if (current != null && current.generation == loading) {
+            return current;
+        }
+        // A change committing during the query bumps the generation, so this snapshot is reloaded again
+        current = new Snapshot(loading, repository.findListed());
+        snapshot = current;
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final long generation;
+        private final List<String> all;
+        private final Map<Category, List<String>> byCategory = new EnumMap<>(Category.class);
+
+        private Snapshot(long generation, List<BrandCount> brands) {
+            this.generation = generation;
+            TreeSet<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            Map<Category, List<String>> lists = new EnumMap<>(Category.class);
+            for (BrandCount brand : brands) {
+                names.add(brand.getName());
+                if (brand.getCategory() != null) {
+                    lists.computeIfAbsent(brand.getCategory(), c -> new ArrayList<>()).add(brand.getName());
+                }
+            }
+            this.all = List.copyOf(names);
+            lists.forEach((category, list) -> byCategory.put(category, List.copyOf(list)));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.techgo.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.exception.BadRequestException;
+import com.techgo.model.Hundredths;
+import com.techgo.repository.CatalogExportRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Service writing the full catalog as a feed for partners.
+ * Gadgets are streamed from the database and written one at a time, so memory use
+ * stays flat regardless of catalog size.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final String[] CSV_COLUMNS = {
+        "id", "name", "brand", "category", "price", "description", "imageUrl",
+        "rating", "reviewCount", "createdAt", "updatedAt", "specifications"
+    };
+
+    private final CatalogExportRepository exportRepository;
+    private final JsonFactory jsonFactory;
+
+    public CatalogExportService(CatalogExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Unsupported export format '" + value + "'. Use ndjson or csv");
+        }
+    }
+
+    /**
+     * Write every gadget with its specifications to the stream in the given format
+     */
+    public void export(Format format, OutputStream out) throws IOException {
+        try {
+            if (format == Format.CSV) {
+                writeCsv(out);
+            } else {
+                writeNdjson(out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * One JSON object per line, written with Jackson's streaming generator
+     */
+    private void writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            exportRepository.forEachGadget(gadget -> {
+                try {
+                    writeGadget(generator, gadget);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Csv.writeRow(writer, CSV_COLUMNS);
+        StringWriter specs = new StringWriter();
+        exportRepository.forEachGadget(gadget -> {
+            try {
+                specs.getBuffer().setLength(0);
+                try (JsonGenerator generator = jsonFactory.createGenerator(specs)) {
+                    writeSpecifications(generator, gadget);
+                }
+                Csv.writeRow(writer, new String[] {
+                    String.valueOf(gadget.getId()),
+                    gadget.getName(),
+                    gadget.getBrand(),
+                    gadget.getCategory() != null ? gadget.getCategory().getValue() : null,
+                    Hundredths.format(gadget.getPriceCents()),
+                    gadget.getDescription(),
+                    gadget.getImageUrl(),
+                    Hundredths.format(gadget.getRatingX100()),
+                    gadget.getReviewCount() != null ? gadget.getReviewCount().toString() : null,
+                    gadget.getCreatedAt() != null ? gadget.getCreatedAt().toString() : null,
+                    gadget.getUpdatedAt() != null ? gadget.getUpdatedAt().toString() : null,
+                    specs.toString()
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeGadget(JsonGenerator generator, GadgetDTO gadget) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", gadget.getId());
+        generator.writeStringField("name", gadget.getName());
+        generator.writeStringField("brand", gadget.getBrand());
+        generator.writeStringField("category",
+                gadget.getCategory() != null ? gadget.getCategory().getValue() : null);
+        generator.writeFieldName("price");
+        generator.writeNumber(Hundredths.format(gadget.getPriceCents()));
+        generator.writeStringField("description", gadget.getDescription());
+        generator.writeStringField("imageUrl", gadget.getImageUrl());
+        generator.writeFieldName("rating");
+        generator.writeNumber(Hundredths.format(gadget.getRatingX100()));
+        generator.writeNumberField("reviewCount", gadget.getReviewCount());
+        generator.writeStringField("createdAt",
+                gadget.getCreatedAt() != null ? gadget.getCreatedAt().toString() : null);
+        generator.writeStringField("updatedAt",
+                gadget.getUpdatedAt() != null ? gadget.getUpdatedAt().toString() : null);
+        generator.writeFieldName("specifications");
+        writeSpecifications(generator, gadget);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Specifications as an object of name to value, in name order
+     */
+    private void writeSpecifications(JsonGenerator generator, GadgetDTO gadget) throws IOException {
+        generator.writeStartObject();
+        for (SpecificationDTO spec : gadget.getSpecifications()) {
+            generator.writeStringField(spec.getSpecName(), spec.getSpecValue());
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,96 @@
+package com.techgo.service;
+
+import com.techgo.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV support for catalog export and import:
+ * comma separated, double-quoted values may contain commas, quotes and line breaks.
+ */
+final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Write one record terminated by CRLF; null values are written as empty fields
+     */
+    static void writeRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Read the next record, or null at end of input. Empty fields are returned as empty strings.
+     */
+    static List<String> readRow(Reader reader) throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == '"') {
+                if (value.length() > 0) {
+                    throw new BadRequestException("Malformed CSV: unexpected quote in an unquoted value");
+                }
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new BadRequestException("Malformed CSV: unterminated quoted value");
+        }
+        if (!any) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,315 @@
+package com.techgo.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techgo.dto.BulkImportResultDTO;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.CreateSpecificationDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.event.GadgetChangedEvent;
+import com.techgo.exception.BadRequestException;
+import com.techgo.model.Category;
+import com.techgo.model.Hundredths;
+import com.techgo.repository.BrandDirectoryRepository.BrandKey;
+import com.techgo.repository.GadgetBulkRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for importing gadgets in bulk.
+ * The whole import is validated in memory first; duplicates are resolved with one query
+ * per batch and gadgets and specifications are written with batched JDBC inserts.
+ * The unique name and brand constraint has the final say on duplicates: a gadget it ignores, being
+ * equal to a stored one under the column collation (e.g. only differing in accents) or inserted by
+ * another transaction after the check, is skipped like any other duplicate.
+ * The import is all-or-nothing: any invalid gadget rejects it before anything is written.
+ */
+@Service
+@Transactional
+public class GadgetImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final GadgetBulkRepository bulkRepository;
+    private final BrandDirectory brandDirectory;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public GadgetImportService(GadgetBulkRepository bulkRepository,
+                               BrandDirectory brandDirectory,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${catalog.import.batch-size:1000}") int batchSize) {
+        this.bulkRepository = bulkRepository;
+        this.brandDirectory = brandDirectory;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import gadgets, skipping those whose name and brand already exist
+     */
+    public BulkImportResultDTO importGadgets(List<CreateGadgetDTO> gadgets) {
+        if (gadgets == null || gadgets.isEmpty()) {
+            throw new BadRequestException("No gadgets to import");
+        }
+        validate(gadgets);
+
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        result.setReceived(gadgets.size());
+
+        // Drop repeats within the import itself, keeping the first occurrence
+        Set<String> seen = new HashSet<>();
+        List<CreateGadgetDTO> unique = new ArrayList<>(gadgets.size());
+        for (CreateGadgetDTO gadget : gadgets) {
+            if (seen.add(key(gadget.getName(), gadget.getBrand()))) {
+                unique.add(gadget);
+            } else {
+                result.getSkipped().add(describe(gadget));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int from = 0; from < unique.size(); from += batchSize) {
+            importBatch(unique.subList(from, Math.min(from + batchSize, unique.size())), now, result);
+        }
+        result.setCreated(result.getCreatedIds().size());
+        return result;
+    }
+
+    /**
+     * Import gadgets from CSV with a header row. Recognized columns are name, brand, category, price,
+     * description, imageUrl and specifications (a JSON object of name to value); others are ignored,
+     * so a catalog export can be imported as is.
+     */
+    public BulkImportResultDTO importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = Csv.readRow(reader);
+        if (header == null) {
+            throw new BadRequestException("CSV is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String required : new String[] {"name", "brand", "category", "price"}) {
+            if (!columns.containsKey(required)) {
+                throw new BadRequestException("CSV is missing the '" + required + "' column");
+            }
+        }
+
+        List<CreateGadgetDTO> gadgets = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        List<String> row;
+        int line = 1;
+        while ((row = Csv.readRow(reader)) != null) {
+            line++;
+            if (row.size() == 1 && row.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                gadgets.add(parseRow(row, columns));
+            } catch (IllegalArgumentException | IOException e) {
+                errors.add("Row " + line + ": " + e.getMessage());
+            }
+        }
+        reject(errors);
+        return importGadgets(gadgets);
+    }
+
+    private void importBatch(List<CreateGadgetDTO> batch, LocalDateTime now, BulkImportResultDTO result) {
+        Set<String> existing = bulkRepository.findNameAndBrandByNameIn(
+                        batch.stream().map(CreateGadgetDTO::getName).collect(Collectors.toSet()))
+                .stream()
+                .map(nameAndBrand -> key(nameAndBrand[0], nameAndBrand[1]))
+                .collect(Collectors.toSet());
+
+        List<CreateGadgetDTO> toInsert = new ArrayList<>(batch.size());
+        for (CreateGadgetDTO gadget : batch) {
+            if (existing.contains(key(gadget.getName(), gadget.getBrand()))) {
+                result.getSkipped().add(describe(gadget));
+            } else {
+                toInsert.add(gadget);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        long[] gadgetIds = bulkRepository.insertGadgets(toInsert, now);
+        if (gadgetIds.length != toInsert.size()) {
+            // The generated ids no longer line up with the input: read back which gadgets were stored
+            long[] stored = bulkRepository.findIdsByNameAndBrand(toInsert);
+            List<CreateGadgetDTO> inserted = new ArrayList<>(gadgetIds.length);
+            List<Long> insertedIds = new ArrayList<>(gadgetIds.length);
+            for (int i = 0; i < toInsert.size(); i++) {
+                if (stored[i] != 0) {
+                    inserted.add(toInsert.get(i));
+                    insertedIds.add(stored[i]);
+                } else {
+                    result.getSkipped().add(describe(toInsert.get(i)));
+                }
+            }
+            if (inserted.isEmpty()) {
+                return;
+            }
+            toInsert = inserted;
+            gadgetIds = insertedIds.stream().mapToLong(Long::longValue).toArray();
+        }
+        long[] specificationIds = bulkRepository.insertSpecifications(gadgetIds, toInsert, now);
+        result.setSpecificationsCreated(result.getSpecificationsCreated() + specificationIds.length);
+
+        Map<BrandKey, Integer> brandCounts = new HashMap<>();
+        for (CreateGadgetDTO gadget : toInsert) {
+            brandCounts.merge(new BrandKey(gadget.getBrand(), gadget.getCategory()), 1, Integer::sum);
+        }
+        brandDirectory.gadgetsAdded(brandCounts);
+
+        int spec = 0;
+        for (int i = 0; i < toInsert.size(); i++) {
+            CreateGadgetDTO source = toInsert.get(i);
+            List<SpecificationDTO> specifications = new ArrayList<>();
+            if (source.getSpecifications() != null) {
+                for (CreateSpecificationDTO specification : source.getSpecifications()) {
+                    specifications.add(new SpecificationDTO(specificationIds[spec++],
+                            specification.getSpecName(), specification.getSpecValue(), now));
+                }
+            }
+            eventPublisher.publishEvent(GadgetChangedEvent.saved(toDTO(gadgetIds[i], source, specifications, now)));
+            result.getCreatedIds().add(gadgetIds[i]);
+        }
+    }
+
+    /**
+     * Validate every gadget and specification, rejecting the import with all problems found
+     */
+    private void validate(List<CreateGadgetDTO> gadgets) {
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < gadgets.size() && errors.size() < MAX_REPORTED_ERRORS; i++) {
+            CreateGadgetDTO gadget = gadgets.get(i);
+            if (gadget == null) {
+                errors.add("Gadget " + i + ": missing");
+                continue;
+            }
+            for (ConstraintViolation<CreateGadgetDTO> violation : validator.validate(gadget)) {
+                errors.add("Gadget " + i + ": " + violation.getMessage());
+            }
+            if (gadget.getSpecifications() != null) {
+                Set<String> specNames = new HashSet<>();
+                for (CreateSpecificationDTO specification : gadget.getSpecifications()) {
+                    for (ConstraintViolation<CreateSpecificationDTO> violation : validator.validate(specification)) {
+                        errors.add("Gadget " + i + ": " + violation.getMessage());
+                    }
+                    if (specification.getSpecName() != null
+                            && !specNames.add(specification.getSpecName().toLowerCase(Locale.ROOT))) {
+                        errors.add("Gadget " + i + ": specification '" + specification.getSpecName()
+                                + "' is given more than once");
+                    }
+                }
+            }
+        }
+        reject(errors);
+    }
+
+    private void reject(List<String> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        String message = errors.stream().limit(MAX_REPORTED_ERRORS).collect(Collectors.joining("; "));
+        if (errors.size() > MAX_REPORTED_ERRORS) {
+            message += "; ...";
+        }
+        throw new BadRequestException("Import rejected: " + message);
+    }
+
+    private CreateGadgetDTO parseRow(List<String> row, Map<String, Integer> columns) throws IOException {
+        String categoryValue = column(row, columns, "category");
+        Category category = categoryValue != null ? Category.fromValue(categoryValue) : null;
+        if (categoryValue != null && category == null) {
+            throw new IllegalArgumentException("unknown category '" + categoryValue + "'");
+        }
+        String price = column(row, columns, "price");
+
+        CreateGadgetDTO gadget = new CreateGadgetDTO(column(row, columns, "name"), column(row, columns, "brand"),
+                category, price != null ? new BigDecimal(price.trim()) : null);
+        gadget.setDescription(column(row, columns, "description"));
+        gadget.setImageUrl(column(row, columns, "imageUrl"));
+
+        String specifications = column(row, columns, "specifications");
+        if (specifications != null) {
+            Map<String, String> values = objectMapper.readValue(specifications,
+                    new TypeReference<LinkedHashMap<String, String>>() {});
+            gadget.setSpecifications(values.entrySet().stream()
+                    .map(entry -> new CreateSpecificationDTO(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toList()));
+        }
+        return gadget;
+    }
+
+    private static String column(List<String> row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= row.size() || row.get(index).isEmpty()) {
+            return null;
+        }
+        return row.get(index);
+    }
+
+    private static GadgetDTO toDTO(long id, CreateGadgetDTO source, List<SpecificationDTO> specifications,
+                                   LocalDateTime now) {
+        GadgetDTO dto = new GadgetDTO();
+        dto.setId(id);
+        dto.setName(source.getName());
+        dto.setBrand(source.getBrand());
+        dto.setCategory(source.getCategory());
+        dto.setPriceCents(Hundredths.of(source.getPrice()));
+        dto.setDescription(source.getDescription());
+        dto.setImageUrl(source.getImageUrl());
+        dto.setRatingX100(0);
+        dto.setReviewCount(0);
+        dto.setCreatedAt(now);
+        dto.setUpdatedAt(now);
+        dto.setVersion(0L);
+        dto.setSpecifications(specifications);
+        return dto;
+    }
+
+    /**
+     * Duplicate key for the checks made before inserting; the database's collation also ignores
+     * accents, which the insert catches
+     */
+    private static String key(String name, String brand) {
+        return name.toLowerCase(Locale.ROOT) + '\u0000' + brand.toLowerCase(Locale.ROOT);
+    }
+
+    private static String describe(CreateGadgetDTO gadget) {
+        return gadget.getName() + " (" + gadget.getBrand() + ")";
+    }
+}
@@ -1,24 +1,72 @@
 package com.techgo.service;
 
+import com.techgo.cache.GadgetDTOCache;
+import com.techgo.cache.RequestCoalescer;
+import com.techgo.dictionary.SpecDictionary;
 import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.CreateSpecificationDTO;
+import com.techgo.dto.CursorPage;
+import com.techgo.dto.FacetCountsDTO;
+import com.techgo.dto.FacetedPage;
+import com.techgo.dto.GadgetBatchDTO;
 import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.GadgetFields;
+import com.techgo.dto.SpecRangeFilter;
 import com.techgo.dto.SpecificationDTO;
+import com.techgo.dto.SuggestionDTO;
+import com.techgo.event.GadgetChangedEvent;
 import com.techgo.exception.BadRequestException;
 import com.techgo.exception.ResourceNotFoundException;
+import com.techgo.index.CatalogRevision;
+import com.techgo.index.CatalogSnapshot;
+import com.techgo.index.GadgetFacetIndex;
+import com.techgo.index.GadgetLeaderboards;
+import com.techgo.index.GadgetSearchIndex;
+import com.techgo.index.GadgetSimilarityIndex;
+import com.techgo.index.GadgetSuggester;
+import com.techgo.index.SearchHits;
+import com.techgo.index.SpecVocabulary;
 import com.techgo.model.Category;
 import com.techgo.model.Gadget;
 import com.techgo.model.GadgetSpecification;
+import com.techgo.model.Hundredths;
+import com.techgo.repository.GadgetBulkRepository;
+import com.techgo.repository.GadgetFilters;
 import com.techgo.repository.GadgetRepository;
 import com.techgo.repository.GadgetSpecificationRepository;
+import com.techgo.repository.projection.GadgetVersion;
+import com.techgo.repository.projection.SpecificationRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -29,51 +77,335 @@ import java.util.stream.Collectors;
 @Transactional
 public class GadgetService {
 
+    private static final String RELEVANCE_ORDER = "relevance";
+    /** Most gadgets fetched by id in one request */
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final GadgetRepository gadgetRepository;
     private final GadgetSpecificationRepository specificationRepository;
+    private final GadgetBulkRepository bulkRepository;
+    private final GadgetSearchIndex searchIndex;
+    private final GadgetLeaderboards leaderboards;
+    private final GadgetFacetIndex facetIndex;
+    private final GadgetSuggester suggester;
+    private final CatalogSnapshot catalogSnapshot;
+    private final GadgetSimilarityIndex similarityIndex;
+    private final SpecVocabulary specVocabulary;
+    private final SpecDictionary specDictionary;
+    private final GadgetDTOCache gadgetCache;
+    private final BrandDirectory brandDirectory;
+    private final CatalogRevision catalogRevision;
+    private final RequestCoalescer coalescer;
+    private final Duration coalescingTimeout;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
 
     public GadgetService(GadgetRepository gadgetRepository,
-                        GadgetSpecificationRepository specificationRepository) {
+                        GadgetSpecificationRepository specificationRepository,
+                        GadgetBulkRepository bulkRepository,
+                        GadgetSearchIndex searchIndex,
+                        GadgetLeaderboards leaderboards,
+                        GadgetFacetIndex facetIndex,
+                        GadgetSuggester suggester,
+                        CatalogSnapshot catalogSnapshot,
+                        GadgetSimilarityIndex similarityIndex,
+                        SpecVocabulary specVocabulary,
+                        SpecDictionary specDictionary,
+                        GadgetDTOCache gadgetCache,
+                        BrandDirectory brandDirectory,
+                        CatalogRevision catalogRevision,
+                        RequestCoalescer coalescer,
+                        @Value("${catalog.coalescing.timeout:5s}") Duration coalescingTimeout,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher eventPublisher) {
         this.gadgetRepository = gadgetRepository;
         this.specificationRepository = specificationRepository;
+        this.bulkRepository = bulkRepository;
+        this.searchIndex = searchIndex;
+        this.leaderboards = leaderboards;
+        this.facetIndex = facetIndex;
+        this.suggester = suggester;
+        this.catalogSnapshot = catalogSnapshot;
+        this.similarityIndex = similarityIndex;
+        this.specVocabulary = specVocabulary;
+        this.specDictionary = specDictionary;
+        this.gadgetCache = gadgetCache;
+        this.brandDirectory = brandDirectory;
+        this.catalogRevision = catalogRevision;
+        this.coalescer = coalescer;
+        this.coalescingTimeout = coalescingTimeout;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Get all gadgets with pagination and filtering
+     * Get all gadgets with pagination, filtering and sorting.
+     * Text searches are ranked by relevance unless an explicit sort is requested
+     * or specification filters are given, which only the database can evaluate.
+     * Filter-only listings are served from the columnar catalog snapshot; the database then
+     * only loads the rows of the page.
+     * Identical concurrent listings are coalesced into one query per catalog revision, so a
+     * listing requested after a change has committed never shares a page read before it.
+     * Every caller gets its own copy of the shared page.
+     * Callers wait for the shared query outside any transaction, so they hold no connection;
+     * only the query itself runs in a read-only transaction.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<GadgetDTO> getAllGadgets(String category, String brand,
                                         BigDecimal minPrice, BigDecimal maxPrice,
                                         BigDecimal minRating, String search,
-                                        int page, int size, String sortBy) {
+                                        List<SpecRangeFilter> specFilters,
+                                        int page, int size, String sortBy, GadgetFields fields) {
+        Supplier<Page<GadgetDTO>> query = () -> readOnlyTransaction.execute(status -> findGadgets(category, brand,
+                minPrice, maxPrice, minRating, search, specFilters, page, size, sortBy, fields));
+        if (!catalogRevision.isReady()) {
+            return query.get();
+        }
+        // The revision moves only once every index and cache has applied a committed change
+        String key = listingKey(category, brand, minPrice, maxPrice, minRating, search, specFilters,
+                page, size, sortBy, fields) + "@" + catalogRevision.current();
+        return copyOf(coalescer.execute(key, coalescingTimeout, query));
+    }
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Gadget> gadgets;
+    /**
+     * Key identifying a listing; requests that differ only in letter case of the category and brand,
+     * number formatting or the order of filters and fields get the same key
+     */
+    private static String listingKey(String category, String brand, BigDecimal minPrice, BigDecimal maxPrice,
+                                     BigDecimal minRating, String search, List<SpecRangeFilter> specFilters,
+                                     int page, int size, String sortBy, GadgetFields fields) {
+        StringBuilder key = new StringBuilder("gadgets")
+                .append("|c=").append(category != null ? category.trim().toLowerCase(Locale.ROOT) : "")
+                .append("|b=").append(brand != null ? brand.toLowerCase(Locale.ROOT) : "")
+                .append("|p=").append(plain(minPrice)).append("..").append(plain(maxPrice))
+                .append("|r=").append(plain(minRating))
+                .append("|q=").append(search != null ? search.trim() : "")
+                .append("|s=").append(sortBy != null ? sortBy.trim() : "")
+                .append("|f=").append(fields.token())
+                .append("|page=").append(page).append(',').append(size);
+        specFilters.stream()
+                .sorted(Comparator.comparing(SpecRangeFilter::getKey))
+                .forEach(filter -> key.append("|spec.").append(filter.getKey()).append('=')
+                        .append(plain(filter.getMin())).append("..").append(plain(filter.getMax())));
+        return key.toString();
+    }
 
-        if (search != null && !search.trim().isEmpty()) {
-            // Search with filters
-            Category cat = category != null ? Category.fromValue(category) : null;
-            gadgets = gadgetRepository.searchGadgets(search, cat, brand, minPrice, maxPrice, minRating, pageable);
-        } else if (hasFilters(category, brand, minPrice, maxPrice, minRating)) {
-            // Apply filters without search
-            Category cat = category != null ? Category.fromValue(category) : null;
-            gadgets = gadgetRepository.searchGadgets(null, cat, brand, minPrice, maxPrice, minRating, pageable);
-        } else {
-            // Get all gadgets
-            gadgets = gadgetRepository.findAll(pageable);
+    /**
+     * The category filter, or null for none; an unknown category is rejected rather than
+     * ignored, which would answer with the unfiltered catalog
+     */
+    private static Category parseCategory(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        Category parsed = Category.fromValue(category.trim());
+        if (parsed == null) {
+            throw new BadRequestException("Unknown category '" + category + "'");
+        }
+        return parsed;
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "";
+    }
+
+    private Page<GadgetDTO> findGadgets(String category, String brand,
+                                        BigDecimal minPrice, BigDecimal maxPrice,
+                                        BigDecimal minRating, String search,
+                                        List<SpecRangeFilter> specFilters,
+                                        int page, int size, String sortBy, GadgetFields fields) {
+        Category cat = parseCategory(category);
+        String name = search != null && !search.trim().isEmpty() ? search : null;
+
+        if (name != null && specFilters.isEmpty() && isRelevanceSort(sortBy) && searchIndex.isReady()) {
+            // Search with filters against the in-memory index
+            return hydrate(searchIndex.search(name, cat, brand, minPrice, maxPrice, minRating, page, size),
+                    PageRequest.of(page, size), fields);
+        }
+
+        GadgetSort sort = isRelevanceSort(sortBy) ? GadgetSort.DEFAULT : GadgetSort.parse(sortBy);
+        Pageable pageable = PageRequest.of(page, size, sort.toSort());
+
+        CatalogSnapshot.Order order = snapshotOrder(sort);
+        // While the snapshot is still folding in recent writes, SQL answers with them
+        if (name == null && specFilters.isEmpty() && order != null && catalogSnapshot.isReady()
+                && catalogSnapshot.isCurrent()) {
+            SearchHits hits = catalogSnapshot.query(cat, brand, minPrice, maxPrice, minRating,
+                    order, sort.isDescending(), page, size);
+            if (hits != null) {
+                return hydrate(hits, pageable, fields);
+            }
+        }
+
+        Page<GadgetDTO> gadgets = gadgetRepository.findSummaries(
+                filters(cat, brand, minPrice, maxPrice, minRating, name, specFilters), pageable);
+
+        return new PageImpl<>(withSpecifications(gadgets.getContent(), fields), pageable, gadgets.getTotalElements());
+    }
+
+    /**
+     * Get all gadgets like {@link #getAllGadgets}, together with facet counts for the whole result set.
+     * Facets are left out while the facet index is still being built.
+     * Like the listing, it holds a connection only while one of its queries runs.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public FacetedPage<GadgetDTO> getAllGadgetsWithFacets(String category, String brand,
+                                                         BigDecimal minPrice, BigDecimal maxPrice,
+                                                         BigDecimal minRating, String search,
+                                                         List<SpecRangeFilter> specFilters,
+                                                         int page, int size, String sortBy,
+                                                         GadgetFields fields) {
+        Page<GadgetDTO> gadgets = getAllGadgets(category, brand, minPrice, maxPrice, minRating, search,
+                specFilters, page, size, sortBy, fields);
+
+        FacetCountsDTO facets = null;
+        boolean hasText = search != null && !search.trim().isEmpty();
+        if (facetIndex.isReady() && (!hasText || searchIndex.isReady())) {
+            Category cat = parseCategory(category);
+            Set<Long> matches = null;
+            if (hasText) {
+                matches = new HashSet<>(searchIndex.matchingIds(search));
+            }
+            if (!specFilters.isEmpty()) {
+                List<Long> specMatches = readOnlyTransaction.execute(
+                        status -> gadgetRepository.findIds(GadgetFilters.specRanges(specFilters)));
+                if (matches == null) {
+                    matches = new HashSet<>(specMatches);
+                } else {
+                    matches.retainAll(new HashSet<>(specMatches));
+                }
+            }
+            facets = facetIndex.count(cat, brand, minPrice, maxPrice, minRating, matches);
+        }
+        return new FacetedPage<>(gadgets.getContent(), gadgets.getPageable(), gadgets.getTotalElements(), facets);
+    }
+
+    /**
+     * Get gadgets with filtering and sorting in cursor (keyset) mode.
+     * Seeks past the cursor instead of using an offset and never runs a count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<GadgetDTO> getGadgetsAfter(String category, String brand,
+                                                BigDecimal minPrice, BigDecimal maxPrice,
+                                                BigDecimal minRating, String search,
+                                                List<SpecRangeFilter> specFilters,
+                                                String cursor, int size, String sortBy,
+                                                GadgetFields fields) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
         }
+        Category cat = parseCategory(category);
+        String name = search != null && !search.trim().isEmpty() ? search : null;
 
-        return gadgets.map(this::convertToDTO);
+        if (name != null && specFilters.isEmpty() && isRelevanceSort(sortBy) && searchIndex.isReady()) {
+            return searchAfter(name, cat, brand, minPrice, maxPrice, minRating, cursor, size, fields);
+        }
+
+        GadgetSort sort = isRelevanceSort(sortBy) ? GadgetSort.DEFAULT : GadgetSort.parse(sortBy);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort.getCode());
+        Specification<Gadget> spec = filters(cat, brand, minPrice, maxPrice, minRating, name, specFilters);
+        if (after != null) {
+            spec = spec.and(GadgetFilters.seekAfter(sort.getAttributes(), sort.decodeKeys(after.getSortKey()),
+                    after.getId(), sort.isDescending()));
+        }
+        List<GadgetDTO> gadgets = gadgetRepository.findSummaries(spec, sort.toSort(), size + 1);
+
+        String next = null;
+        if (gadgets.size() > size) {
+            gadgets = gadgets.subList(0, size);
+            GadgetDTO last = gadgets.get(size - 1);
+            next = new KeysetCursor(sort.getCode(), sort.encodeKeys(last), last.getId()).encode();
+        }
+        return new CursorPage<>(withSpecifications(gadgets, fields), size, next);
     }
 
     /**
-     * Get gadget by ID
+     * Get gadget by ID, served from the DTO cache when possible
      */
     @Transactional(readOnly = true)
     public GadgetDTO getGadgetById(Long id) {
-        Gadget gadget = gadgetRepository.findById(id)
+        return getGadgetById(id, GadgetFields.ALL);
+    }
+
+    /**
+     * Get gadget by ID; specifications are only loaded when the fieldset includes them.
+     * Partial DTOs are never cached; cached ones are copied so callers cannot change the shared entry.
+     */
+    @Transactional(readOnly = true)
+    public GadgetDTO getGadgetById(Long id, GadgetFields fields) {
+        if (fields.includesSpecifications()) {
+            return copyOf(gadgetCache.get(id, () -> convertToDTO(findGadget(id))));
+        }
+        GadgetDTO cached = gadgetCache.getIfPresent(id);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        return toDTO(findGadget(id), null);
+    }
+
+    /**
+     * Get many gadgets by id in one round trip: gadgets not in the DTO cache are loaded with one
+     * query and their specifications with another. Gadgets are returned in the order of the ids,
+     * duplicates once; ids that do not exist are reported as missing instead of failing the batch.
+     */
+    @Transactional(readOnly = true)
+    public GadgetBatchDTO getGadgetsByIds(List<Long> ids, GadgetFields fields) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.contains(null)) {
+            throw new BadRequestException("Gadget ids must not be null");
+        }
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " gadget ids can be requested at once");
+        }
+        Map<Long, GadgetDTO> found = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : requested) {
+            GadgetDTO cached = gadgetCache.getIfPresent(id);
+            if (cached != null) {
+                found.put(id, copyOf(cached));
+            } else {
+                toLoad.add(id);
+            }
+        }
+        if (!toLoad.isEmpty()) {
+            for (GadgetDTO gadget : convertToDTOs(gadgetRepository.findAllById(toLoad), fields)) {
+                found.put(gadget.getId(), gadget);
+            }
+        }
+
+        GadgetBatchDTO batch = new GadgetBatchDTO();
+        for (Long id : requested) {
+            GadgetDTO gadget = found.get(id);
+            if (gadget != null) {
+                batch.getGadgets().add(gadget);
+            } else {
+                batch.getMissing().add(id);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Get the version and modification time of a gadget, used to answer conditional requests
+     * without loading or serializing it
+     */
+    @Transactional(readOnly = true)
+    public GadgetVersion getGadgetVersion(Long id) {
+        GadgetDTO cached = gadgetCache.peek(id);
+        if (cached != null) {
+            return new GadgetVersion(cached.getId(), cached.getVersion(), cached.getUpdatedAt());
+        }
+        return gadgetRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Gadget", "id", id));
-        return convertToDTO(gadget);
+    }
+
+    /**
+     * Get the catalog-wide revision used to validate listings, or null until it is known
+     */
+    @Transactional(readOnly = true)
+    public String getCatalogRevision() {
+        return catalogRevision.isReady() ? catalogRevision.current() : null;
     }
 
     /**
@@ -96,8 +428,16 @@ public class GadgetService {
         gadget.setDescription(createGadgetDTO.getDescription());
         gadget.setImageUrl(createGadgetDTO.getImageUrl());
 
+        if (createGadgetDTO.getSpecifications() != null) {
+            encodeSpecifications(createGadgetDTO.getSpecifications().stream().map(CreateSpecificationDTO::getSpecName)
+                            .collect(Collectors.toList()),
+                    createGadgetDTO.getSpecifications().stream().map(CreateSpecificationDTO::getSpecValue)
+                            .collect(Collectors.toList()));
+        }
+
         // Save gadget first
         gadget = gadgetRepository.save(gadget);
+        brandDirectory.gadgetAdded(gadget.getBrand(), gadget.getCategory());
 
         // Add specifications if provided
         if (createGadgetDTO.getSpecifications() != null && !createGadgetDTO.getSpecifications().isEmpty()) {
@@ -108,7 +448,9 @@ public class GadgetService {
         }
 
         // Reload gadget with specifications
-        return convertToDTO(gadgetRepository.findById(gadget.getId()).orElse(gadget));
+        GadgetDTO created = convertToDTO(gadgetRepository.findById(gadget.getId()).orElse(gadget));
+        eventPublisher.publishEvent(GadgetChangedEvent.saved(created));
+        return created;
     }
 
     /**
@@ -126,6 +468,9 @@ public class GadgetService {
                                          "' and brand '" + updateGadgetDTO.getBrand() + "' already exists");
         }
 
+        brandDirectory.gadgetMoved(existingGadget.getBrand(), existingGadget.getCategory(),
+                updateGadgetDTO.getBrand(), updateGadgetDTO.getCategory());
+
         // Update fields
         existingGadget.setName(updateGadgetDTO.getName());
         existingGadget.setBrand(updateGadgetDTO.getBrand());
@@ -134,10 +479,12 @@ public class GadgetService {
         existingGadget.setDescription(updateGadgetDTO.getDescription());
         existingGadget.setImageUrl(updateGadgetDTO.getImageUrl());
 
-        // Save updated gadget
-        existingGadget = gadgetRepository.save(existingGadget);
+        // Save updated gadget, flushing so the DTO carries the bumped version
+        existingGadget = gadgetRepository.saveAndFlush(existingGadget);
 
-        return convertToDTO(existingGadget);
+        GadgetDTO updated = convertToDTO(existingGadget);
+        eventPublisher.publishEvent(GadgetChangedEvent.saved(updated));
+        return updated;
     }
 
     /**
@@ -147,6 +494,8 @@ public class GadgetService {
         Gadget gadget = gadgetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Gadget", "id", id));
         gadgetRepository.delete(gadget);
+        brandDirectory.gadgetRemoved(gadget.getBrand(), gadget.getCategory());
+        eventPublisher.publishEvent(GadgetChangedEvent.deleted(id));
     }
 
     /**
@@ -154,11 +503,15 @@ public class GadgetService {
      */
     @Transactional(readOnly = true)
     public Page<GadgetDTO> searchGadgets(String query, String category, String brand,
-                                        int page, int size) {
+                                        int page, int size, GadgetFields fields) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Gadget> gadgets;
 
-        Category cat = category != null ? Category.fromValue(category) : null;
+        Category cat = parseCategory(category);
+
+        if (searchIndex.isReady()) {
+            return hydrate(searchIndex.search(query, cat, brand, null, null, null, page, size), pageable, fields);
+        }
 
         if (cat != null && brand != null) {
             gadgets = gadgetRepository.findByNameContainingIgnoreCaseAndBrand(query, brand, pageable);
@@ -168,26 +521,104 @@ public class GadgetService {
             gadgets = gadgetRepository.findByNameContainingIgnoreCase(query, pageable);
         }
 
-        return gadgets.map(this::convertToDTO);
+        return convertToDTOPage(gadgets, fields);
     }
 
     /**
-     * Get featured gadgets
+     * Search gadgets by name in cursor (keyset) mode
      */
     @Transactional(readOnly = true)
-    public List<GadgetDTO> getFeaturedGadgets(String category, int limit) {
+    public CursorPage<GadgetDTO> searchGadgetsAfter(String query, String category, String brand,
+                                                   String cursor, int size, GadgetFields fields) {
+        return getGadgetsAfter(category, brand, null, null, null, query, Collections.emptyList(),
+                cursor, size, null, fields);
+    }
+
+    /**
+     * Get featured gadgets, served from the in-memory leaderboards once they are built
+     */
+    @Transactional(readOnly = true)
+    public List<GadgetDTO> getFeaturedGadgets(String category, int limit, GadgetFields fields) {
+        if (leaderboards.isReady()) {
+            return getLeaderboard(GadgetLeaderboards.Board.FEATURED, category, limit, fields);
+        }
+
         Pageable pageable = PageRequest.of(0, limit);
         List<Gadget> gadgets;
 
         if (category != null) {
-            Category cat = Category.fromValue(category);
+            Category cat = parseCategory(category);
             gadgets = gadgetRepository.findFeaturedByCategory(cat, pageable);
         } else {
             gadgets = gadgetRepository.findFeaturedGadgets(pageable);
         }
 
-        return gadgets.stream()
-                .map(this::convertToDTO)
+        return convertToDTOs(gadgets, fields);
+    }
+
+    /**
+     * Get the most reviewed gadgets
+     */
+    @Transactional(readOnly = true)
+    public List<GadgetDTO> getPopularGadgets(String category, int limit) {
+        if (leaderboards.isReady()) {
+            return getLeaderboard(GadgetLeaderboards.Board.POPULAR, category, limit, GadgetFields.ALL);
+        }
+        Specification<Gadget> spec = GadgetFilters.matching(
+                parseCategory(category), null, null, null, null, null);
+        return convertToDTOs(gadgetRepository.findAll(spec,
+                PageRequest.of(0, limit, GadgetSort.parse("reviewCount").toSort())).getContent(), GadgetFields.ALL);
+    }
+
+    /**
+     * Get the newest gadgets
+     */
+    @Transactional(readOnly = true)
+    public List<GadgetDTO> getLatestGadgets(String category, int limit) {
+        if (leaderboards.isReady()) {
+            return getLeaderboard(GadgetLeaderboards.Board.LATEST, category, limit, GadgetFields.ALL);
+        }
+        Specification<Gadget> spec = GadgetFilters.matching(
+                parseCategory(category), null, null, null, null, null);
+        return convertToDTOs(gadgetRepository.findAll(spec,
+                PageRequest.of(0, limit, GadgetSort.parse("createdAt").toSort())).getContent(), GadgetFields.ALL);
+    }
+
+    /**
+     * Get the gadgets of the same category most similar to a gadget in price, rating and numeric
+     * specifications, served from the similarity index once it is built.
+     * Until then the gadgets closest in price are returned.
+     */
+    @Transactional(readOnly = true)
+    public List<GadgetDTO> getSimilarGadgets(Long id, int limit, GadgetFields fields) {
+        if (similarityIndex.isReady()) {
+            List<Long> ids = similarityIndex.similar(id, limit);
+            if (ids == null) {
+                throw new ResourceNotFoundException("Gadget", "id", id);
+            }
+            return loadInOrder(ids, fields);
+        }
+
+        Gadget gadget = gadgetRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Gadget", "id", id));
+        List<Gadget> gadgets = gadgetRepository.findClosestInPrice(gadget.getCategory(), id, gadget.getPrice(),
+                PageRequest.of(0, Math.max(1, Math.min(limit, GadgetSimilarityIndex.MAX_RESULTS))));
+        return convertToDTOs(gadgets, fields);
+    }
+
+    /**
+     * Suggest gadgets for the search box by name, name word or brand prefix, most popular first.
+     * Served from memory without a transaction once the suggester is built.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        int max = Math.min(Math.max(limit, 1), GadgetSuggester.TOP_K);
+        if (suggester.isReady()) {
+            return suggester.suggest(query, max);
+        }
+        return gadgetRepository.findByNameOrBrandContainingIgnoreCase(query, PageRequest.of(0, max))
+                .stream()
+                .map(gadget -> new SuggestionDTO(gadget.getId(), gadget.getName(), gadget.getBrand(), gadget.getCategory()))
                 .collect(Collectors.toList());
     }
 
@@ -213,57 +644,365 @@ public class GadgetService {
         Gadget gadget = gadgetRepository.findById(gadgetId)
                 .orElseThrow(() -> new ResourceNotFoundException("Gadget", "id", gadgetId));
 
-        // Check if specification already exists
-        if (specificationRepository.findByGadgetIdAndSpecName(gadgetId, specName) != null) {
+        encodeSpecifications(List.of(specName), List.of(specValue));
+
+        // The unique (gadget_id, spec_name) constraint rejects an existing specification
+        GadgetSpecification spec;
+        try {
+            spec = specificationRepository.saveAndFlush(new GadgetSpecification(gadget, specName, specValue));
+        } catch (DataIntegrityViolationException e) {
             throw new BadRequestException("Specification '" + specName + "' already exists for this gadget");
         }
 
-        GadgetSpecification spec = new GadgetSpecification(gadget, specName, specValue);
-        spec = specificationRepository.save(spec);
+        // A specification change is a change to the gadget: bump its version
+        gadget.touch();
+        gadget = gadgetRepository.saveAndFlush(gadget);
 
+        eventPublisher.publishEvent(GadgetChangedEvent.saved(convertToDTO(gadget)));
         return convertToSpecificationDTO(spec);
     }
 
     /**
-     * Get distinct brands by category
+     * Replace all specifications of a gadget with the given name to value map.
+     * Only the difference is written: new and changed specifications in one batched upsert,
+     * removed ones in one delete. The gadget version is bumped only if something changed.
      */
-    @Transactional(readOnly = true)
+    public List<SpecificationDTO> replaceSpecifications(Long gadgetId, Map<String, String> specifications) {
+        if (specifications == null) {
+            throw new BadRequestException("Specifications are required");
+        }
+        // Keyed by lower-cased name, as the dictionary stores one spelling per case-insensitive name
+        Map<String, SpecificationDTO> wanted = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : specifications.entrySet()) {
+            String name = entry.getKey() != null ? entry.getKey().trim() : "";
+            if (name.isEmpty() || name.length() > 100) {
+                throw new BadRequestException("Specification names must be 1 to 100 characters");
+            }
+            if (entry.getValue() == null || entry.getValue().isBlank()) {
+                throw new BadRequestException("Specification '" + name + "' has no value");
+            }
+            if (wanted.put(name.toLowerCase(Locale.ROOT), new SpecificationDTO(name, entry.getValue())) != null) {
+                throw new BadRequestException("Specification '" + name + "' is given more than once");
+            }
+        }
+
+        Gadget gadget = gadgetRepository.findById(gadgetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Gadget", "id", gadgetId));
+
+        List<SpecificationRow> rows = specificationRepository.findRowsByGadgetIdIn(List.of(gadgetId));
+        Map<String, SpecificationRow> current = new HashMap<>();
+        for (SpecificationRow row : rows) {
+            current.put(row.getSpecName().toLowerCase(Locale.ROOT), row);
+        }
+
+        Map<String, String> upserts = new LinkedHashMap<>();
+        for (Map.Entry<String, SpecificationDTO> entry : wanted.entrySet()) {
+            SpecificationDTO spec = entry.getValue();
+            SpecificationRow existing = current.get(entry.getKey());
+            if (existing == null || !existing.getSpecValue().equals(spec.getSpecValue())) {
+                upserts.put(spec.getSpecName(), spec.getSpecValue());
+            }
+        }
+        List<String> removed = current.entrySet().stream()
+                .filter(entry -> !wanted.containsKey(entry.getKey()))
+                .map(entry -> entry.getValue().getSpecName())
+                .collect(Collectors.toList());
+
+        if (upserts.isEmpty() && removed.isEmpty()) {
+            return rows.stream()
+                    .map(row -> new SpecificationDTO(row.getId(), row.getSpecName(), row.getSpecValue(), row.getCreatedAt()))
+                    .collect(Collectors.toList());
+        }
+
+        bulkRepository.upsertSpecifications(gadgetId, upserts, LocalDateTime.now());
+        bulkRepository.deleteSpecifications(gadgetId, removed);
+
+        gadget.touch();
+        gadget = gadgetRepository.saveAndFlush(gadget);
+
+        GadgetDTO updated = convertToDTO(gadget);
+        eventPublisher.publishEvent(GadgetChangedEvent.saved(updated));
+        return updated.getSpecifications();
+    }
+
+    /**
+     * Get brands with gadgets in a category, or in any category if none is given
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<String> getBrandsByCategory(String category) {
-        if (category != null) {
-            return gadgetRepository.findDistinctBrandsByCategory(category);
+        Category cat = parseCategory(category);
+        if (category != null && cat == null) {
+            return Collections.emptyList();
+        }
+        return brandDirectory.brands(cat);
+    }
+
+    /**
+     * Get distinct specification names used in a category, or in any category if none is given
+     */
+    @Transactional(readOnly = true)
+    public List<String> getSpecificationNames(String category) {
+        Category cat = parseCategory(category);
+        if (category != null && cat == null) {
+            return Collections.emptyList();
+        }
+        if (specVocabulary.isReady()) {
+            return specVocabulary.names(cat);
         }
-        return gadgetRepository.findAllDistinctBrands();
+        if (cat != null) {
+            return specificationRepository.findDistinctSpecNamesByCategory(cat.getValue());
+        }
+        return specificationRepository.findAllDistinctSpecNames();
+    }
+
+    /**
+     * Get distinct values of a specification name
+     */
+    @Transactional(readOnly = true)
+    public List<String> getSpecificationValues(String specName) {
+        if (specName == null || specName.isBlank()) {
+            throw new BadRequestException("Specification name is required");
+        }
+        if (specVocabulary.isReady()) {
+            return specVocabulary.values(specName.trim());
+        }
+        Integer specKeyId = specDictionary.findNameCode(specName.trim());
+        return specKeyId != null
+                ? specificationRepository.findDistinctSpecValuesByKeyId(specKeyId)
+                : Collections.emptyList();
+    }
+
+    /**
+     * Get the next gadgets of the whole catalog after the given id, in id order, always read from
+     * the database. Used to rebuild in-memory catalog indexes.
+     */
+    @Transactional(readOnly = true)
+    public List<GadgetDTO> getCatalogAfter(long afterId, int size) {
+        return convertToDTOs(gadgetRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size)),
+                GadgetFields.ALL);
     }
 
     // Helper methods
-    private boolean hasFilters(String category, String brand, BigDecimal minPrice, BigDecimal maxPrice, BigDecimal minRating) {
-        return category != null || brand != null || minPrice != null || maxPrice != null || minRating != null;
+    private Specification<Gadget> filters(Category category, String brand,
+                                          BigDecimal minPrice, BigDecimal maxPrice, BigDecimal minRating,
+                                          String name, List<SpecRangeFilter> specFilters) {
+        Specification<Gadget> spec = GadgetFilters.matching(category, brand, minPrice, maxPrice, minRating, name);
+        return specFilters.isEmpty() ? spec : spec.and(GadgetFilters.specRanges(specFilters));
+    }
+
+    /**
+     * The snapshot order matching a listing sort, or null for orders only the database can apply
+     */
+    private CatalogSnapshot.Order snapshotOrder(GadgetSort sort) {
+        switch (sort.getField()) {
+            case ID: return CatalogSnapshot.Order.ID;
+            case PRICE: return CatalogSnapshot.Order.PRICE;
+            case RATING: return CatalogSnapshot.Order.RATING;
+            case REVIEW_COUNT: return CatalogSnapshot.Order.REVIEW_COUNT;
+            case CREATED_AT: return CatalogSnapshot.Order.CREATED_AT;
+            default: return null;
+        }
+    }
+
+    private boolean isRelevanceSort(String sortBy) {
+        return sortBy == null || sortBy.isBlank() || RELEVANCE_ORDER.equalsIgnoreCase(sortBy.trim());
+    }
+
+    private Gadget findGadget(Long id) {
+        return gadgetRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Gadget", "id", id));
     }
 
     private GadgetDTO convertToDTO(Gadget gadget) {
+        return convertToDTO(gadget, specificationRepository.findByGadgetId(gadget.getId()));
+    }
+
+    /**
+     * Answer a cursor-mode text search from the search index, seeking past the last relevance score and id
+     */
+    private CursorPage<GadgetDTO> searchAfter(String query, Category category, String brand,
+                                              BigDecimal minPrice, BigDecimal maxPrice, BigDecimal minRating,
+                                              String cursor, int size, GadgetFields fields) {
+        KeysetCursor after = KeysetCursor.decode(cursor, RELEVANCE_ORDER);
+        SearchHits hits = searchIndex.searchAfter(query, category, brand, minPrice, maxPrice, minRating,
+                after != null ? after.getFloatSortKey() : null,
+                after != null ? after.getId() : null,
+                size);
+
+        List<Long> ids = hits.getGadgetIds();
+        String next = null;
+        if (hits.hasMore() && !ids.isEmpty()) {
+            next = new KeysetCursor(RELEVANCE_ORDER, String.valueOf(hits.getLastScore()), ids.get(ids.size() - 1)).encode();
+        }
+        return new CursorPage<>(hydrate(hits, PageRequest.of(0, size), fields).getContent(), size, next);
+    }
+
+    /**
+     * Serve a leaderboard; an unknown category matches nothing, as in the repository queries
+     */
+    private List<GadgetDTO> getLeaderboard(GadgetLeaderboards.Board board, String category, int limit,
+                                           GadgetFields fields) {
+        Category cat = parseCategory(category);
+        if (category != null && cat == null) {
+            return Collections.emptyList();
+        }
+        return loadInOrder(leaderboards.top(board, cat, limit), fields);
+    }
+
+    /**
+     * Load the gadgets for a page of index hits, preserving rank order
+     */
+    private Page<GadgetDTO> hydrate(SearchHits hits, Pageable pageable, GadgetFields fields) {
+        return new PageImpl<>(loadInOrder(hits.getGadgetIds(), fields), pageable, hits.getTotal());
+    }
+
+    /**
+     * A page of its own for a caller sharing a coalesced result, so changes made by one caller
+     * cannot leak into the page returned to another
+     */
+    private static Page<GadgetDTO> copyOf(Page<GadgetDTO> page) {
+        List<GadgetDTO> gadgets = new ArrayList<>(page.getNumberOfElements());
+        for (GadgetDTO gadget : page.getContent()) {
+            gadgets.add(copyOf(gadget));
+        }
+        return new PageImpl<>(Collections.unmodifiableList(gadgets), page.getPageable(), page.getTotalElements());
+    }
+
+    private static GadgetDTO copyOf(GadgetDTO gadget) {
+        GadgetDTO copy = new GadgetDTO();
+        copy.setId(gadget.getId());
+        copy.setName(gadget.getName());
+        copy.setBrand(gadget.getBrand());
+        copy.setCategory(gadget.getCategory());
+        copy.setPriceCents(gadget.getPriceCents());
+        copy.setDescription(gadget.getDescription());
+        copy.setImageUrl(gadget.getImageUrl());
+        copy.setRatingX100(gadget.getRatingX100());
+        copy.setRated(gadget.isRated());
+        copy.setReviewCount(gadget.getReviewCount());
+        copy.setCreatedAt(gadget.getCreatedAt());
+        copy.setUpdatedAt(gadget.getUpdatedAt());
+        copy.setVersion(gadget.getVersion());
+        if (gadget.getSpecifications() != null) {
+            List<SpecificationDTO> specifications = new ArrayList<>(gadget.getSpecifications().size());
+            for (SpecificationDTO specification : gadget.getSpecifications()) {
+                specifications.add(new SpecificationDTO(specification.getId(), specification.getSpecName(),
+                        specification.getSpecValue(), specification.getCreatedAt()));
+            }
+            copy.setSpecifications(Collections.unmodifiableList(specifications));
+        }
+        return copy;
+    }
+
+    /**
+     * Load listing projections by id with their specifications, in the order of the given ids
+     */
+    private List<GadgetDTO> loadInOrder(List<Long> ids, GadgetFields fields) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        List<GadgetDTO> gadgets = new ArrayList<>(gadgetRepository.findSummariesByIdIn(ids));
+        gadgets.sort(Comparator.comparingInt(gadget -> positions.get(gadget.getId())));
+        return withSpecifications(gadgets, fields);
+    }
+
+    /**
+     * Attach specifications to listing projections, loading them for all gadgets in one query.
+     * The query is skipped when the fieldset leaves specifications out.
+     */
+    private List<GadgetDTO> withSpecifications(List<GadgetDTO> gadgets, GadgetFields fields) {
+        if (gadgets.isEmpty() || !fields.includesSpecifications()) {
+            return gadgets;
+        }
+        Map<Long, List<SpecificationDTO>> specsByGadget = loadSpecifications(
+                gadgets.stream().map(GadgetDTO::getId).collect(Collectors.toList()));
+        for (GadgetDTO gadget : gadgets) {
+            gadget.setSpecifications(specsByGadget.getOrDefault(gadget.getId(), new ArrayList<>()));
+        }
+        return gadgets;
+    }
+
+    /**
+     * Load read-only specification rows for a batch of gadgets, grouped by gadget id
+     */
+    private Map<Long, List<SpecificationDTO>> loadSpecifications(List<Long> gadgetIds) {
+        return specificationRepository.findRowsByGadgetIdIn(gadgetIds)
+                .stream()
+                .collect(Collectors.groupingBy(SpecificationRow::getGadgetId,
+                        Collectors.mapping(row -> new SpecificationDTO(
+                                row.getId(), row.getSpecName(), row.getSpecValue(), row.getCreatedAt()),
+                                Collectors.toList())));
+    }
+
+    /**
+     * Convert a page of gadgets, loading specifications for the whole page in one query
+     */
+    private Page<GadgetDTO> convertToDTOPage(Page<Gadget> gadgets, GadgetFields fields) {
+        return new PageImpl<>(convertToDTOs(gadgets.getContent(), fields), gadgets.getPageable(), gadgets.getTotalElements());
+    }
+
+    /**
+     * Convert a list of gadgets, loading specifications for all of them in one query
+     */
+    private List<GadgetDTO> convertToDTOs(List<Gadget> gadgets, GadgetFields fields) {
+        if (gadgets.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!fields.includesSpecifications()) {
+            return gadgets.stream()
+                    .map(gadget -> toDTO(gadget, null))
+                    .collect(Collectors.toList());
+        }
+
+        Map<Long, List<SpecificationDTO>> specsByGadget = loadSpecifications(gadgets.stream()
+                .map(Gadget::getId)
+                .collect(Collectors.toList()));
+
+        return gadgets.stream()
+                .map(gadget -> toDTO(gadget, specsByGadget.getOrDefault(gadget.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    private GadgetDTO convertToDTO(Gadget gadget, List<GadgetSpecification> specifications) {
+        return toDTO(gadget, specifications.stream()
+                .map(this::convertToSpecificationDTO)
+                .collect(Collectors.toList()));
+    }
+
+    private GadgetDTO toDTO(Gadget gadget, List<SpecificationDTO> specifications) {
         GadgetDTO dto = new GadgetDTO();
         dto.setId(gadget.getId());
         dto.setName(gadget.getName());
         dto.setBrand(gadget.getBrand());
         dto.setCategory(gadget.getCategory());
-        dto.setPrice(gadget.getPrice());
+        dto.setPriceCents(Hundredths.of(gadget.getPrice()));
         dto.setDescription(gadget.getDescription());
         dto.setImageUrl(gadget.getImageUrl());
-        dto.setRating(gadget.getRating());
+        dto.setRatingX100((int) Hundredths.of(gadget.getRating()));
+        dto.setRated(gadget.getRating() != null);
         dto.setReviewCount(gadget.getReviewCount());
         dto.setCreatedAt(gadget.getCreatedAt());
         dto.setUpdatedAt(gadget.getUpdatedAt());
+        dto.setVersion(gadget.getVersion());
 
-        // Load specifications
-        List<SpecificationDTO> specs = specificationRepository.findByGadgetId(gadget.getId())
-                .stream()
-                .map(this::convertToSpecificationDTO)
-                .collect(Collectors.toList());
-        dto.setSpecifications(specs);
+        dto.setSpecifications(specifications);
 
         return dto;
     }
 
+    /**
+     * Add new specification names and values to the dictionary on this transaction's connection
+     * before anything is flushed, so the entity converters find every code in memory
+     */
+    private void encodeSpecifications(Collection<String> names, Collection<String> values) {
+        specDictionary.encodeNames(names);
+        specDictionary.encodeValues(values);
+    }
+
     private SpecificationDTO convertToSpecificationDTO(GadgetSpecification spec) {
         return new SpecificationDTO(
             spec.getId(),
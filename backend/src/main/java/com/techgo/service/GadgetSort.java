@@ -0,0 +1,181 @@
+package com.techgo.service;
+
+import com.techgo.exception.BadRequestException;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Hundredths;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Supported sort orders for gadget listings, parsed from the sortBy request parameter
+ * ("price", "price,desc", ...). Every order ends with id in the same direction so it is
+ * total, can be used for keyset pagination, and is served by a composite index
+ * whose columns match the sort keys (see db/migration).
+ */
+public final class GadgetSort {
+
+    /**
+     * Sort keys that can precede the id tiebreaker
+     */
+    enum Key {
+        PRICE("price", gadget -> Hundredths.toDecimal(gadget.getPriceCents()), BigDecimal::new),
+        RATING("rating", gadget -> gadget.isRated() ? Hundredths.toDecimal(gadget.getRatingX100()) : null,
+                BigDecimal::new),
+        REVIEW_COUNT("reviewCount", GadgetDTO::getReviewCount, Integer::valueOf),
+        CREATED_AT("createdAt", GadgetDTO::getCreatedAt, LocalDateTime::parse),
+        NAME("name", GadgetDTO::getName, Function.identity());
+
+        private final String attribute;
+        private final Function<GadgetDTO, ?> extractor;
+        private final Function<String, ? extends Comparable<?>> parser;
+
+        Key(String attribute, Function<GadgetDTO, ?> extractor, Function<String, ? extends Comparable<?>> parser) {
+            this.attribute = attribute;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+    }
+
+    /**
+     * Fields accepted in sortBy, with their default direction and index-backed key columns
+     */
+    public enum Field {
+        ID("id", Sort.Direction.ASC),
+        PRICE("price", Sort.Direction.ASC, Key.PRICE),
+        RATING("rating", Sort.Direction.DESC, Key.RATING, Key.REVIEW_COUNT),
+        REVIEW_COUNT("reviewCount", Sort.Direction.DESC, Key.REVIEW_COUNT, Key.RATING),
+        CREATED_AT("createdAt", Sort.Direction.DESC, Key.CREATED_AT),
+        NAME("name", Sort.Direction.ASC, Key.NAME);
+
+        private final String value;
+        private final Sort.Direction defaultDirection;
+        private final Key[] keys;
+
+        Field(String value, Sort.Direction defaultDirection, Key... keys) {
+            this.value = value;
+            this.defaultDirection = defaultDirection;
+            this.keys = keys;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        static Field fromValue(String value) {
+            for (Field field : values()) {
+                if (field.value.equalsIgnoreCase(value)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final GadgetSort DEFAULT = new GadgetSort(Field.ID, Sort.Direction.ASC);
+
+    /**
+     * Encoded form of a null sort key; no key column holds an empty value, as names are never blank
+     */
+    private static final String NULL_KEY = "";
+
+    private final Field field;
+    private final Sort.Direction direction;
+
+    private GadgetSort(Field field, Sort.Direction direction) {
+        this.field = field;
+        this.direction = direction;
+    }
+
+    /**
+     * Parse a sortBy parameter such as "price" or "rating,asc".
+     * Null or blank selects the default id order.
+     */
+    public static GadgetSort parse(String sortBy) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return DEFAULT;
+        }
+        String[] parts = sortBy.trim().split(",", 2);
+        Field field = Field.fromValue(parts[0].trim());
+        if (field == null) {
+            throw new BadRequestException("Unsupported sort field '" + parts[0].trim() + "'");
+        }
+        if (parts.length == 1) {
+            return new GadgetSort(field, field.defaultDirection);
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                .orElseThrow(() -> new BadRequestException("Unsupported sort direction '" + parts[1].trim() + "'"));
+        return new GadgetSort(field, direction);
+    }
+
+    /**
+     * Stable code identifying this order, recorded in keyset cursors
+     */
+    public String getCode() {
+        return field.value + "," + direction.name().toLowerCase(Locale.ROOT);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return direction.isDescending();
+    }
+
+    public Sort toSort() {
+        List<String> properties = getAttributes();
+        properties.add("id");
+        return Sort.by(direction, properties.toArray(new String[0]));
+    }
+
+    /**
+     * Entity attributes of the sort keys preceding the id tiebreaker
+     */
+    public List<String> getAttributes() {
+        List<String> attributes = new ArrayList<>();
+        for (Key key : field.keys) {
+            attributes.add(key.attribute);
+        }
+        return attributes;
+    }
+
+    /**
+     * Encode the sort key values of a gadget for a keyset cursor, null rating and review count included
+     */
+    public String encodeKeys(GadgetDTO gadget) {
+        List<String> values = new ArrayList<>();
+        for (Key key : field.keys) {
+            Object value = key.extractor.apply(gadget);
+            values.add(value != null ? value.toString() : NULL_KEY);
+        }
+        return String.join("|", values);
+    }
+
+    /**
+     * Decode sort key values previously produced by {@link #encodeKeys(GadgetDTO)}; null keys decode to null
+     */
+    public List<Comparable<?>> decodeKeys(String encoded) {
+        List<Comparable<?>> values = new ArrayList<>();
+        if (field.keys.length == 0) {
+            return values;
+        }
+        String[] parts = encoded.split("\\|", field.keys.length);
+        if (parts.length != field.keys.length) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                values.add(NULL_KEY.equals(parts[i]) ? null : field.keys[i].parser.apply(parts[i]));
+            }
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,70 @@
+package com.techgo.service;
+
+import com.techgo.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor: the sort order it was issued for,
+ * plus the sort key and id of the last row on the previous page.
+ */
+public final class KeysetCursor {
+
+    private final String order;
+    private final String sortKey;
+    private final long id;
+
+    public KeysetCursor(String order, String sortKey, long id) {
+        this.order = order;
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Decode a cursor token issued for the given sort order.
+     * Returns null for a null or empty token, which starts from the first row.
+     */
+    public static KeysetCursor decode(String token, String expectedOrder) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 3);
+            KeysetCursor cursor = new KeysetCursor(parts[0], parts[2], Long.parseLong(parts[1]));
+            if (!cursor.order.equals(expectedOrder)) {
+                throw new BadRequestException("Cursor was issued for a different sort order");
+            }
+            return cursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+
+    public String encode() {
+        String raw = order + "|" + id + "|" + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Getters
+    public String getOrder() {
+        return order;
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public float getFloatSortKey() {
+        try {
+            return Float.parseFloat(sortKey);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.techgo.service;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.index.CatalogIndex;
+import com.techgo.repository.PriceHistoryRepository;
+import com.techgo.repository.projection.PriceHistoryBlock;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Records every committed price change into the price history.
+ * Receives gadget changes as a {@link CatalogIndex} and appends on a single background thread,
+ * so gadget writes never wait for it. The latest block of each gadget is tracked in memory;
+ * rebuilding at startup records prices changed while the application was down.
+ */
+@Component
+public class PriceHistoryRecorder implements CatalogIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceHistoryRecorder.class);
+    private static final int MAX_BLOCK_POINTS = 256;
+    private static final int MAX_BLOCK_BYTES = 2048;
+
+    private final PriceHistoryRepository repository;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "price-history");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Latest block per gadget, only touched on the executor thread */
+    private final Map<Long, Tail> tails = new HashMap<>();
+
+    public PriceHistoryRecorder(PriceHistoryRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void clear() {
+        submit(() -> {
+            tails.clear();
+            for (PriceHistoryBlock block : repository.findLatestBlocks()) {
+                tails.put(block.getGadgetId(), new Tail(block.getBlockStart(), block.getBlockEnd(),
+                        block.getLastPriceCents(), block.getPointCount(), block.getPoints().length));
+            }
+        });
+    }
+
+    @Override
+    public void index(GadgetDTO gadget) {
+        Long gadgetId = gadget.getId();
+        long priceCents = gadget.getPriceCents();
+        LocalDateTime changedAt = (gadget.getUpdatedAt() != null ? gadget.getUpdatedAt() : LocalDateTime.now())
+                .truncatedTo(ChronoUnit.SECONDS);
+        submit(() -> record(gadgetId, priceCents, changedAt));
+    }
+
+    @Override
+    public void remove(Long gadgetId) {
+        // Stored blocks are deleted with the gadget by the foreign key
+        submit(() -> tails.remove(gadgetId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void record(Long gadgetId, long priceCents, LocalDateTime changedAt) {
+        Tail tail = tails.get(gadgetId);
+        if (tail == null) {
+            repository.insertBlock(gadgetId, changedAt, priceCents);
+            tails.put(gadgetId, new Tail(changedAt, changedAt, priceCents, 1, 0));
+            return;
+        }
+        if (tail.lastPriceCents == priceCents) {
+            return;
+        }
+        // Points within a gadget stay in time order even if clocks disagree
+        LocalDateTime at = changedAt.isAfter(tail.lastAt) ? changedAt : tail.lastAt;
+        byte[] delta = PricePoints.encode(Duration.between(tail.lastAt, at).getSeconds(),
+                priceCents - tail.lastPriceCents);
+        if (tail.pointCount < MAX_BLOCK_POINTS && tail.bytes + delta.length <= MAX_BLOCK_BYTES
+                && repository.appendPoint(gadgetId, tail.blockStart, at, priceCents, delta,
+                        MAX_BLOCK_POINTS, MAX_BLOCK_BYTES)) {
+            tails.put(gadgetId, new Tail(tail.blockStart, at, priceCents, tail.pointCount + 1,
+                    tail.bytes + delta.length));
+            return;
+        }
+        LocalDateTime blockStart = at.isAfter(tail.blockStart) ? at : tail.blockStart.plusSeconds(1);
+        repository.insertBlock(gadgetId, blockStart, priceCents);
+        tails.put(gadgetId, new Tail(blockStart, blockStart, priceCents, 1, 0));
+    }
+
+    private void submit(Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                log.error("Failed to record price history", ex);
+            }
+        });
+    }
+
+    private static final class Tail {
+        private final LocalDateTime blockStart;
+        private final LocalDateTime lastAt;
+        private final long lastPriceCents;
+        private final int pointCount;
+        private final int bytes;
+
+        private Tail(LocalDateTime blockStart, LocalDateTime lastAt, long lastPriceCents, int pointCount, int bytes) {
+            this.blockStart = blockStart;
+            this.lastAt = lastAt;
+            this.lastPriceCents = lastPriceCents;
+            this.pointCount = pointCount;
+            this.bytes = bytes;
+        }
+    }
+}
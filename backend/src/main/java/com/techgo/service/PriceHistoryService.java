@@ -0,0 +1,168 @@
+package com.techgo.service;
+
+import com.techgo.dto.PriceHistoryDTO;
+import com.techgo.dto.PricePointDTO;
+import com.techgo.exception.BadRequestException;
+import com.techgo.exception.ResourceNotFoundException;
+import com.techgo.model.Hundredths;
+import com.techgo.repository.GadgetRepository;
+import com.techgo.repository.PriceHistoryRepository;
+import com.techgo.repository.projection.PriceHistoryBlock;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves gadget price charts from the price history, downsampled on the server
+ * to min, max and last price per time bucket.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PriceHistoryService {
+
+    private static final Pattern RESOLUTION = Pattern.compile("(\\d{1,4})([mhdw])");
+    /** Resolutions picked when none is requested, finest first */
+    private static final String[] AUTO_RESOLUTIONS = {"1m", "5m", "15m", "1h", "6h", "12h", "1d", "7d", "30d"};
+    private static final int TARGET_POINTS = 300;
+    private static final int MAX_BUCKETS = 5000;
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final GadgetRepository gadgetRepository;
+
+    public PriceHistoryService(PriceHistoryRepository priceHistoryRepository, GadgetRepository gadgetRepository) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.gadgetRepository = gadgetRepository;
+    }
+
+    /**
+     * Get the price history of a gadget between from (default one year before to) and to (default now).
+     * resolution is a bucket size such as 1h, 1d or 7d; by default about 300 buckets cover the period.
+     */
+    public PriceHistoryDTO getPriceHistory(Long gadgetId, LocalDateTime from, LocalDateTime to, String resolution) {
+        if (!gadgetRepository.existsById(gadgetId)) {
+            throw new ResourceNotFoundException("Gadget", "id", gadgetId);
+        }
+        LocalDateTime end = (to != null ? to : LocalDateTime.now()).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime start = (from != null ? from : end.minusYears(1)).truncatedTo(ChronoUnit.SECONDS);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        long span = Duration.between(start, end).getSeconds();
+        String bucket = resolution != null && !resolution.isBlank()
+                ? resolution.trim().toLowerCase(Locale.ROOT) : autoResolution(span);
+        long bucketSeconds = parseResolution(bucket);
+        if (span / bucketSeconds >= MAX_BUCKETS) {
+            throw new BadRequestException("Resolution '" + bucket + "' gives more than " + MAX_BUCKETS + " points");
+        }
+
+        PriceHistoryDTO history = new PriceHistoryDTO();
+        history.setGadgetId(gadgetId);
+        history.setFrom(start);
+        history.setTo(end);
+        history.setResolution(bucket);
+
+        Downsampler downsampler = new Downsampler(start, end, bucketSeconds, history.getPoints());
+        for (PriceHistoryBlock block : priceHistoryRepository.findBlocks(gadgetId, start, end)) {
+            PricePoints.decode(block, downsampler::accept);
+        }
+        downsampler.finish();
+        return history;
+    }
+
+    private static String autoResolution(long spanSeconds) {
+        for (String resolution : AUTO_RESOLUTIONS) {
+            if (spanSeconds / parseResolution(resolution) <= TARGET_POINTS) {
+                return resolution;
+            }
+        }
+        return AUTO_RESOLUTIONS[AUTO_RESOLUTIONS.length - 1];
+    }
+
+    private static long parseResolution(String resolution) {
+        Matcher matcher = RESOLUTION.matcher(resolution);
+        if (!matcher.matches() || Long.parseLong(matcher.group(1)) == 0) {
+            throw new BadRequestException("Invalid resolution '" + resolution + "', expected e.g. 15m, 1h, 1d or 7d");
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        switch (matcher.group(2)) {
+            case "m": return amount * 60;
+            case "h": return amount * 3600;
+            case "d": return amount * 86_400;
+            default: return amount * 604_800;
+        }
+    }
+
+    /**
+     * Folds time-ordered price points into buckets aligned to the start of the period
+     */
+    private static final class Downsampler {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long bucketSeconds;
+        private final List<PricePointDTO> points;
+
+        /** Price in effect at the current position, null before the first known point */
+        private Long price;
+        private long bucket = -1;
+        private long min;
+        private long max;
+
+        private Downsampler(LocalDateTime start, LocalDateTime end, long bucketSeconds, List<PricePointDTO> points) {
+            this.start = start;
+            this.end = end;
+            this.bucketSeconds = bucketSeconds;
+            this.points = points;
+        }
+
+        void accept(LocalDateTime at, Long cents) {
+            if (at.isAfter(end)) {
+                return;
+            }
+            if (!at.isAfter(start)) {
+                price = cents;
+                return;
+            }
+            if (bucket < 0 && price != null) {
+                open(0);
+            }
+            long index = Duration.between(start, at).getSeconds() / bucketSeconds;
+            if (index != bucket) {
+                flush();
+                if (price == null) {
+                    price = cents;
+                }
+                open(index);
+            }
+            price = cents;
+            min = Math.min(min, cents);
+            max = Math.max(max, cents);
+        }
+
+        void finish() {
+            if (bucket < 0 && price != null) {
+                open(0);
+            }
+            flush();
+        }
+
+        private void open(long index) {
+            bucket = index;
+            min = price;
+            max = price;
+        }
+
+        private void flush() {
+            if (bucket >= 0) {
+                points.add(new PricePointDTO(start.plusSeconds(bucket * bucketSeconds),
+                        Hundredths.toDecimal(min), Hundredths.toDecimal(max), Hundredths.toDecimal(price)));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.techgo.service;
+
+import com.techgo.repository.projection.PriceHistoryBlock;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.function.BiConsumer;
+
+/**
+ * Delta encoding of price history points.
+ * Each point after the first of a block is two unsigned LEB128 varints: the seconds since the
+ * previous point and the zigzag-encoded change in cents. A weekly repricing by tens of dollars
+ * takes about 5 bytes.
+ */
+final class PricePoints {
+
+    private PricePoints() {}
+
+    /**
+     * Encode a point relative to the previous one
+     */
+    static byte[] encode(long secondsSincePrevious, long centsChange) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(10);
+        writeVarint(out, secondsSincePrevious);
+        writeVarint(out, (centsChange << 1) ^ (centsChange >> 63));
+        return out.toByteArray();
+    }
+
+    /**
+     * Pass every point of a block, including the first, to the consumer in time order
+     */
+    static void decode(PriceHistoryBlock block, BiConsumer<LocalDateTime, Long> consumer) {
+        LocalDateTime at = block.getBlockStart();
+        long cents = block.getFirstPriceCents();
+        consumer.accept(at, cents);
+
+        byte[] points = block.getPoints();
+        int[] position = {0};
+        while (position[0] < points.length) {
+            at = at.plusSeconds(readVarint(points, position));
+            long zigzag = readVarint(points, position);
+            cents += (zigzag >>> 1) ^ -(zigzag & 1);
+            consumer.accept(at, cents);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] bytes, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
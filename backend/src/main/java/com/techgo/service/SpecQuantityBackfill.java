@@ -0,0 +1,63 @@
+package com.techgo.service;
+
+import com.techgo.model.SpecQuantity;
+import com.techgo.repository.GadgetBulkRepository;
+import com.techgo.repository.projection.SpecificationRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Backfills the typed quantity columns of specifications written before they existed,
+ * or parsed by an older {@link SpecQuantity#PARSER_VERSION}.
+ * Runs at startup in keyset batches, each in its own transaction, so it can be interrupted
+ * and resumed; once everything is parsed it costs a single query.
+ */
+@Component
+public class SpecQuantityBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SpecQuantityBackfill.class);
+    private static final int BATCH_SIZE = 1000;
+
+    private final GadgetBulkRepository bulkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SpecQuantityBackfill(GadgetBulkRepository bulkRepository, TransactionTemplate transactionTemplate) {
+        this.bulkRepository = bulkRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Parse every specification not yet parsed by the current parser
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        long total = 0;
+        List<SpecificationRow> batch;
+        do {
+            long from = afterId;
+            batch = transactionTemplate.execute(status -> {
+                List<SpecificationRow> rows = bulkRepository.findSpecificationsToParse(from, BATCH_SIZE);
+                if (!rows.isEmpty()) {
+                    bulkRepository.updateQuantities(rows);
+                }
+                return rows;
+            });
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+                total += batch.size();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Parsed quantities of {} specifications in {} ms", total, System.currentTimeMillis() - start);
+        }
+    }
+}
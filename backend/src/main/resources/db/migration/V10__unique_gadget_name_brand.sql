@@ -0,0 +1,13 @@
+-- One gadget per name and brand, enforced by the database so concurrent creates and imports
+-- cannot both insert the same gadget. The comparison follows the columns' case-insensitive collation.
+-- Existing duplicates keep their reviews and specifications: every copy after the oldest is
+-- renamed with its id appended.
+UPDATE gadgets newer
+    JOIN gadgets older
+      ON older.name = newer.name
+     AND older.brand = newer.brand
+     AND older.id < newer.id
+   SET newer.name = CONCAT(LEFT(newer.name, 230), ' (#', newer.id, ')');
+
+ALTER TABLE gadgets
+    ADD CONSTRAINT uk_gadgets_name_brand UNIQUE (name, brand);
@@ -0,0 +1,24 @@
+-- Composite indexes backing the sort orders of gadget listings (see GadgetSort).
+-- Every listing orders by its sort keys followed by id; InnoDB appends the primary key
+-- to each secondary index, so "filter columns + sort keys" serves the ORDER BY without a filesort.
+-- Version 1 is the baseline created from database/schema.sql.
+
+ALTER TABLE gadgets
+    -- unfiltered listings
+    ADD INDEX idx_rating_review_count (rating, review_count),
+    ADD INDEX idx_review_count_rating (review_count, rating),
+    ADD INDEX idx_created_at (created_at),
+    ADD INDEX idx_name (name),
+    -- listings filtered by category
+    ADD INDEX idx_category_price (category, price),
+    ADD INDEX idx_category_rating (category, rating, review_count),
+    ADD INDEX idx_category_review_count (category, review_count, rating),
+    ADD INDEX idx_category_created_at (category, created_at),
+    ADD INDEX idx_category_name (category, name),
+    -- listings filtered by brand
+    ADD INDEX idx_brand_price (brand, price),
+    ADD INDEX idx_brand_rating (brand, rating, review_count),
+    -- single-column indexes now covered by a composite index with the same prefix
+    DROP INDEX idx_category,
+    DROP INDEX idx_brand,
+    DROP INDEX idx_rating;
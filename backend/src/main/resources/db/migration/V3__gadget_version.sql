@@ -0,0 +1,3 @@
+-- Revision counter for optimistic locking and HTTP validators (ETag).
+-- Bumped on every change to a gadget or its specifications.
+ALTER TABLE gadgets ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- One value per specification name and gadget, enforced by the database instead of a
+-- read-before-write check. Keeps the oldest row of any existing duplicates.
+DELETE newer FROM gadget_specifications newer
+    JOIN gadget_specifications older
+      ON older.gadget_id = newer.gadget_id
+     AND older.spec_name = newer.spec_name
+     AND older.id < newer.id;
+
+-- The unique index leads with gadget_id, so it also serves the foreign key and
+-- replaces idx_gadget_id.
+ALTER TABLE gadget_specifications
+    ADD CONSTRAINT uk_gadget_spec_name UNIQUE (gadget_id, spec_name),
+    DROP INDEX idx_gadget_id;
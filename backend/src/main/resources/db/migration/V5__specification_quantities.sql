@@ -0,0 +1,10 @@
+-- Typed, unit-normalized specification values parsed from spec_value at write time.
+-- filter_key combines the spec name and canonical unit (e.g. ram_gb, battery_mah) and is
+-- what /gadgets range filters such as spec.ram_gb>=8 match on.
+-- parser_version 0 marks rows the backfill job has not parsed yet.
+ALTER TABLE gadget_specifications
+    ADD COLUMN numeric_value DECIMAL(19,6) NULL,
+    ADD COLUMN unit VARCHAR(10) NULL,
+    ADD COLUMN filter_key VARCHAR(120) NULL,
+    ADD COLUMN parser_version TINYINT NOT NULL DEFAULT 0,
+    ADD INDEX idx_filter_key_value (filter_key, numeric_value, gadget_id);
@@ -0,0 +1,43 @@
+-- Dictionary-encode specification names and values: each distinct string is stored once
+-- in spec_keys / spec_values and gadget_specifications keeps integer codes.
+
+CREATE TABLE spec_keys (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    UNIQUE KEY uk_spec_keys_name (name)
+);
+
+-- TEXT cannot be uniquely indexed whole, so values are unique by their SHA-256 hash
+CREATE TABLE spec_values (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    value TEXT NOT NULL,
+    value_hash BINARY(32) NOT NULL,
+    UNIQUE KEY uk_spec_values_hash (value_hash)
+);
+
+INSERT INTO spec_keys (name)
+SELECT MIN(spec_name) FROM gadget_specifications GROUP BY spec_name;
+
+INSERT INTO spec_values (value, value_hash)
+SELECT MIN(spec_value), UNHEX(SHA2(spec_value, 256))
+FROM gadget_specifications
+GROUP BY UNHEX(SHA2(spec_value, 256));
+
+ALTER TABLE gadget_specifications
+    ADD COLUMN spec_key_id INT NULL AFTER gadget_id,
+    ADD COLUMN spec_value_id INT NULL AFTER spec_key_id;
+
+UPDATE gadget_specifications s
+    JOIN spec_keys k ON k.name = s.spec_name
+    JOIN spec_values v ON v.value_hash = UNHEX(SHA2(s.spec_value, 256))
+SET s.spec_key_id = k.id, s.spec_value_id = v.id;
+
+ALTER TABLE gadget_specifications
+    MODIFY spec_key_id INT NOT NULL,
+    MODIFY spec_value_id INT NOT NULL,
+    ADD CONSTRAINT uk_gadget_spec_key UNIQUE (gadget_id, spec_key_id),
+    DROP INDEX uk_gadget_spec_name,
+    ADD CONSTRAINT fk_gadget_specifications_key FOREIGN KEY (spec_key_id) REFERENCES spec_keys (id),
+    ADD CONSTRAINT fk_gadget_specifications_value FOREIGN KEY (spec_value_id) REFERENCES spec_values (id),
+    DROP COLUMN spec_name,
+    DROP COLUMN spec_value;
@@ -0,0 +1,17 @@
+-- Turn the reference-only brands table into a maintained directory of brands per category.
+-- gadget_count is kept current by the application in the same transaction as gadget writes;
+-- brands with no gadgets left keep their row with a count of zero.
+
+ALTER TABLE brands
+    DROP INDEX name,
+    ADD COLUMN gadget_count INT NOT NULL DEFAULT 0,
+    ADD CONSTRAINT uk_brands_category_name UNIQUE (category, name);
+
+UPDATE brands SET gadget_count = 0;
+
+-- INSERT ... SELECT takes its row alias from a derived table; VALUES() here is deprecated
+INSERT INTO brands (name, category, gadget_count)
+SELECT name, category, gadget_count
+FROM (SELECT MIN(brand) AS name, category, COUNT(*) AS gadget_count
+      FROM gadgets GROUP BY category, brand) AS new
+ON DUPLICATE KEY UPDATE gadget_count = new.gadget_count;
@@ -0,0 +1,16 @@
+-- Append-only price history. Each row is a block of consecutive price points of one gadget:
+-- the first point is stored in block_start / first_price_cents, later points in points as
+-- varint pairs (seconds since the previous point, zigzag cents change from the previous price).
+-- New points are appended to the gadget's latest block until it is full.
+
+CREATE TABLE gadget_price_history (
+    gadget_id BIGINT NOT NULL,
+    block_start DATETIME NOT NULL,
+    block_end DATETIME NOT NULL,
+    first_price_cents BIGINT NOT NULL,
+    last_price_cents BIGINT NOT NULL,
+    point_count INT NOT NULL,
+    points VARBINARY(2048) NOT NULL,
+    PRIMARY KEY (gadget_id, block_start),
+    CONSTRAINT fk_price_history_gadget FOREIGN KEY (gadget_id) REFERENCES gadgets (id) ON DELETE CASCADE
+);
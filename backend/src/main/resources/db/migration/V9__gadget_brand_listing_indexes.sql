@@ -0,0 +1,13 @@
+-- Remaining index-backed listing shapes (see V2): brand-filtered listings in every sort order,
+-- and listings filtered by both category and brand in the default id order.
+-- Shapes still sorted with a filesort, over the rows matching their filters:
+--   * category and brand filters together with an explicit sort
+--   * the default id order with only a category or only a brand filter, which instead reads
+--     the primary key in order and skips rows of other categories or brands
+--   * price or rating ranges combined with a sort on another column
+
+ALTER TABLE gadgets
+    ADD INDEX idx_brand_review_count (brand, review_count, rating),
+    ADD INDEX idx_brand_created_at (brand, created_at),
+    ADD INDEX idx_brand_name (brand, name),
+    ADD INDEX idx_category_brand (category, brand);
@@ -0,0 +1,46 @@
+package com.techgo;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+
+/**
+ * The application without its web server, on a MySQL container of its own, for benchmarks that
+ * measure real database round trips. Close it in the benchmark's tear-down.
+ */
+public final class BenchmarkApplication implements AutoCloseable {
+
+    private final MySQLContainer<?> mysql;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(MySQLContainer<?> mysql, ConfigurableApplicationContext context) {
+        this.mysql = mysql;
+        this.context = context;
+    }
+
+    public static BenchmarkApplication start(String... properties) {
+        MySQLContainer<?> mysql = MySqlIntegrationTest.newMySqlContainer();
+        mysql.start();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TechGoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "logging.level.com.techgo=WARN",
+                        "logging.level.org.springframework=WARN")
+                .properties(properties)
+                .run();
+        return new BenchmarkApplication(mysql, context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        mysql.stop();
+    }
+}
@@ -0,0 +1,26 @@
+package com.techgo;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the test sources with the gc profiler, which reports the bytes
+ * allocated per operation. Excluded from the normal build; run with
+ * mvn test -Dgroups=benchmark -DexcludedGroups= and optionally -Dbenchmark=&lt;regex&gt;
+ * to select benchmarks, e.g. -Dbenchmark=GadgetSuggesterBenchmark.
+ * Benchmarks against MySQL start a container and need Docker.
+ */
+@Tag("benchmark")
+class BenchmarkRunnerTest {
+
+    @Test
+    void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(System.getProperty("benchmark", "com\\.techgo\\..*Benchmark"))
+                .addProfiler("gc")
+                .shouldFailOnError(true)
+                .build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.techgo;
+
+import com.techgo.index.CatalogIndexMaintainer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * Base class of tests that run the application against a real MySQL 8 instance.
+ * The container is created from database/schema.sql like a local database and shared by all
+ * test classes; Flyway applies the migrations on top when the application context starts.
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MySqlIntegrationTest {
+
+    protected static final MySQLContainer<?> MYSQL = newMySqlContainer();
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected CatalogIndexMaintainer indexMaintainer;
+
+    /**
+     * A MySQL 8 container with the base schema loaded, not yet started
+     */
+    public static MySQLContainer<?> newMySqlContainer() {
+        return new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("techgo")
+                .withUrlParam("rewriteBatchedStatements", "true")
+                .withCopyFileToContainer(MountableFile.forHostPath("../database/schema.sql"),
+                        "/docker-entrypoint-initdb.d/1-schema.sql");
+    }
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        if (!MYSQL.isRunning()) {
+            MYSQL.start();
+        }
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    /**
+     * Delete all gadgets and rebuild the in-memory indexes, so a test starts from an empty catalog
+     */
+    protected void resetCatalog() {
+        jdbcTemplate.update("DELETE FROM gadgets");
+        jdbcTemplate.update("UPDATE brands SET gadget_count = 0");
+        indexMaintainer.rebuild();
+    }
+}
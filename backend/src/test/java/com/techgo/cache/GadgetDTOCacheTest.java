@@ -0,0 +1,106 @@
+package com.techgo.cache;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.event.GadgetChangedEvent;
+import com.techgo.index.CatalogIndexMaintainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Gadget changes reach the cache through the index maintainer and evict the changed gadget only
+ */
+class GadgetDTOCacheTest {
+
+    private GadgetDTOCache cache;
+    private CatalogIndexMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GadgetDTOCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        maintainer = new CatalogIndexMaintainer(List.of(cache), null);
+        for (long id = 1; id <= 3; id++) {
+            GadgetDTO gadget = gadget(id, 0L);
+            cache.get(id, () -> gadget);
+        }
+    }
+
+    @Test
+    void updateEvictsTheUpdatedGadget() {
+        GadgetDTO updated = gadget(2L, 1L);
+        updated.setName("Renamed");
+
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(updated));
+
+        assertOnlyEvicted(2L);
+    }
+
+    @Test
+    void deleteEvictsTheDeletedGadget() {
+        maintainer.onGadgetChanged(GadgetChangedEvent.deleted(2L));
+
+        assertOnlyEvicted(2L);
+    }
+
+    @Test
+    void specificationChangeEvictsTheGadget() {
+        GadgetDTO changed = gadget(2L, 1L);
+        changed.setSpecifications(List.of(new SpecificationDTO("RAM", "16 GB")));
+
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(changed));
+
+        assertOnlyEvicted(2L);
+    }
+
+    @Test
+    void ratingChangeEvictsTheGadget() {
+        GadgetDTO rated = gadget(2L, 1L);
+        rated.setRatingX100(450);
+        rated.setReviewCount(1);
+
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(rated));
+
+        assertOnlyEvicted(2L);
+    }
+
+    @Test
+    void loadOverlappingAnEvictionIsNotCached() {
+        cache.evict(2L);
+        GadgetDTO stale = gadget(2L, 0L);
+
+        GadgetDTO loaded = cache.get(2L, () -> {
+            cache.evict(2L);
+            return stale;
+        });
+
+        assertSame(stale, loaded);
+        assertNull(cache.getIfPresent(2L));
+    }
+
+    private void assertOnlyEvicted(Long evicted) {
+        assertEquals(2, cache.size());
+        assertNull(cache.getIfPresent(evicted));
+        for (long id = 1; id <= 3; id++) {
+            if (id != evicted) {
+                assertNotNull(cache.getIfPresent(id), "gadget " + id + " was evicted");
+            }
+        }
+    }
+
+    private static GadgetDTO gadget(Long id, Long version) {
+        GadgetDTO gadget = new GadgetDTO();
+        gadget.setId(id);
+        gadget.setVersion(version);
+        gadget.setName("Gadget " + id);
+        return gadget;
+    }
+}
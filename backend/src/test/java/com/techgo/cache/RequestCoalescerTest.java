@@ -0,0 +1,196 @@
+package com.techgo.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(registry);
+    }
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        Call leader = call("key", TIMEOUT, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return result;
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Call follower = call("key", TIMEOUT, () -> {
+            executions.incrementAndGet();
+            return new Object();
+        });
+        follower.awaitWaiting();
+        release.countDown();
+
+        assertSame(result, leader.result());
+        assertSame(result, follower.result());
+        assertEquals(1, executions.get());
+        assertEquals(1.0, count("shared"), 0.0);
+    }
+
+    @Test
+    void concurrentCallersShareTheException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalArgumentException failure = new IllegalArgumentException("query failed");
+
+        Call leader = call("key", TIMEOUT, () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Call follower = call("key", TIMEOUT, () -> {
+            throw new IllegalStateException("should have shared the leader's failure");
+        });
+        follower.awaitWaiting();
+        release.countDown();
+
+        assertSame(failure, leader.failure());
+        assertSame(failure, follower.failure());
+        assertEquals(1.0, count("executed"), 0.0);
+    }
+
+    @Test
+    void callerRunsItsOwnQueryAfterTheTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Call leader = call("key", TIMEOUT, () -> {
+            started.countDown();
+            await(release);
+            return "leader";
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        try {
+            assertEquals("own", coalescer.execute("key", Duration.ofMillis(50), () -> "own"));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals("leader", leader.result());
+        assertEquals(1.0, count("timeout"), 0.0);
+        assertEquals(2.0, count("executed"), 0.0);
+    }
+
+    @Test
+    void completedFlightIsNotJoined() {
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.execute("key", TIMEOUT, executions::incrementAndGet);
+        Integer second = coalescer.execute("key", TIMEOUT, executions::incrementAndGet);
+
+        assertEquals(Integer.valueOf(2), second);
+        assertEquals(0.0, count("shared"), 0.0);
+    }
+
+    @Test
+    void differentKeysDoNotShare() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Call leader = call("key", TIMEOUT, () -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        try {
+            assertEquals("second", coalescer.execute("other", TIMEOUT, () -> "second"));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals("first", leader.result());
+        assertEquals(0.0, count("shared"), 0.0);
+    }
+
+    private double count(String result) {
+        return registry.get("coalescing.calls").tag("result", result).counter().count();
+    }
+
+    private Call call(String key, Duration timeout, Supplier<Object> query) {
+        Call call = new Call(() -> coalescer.execute(key, timeout, query));
+        call.thread.start();
+        return call;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * A call to the coalescer on a thread of its own
+     */
+    private static final class Call {
+        private final AtomicReference<Object> result = new AtomicReference<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final Thread thread;
+
+        private Call(Supplier<Object> call) {
+            this.thread = new Thread(() -> {
+                try {
+                    result.set(call.get());
+                } catch (RuntimeException ex) {
+                    failure.set(ex);
+                }
+            });
+        }
+
+        /**
+         * Wait until the call is blocked on the running flight
+         */
+        void awaitWaiting() throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (thread.getState() != Thread.State.TIMED_WAITING && thread.getState() != Thread.State.WAITING) {
+                assertTrue(System.nanoTime() < deadline, "call never started waiting");
+                Thread.sleep(1);
+            }
+        }
+
+        Object result() throws InterruptedException {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return result.get();
+        }
+
+        RuntimeException failure() throws InterruptedException {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            return failure.get();
+        }
+    }
+}
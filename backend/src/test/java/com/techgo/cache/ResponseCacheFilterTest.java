@@ -0,0 +1,164 @@
+package com.techgo.cache;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.index.CatalogRevision;
+import com.techgo.model.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheFilterTest {
+
+    private ResponseCache cache;
+    private CatalogRevision revision;
+    private ResponseCacheFilter filter;
+    private final AtomicInteger computed = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ofMinutes(10),
+                new SimpleMeterRegistry());
+        cache.rebuildComplete();
+        revision = new CatalogRevision();
+        revision.rebuildComplete();
+        filter = new ResponseCacheFilter(cache, revision);
+    }
+
+    @Test
+    void repeatedRequestIsAnsweredFromTheCache() throws Exception {
+        MockHttpServletResponse first = get("category", "mobiles");
+        MockHttpServletResponse second = get("category", "mobiles");
+
+        assertEquals(1, computed.get());
+        assertEquals("HIT", second.getHeader("X-Cache"));
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+    }
+
+    @Test
+    void gadgetChangeEvictsItsCategoryOnly() throws Exception {
+        get("category", "mobiles");
+        get("category", "laptops");
+
+        cache.index(gadget(1L, Category.MOBILES));
+        get("category", "mobiles");
+        MockHttpServletResponse laptops = get("category", "laptops");
+
+        assertEquals(3, computed.get());
+        assertEquals("HIT", laptops.getHeader("X-Cache"));
+    }
+
+    @Test
+    void unknownCategoryIsEvictedByAnyChange() throws Exception {
+        get("category", "foo");
+
+        cache.index(gadget(1L, Category.LAPTOPS));
+        MockHttpServletResponse again = get("category", "foo");
+
+        assertEquals(2, computed.get());
+        assertNull(again.getHeader("X-Cache"));
+    }
+
+    @Test
+    void facetListingIsEvictedByAChangeInAnotherCategory() throws Exception {
+        get("category", "mobiles", "facets", "true");
+
+        cache.index(gadget(1L, Category.LAPTOPS));
+        get("category", "mobiles", "facets", "true");
+
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    void hitCarriesTheCurrentRevisionAndAnswersNotModified() throws Exception {
+        String stored = get("category", "mobiles").getHeader(HttpHeaders.ETAG);
+        // A change elsewhere moves the revision but leaves the entry valid
+        cache.index(gadget(1L, Category.LAPTOPS));
+        revision.index(gadget(1L, Category.LAPTOPS));
+
+        MockHttpServletResponse hit = get("category", "mobiles");
+        String current = hit.getHeader(HttpHeaders.ETAG);
+        assertEquals("HIT", hit.getHeader("X-Cache"));
+        assertNotEquals(stored, current);
+        assertEquals(etag("category", "mobiles"), current);
+
+        MockHttpServletRequest conditional = request("category", "mobiles");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, current);
+        MockHttpServletResponse notModified = execute(conditional);
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+
+        MockHttpServletRequest outdated = request("category", "mobiles");
+        outdated.addHeader(HttpHeaders.IF_NONE_MATCH, stored);
+        assertEquals(200, execute(outdated).getStatus());
+        assertEquals(1, computed.get());
+    }
+
+    @Test
+    void authenticatedRequestsAreNotCached() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("category", "mobiles");
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+            execute(request);
+        }
+
+        assertEquals(2, computed.get());
+        assertEquals(0, cache.size());
+    }
+
+    private MockHttpServletResponse get(String... parameters) throws Exception {
+        return execute(request(parameters));
+    }
+
+    private static MockHttpServletRequest request(String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/gadgets");
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.setParameter(parameters[i], parameters[i + 1]);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller());
+        return response;
+    }
+
+    /**
+     * Stands in for the controller: a JSON listing tagged with the revision's ETag
+     */
+    private FilterChain controller() {
+        return (request, response) -> {
+            int call = computed.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setContentType("application/json");
+            http.setHeader(HttpHeaders.ETAG,
+                    CatalogRevision.listingETag(revision.current(), "uri=/gadgets", request.getParameterMap()));
+            http.getOutputStream().write(("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private String etag(String... parameters) {
+        return CatalogRevision.listingETag(revision.current(), "uri=/gadgets", request(parameters).getParameterMap());
+    }
+
+    private static GadgetDTO gadget(Long id, Category category) {
+        GadgetDTO gadget = new GadgetDTO();
+        gadget.setId(id);
+        gadget.setCategory(category);
+        return gadget;
+    }
+}
@@ -0,0 +1,177 @@
+package com.techgo.config;
+
+import com.techgo.MySqlIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read/write splitting against two MySQL instances, told apart by a marker row that differs in each.
+ * The replica is a standalone instance migrated like the primary; it reports no replication
+ * status, so it counts as current.
+ */
+class ReadWriteRoutingIntegrationTest extends MySqlIntegrationTest {
+
+    private static final MySQLContainer<?> REPLICA = newMySqlContainer()
+            // SHOW REPLICA STATUS needs the REPLICATION CLIENT privilege
+            .withUsername("root");
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        if (!REPLICA.isRunning()) {
+            REPLICA.start();
+            Flyway.configure()
+                    .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                    .locations("classpath:db/migration")
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate();
+            marker(REPLICA, "replica");
+        }
+        if (!MYSQL.isRunning()) {
+            MYSQL.start();
+        }
+        marker(MYSQL, "primary");
+        registry.add("spring.datasource.replica.url", REPLICA::getJdbcUrl);
+        registry.add("spring.datasource.replica.username", REPLICA::getUsername);
+        registry.add("spring.datasource.replica.password", REPLICA::getPassword);
+        registry.add("spring.datasource.replica.read-your-writes", () -> "1s");
+        registry.add("spring.datasource.replica.health-check-interval", () -> "200ms");
+    }
+
+    @BeforeEach
+    void awaitReplica() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!routingDataSource.isReplicaHealthy()) {
+            assertTrue(System.nanoTime() < deadline, "replica never became healthy");
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() throws InterruptedException {
+        assertEquals("replica", awaitReadOnlyInstance("replica"));
+    }
+
+    @Test
+    void writesUseThePrimary() {
+        assertEquals("primary", write());
+    }
+
+    @Test
+    void readsAfterAWriteStayOnThePrimary() throws InterruptedException {
+        awaitReadOnlyInstance("replica");
+
+        write();
+
+        assertEquals("primary", readOnlyInstance());
+        // Back on the replica once the read-your-writes window has passed
+        assertEquals("replica", awaitReadOnlyInstance("replica"));
+    }
+
+    @Test
+    void readsRacingAfterCommitListenersUseThePrimary() throws InterruptedException {
+        awaitReadOnlyInstance("replica");
+        AtomicReference<String> duringAfterCommit = new AtomicReference<>();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE routing_marker SET written_at = NOW(6)");
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // A concurrent request reloading what an after-commit listener has just evicted
+                    duringAfterCommit.set(CompletableFuture.supplyAsync(() -> readOnlyInstance()).join());
+                }
+            });
+        });
+
+        assertEquals("primary", duringAfterCommit.get());
+    }
+
+    @Test
+    @DirtiesContext
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        replicaDataSource.close();
+
+        assertEquals("primary", readOnlyInstance());
+        assertEquals("primary", readOnlyInstance());
+    }
+
+    /**
+     * The instance a read-only transaction runs on
+     */
+    private String readOnlyInstance() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT instance FROM routing_marker", String.class));
+    }
+
+    /**
+     * Poll read-only transactions until one runs on the instance, as startup may have just written
+     */
+    private String awaitReadOnlyInstance(String instance) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String current = readOnlyInstance();
+        while (!instance.equals(current) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            current = readOnlyInstance();
+        }
+        return current;
+    }
+
+    /**
+     * Run a write transaction and return the instance it ran on
+     */
+    private String write() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.update("UPDATE routing_marker SET written_at = NOW(6)");
+            return jdbcTemplate.queryForObject("SELECT instance FROM routing_marker", String.class);
+        });
+    }
+
+    private static void marker(MySQLContainer<?> container, String instance) {
+        try (Connection connection = DriverManager.getConnection(
+                container.getJdbcUrl(), container.getUsername(), container.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS routing_marker "
+                    + "(instance VARCHAR(16) NOT NULL, written_at DATETIME(6) NULL)");
+            statement.execute("DELETE FROM routing_marker");
+            statement.execute("INSERT INTO routing_marker (instance) VALUES ('" + instance + "')");
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to write the marker row", ex);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.techgo.controller;
+
+import com.techgo.MySqlIntegrationTest;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.CreateSpecificationDTO;
+import com.techgo.dto.GadgetBatchDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.exception.BadRequestException;
+import com.techgo.model.Category;
+import com.techgo.service.GadgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * GET /gadgets?ids= and POST /gadgets/batch return gadgets in the order asked for and list unknown ids
+ */
+class GadgetBatchRequestTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private GadgetController controller;
+
+    @Autowired
+    private GadgetService gadgetService;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createCatalog() {
+        resetCatalog();
+        ids.clear();
+        for (int i = 0; i < 3; i++) {
+            CreateGadgetDTO gadget = new CreateGadgetDTO("Phone " + i, "Brand", Category.MOBILES,
+                    BigDecimal.valueOf(100 + i));
+            gadget.setSpecifications(List.of(new CreateSpecificationDTO("RAM", (4 + i) + " GB")));
+            ids.add(gadgetService.createGadget(gadget).getId());
+        }
+    }
+
+    @Test
+    void returnsGadgetsInTheOrderOfTheIds() {
+        // The middle one is served from the DTO cache, the others from the database
+        gadgetService.getGadgetById(ids.get(1));
+
+        GadgetBatchDTO batch = get(ids.get(2) + ", " + ids.get(0) + ",," + ids.get(1) + "," + ids.get(2));
+
+        assertEquals(List.of(ids.get(2), ids.get(0), ids.get(1)), idsOf(batch));
+        assertEquals(List.of(), batch.getMissing());
+        assertEquals(1, batch.getGadgets().get(2).getSpecifications().size());
+    }
+
+    @Test
+    void listsUnknownIdsAsMissing() {
+        long unknown = ids.get(2) + 1000;
+
+        GadgetBatchDTO batch = post(Arrays.asList(unknown, ids.get(1)));
+
+        assertEquals(List.of(ids.get(1)), idsOf(batch));
+        assertEquals(List.of(unknown), batch.getMissing());
+    }
+
+    @Test
+    void returnsCopiesOfCachedGadgets() {
+        GadgetDTO cached = gadgetService.getGadgetById(ids.get(0));
+
+        assertNotSame(cached, post(List.of(ids.get(0))).getGadgets().get(0));
+    }
+
+    @Test
+    void trimsFieldsWithoutLoadingSpecifications() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/gadgets");
+        MappingJacksonValue value = (MappingJacksonValue) controller.getGadgetsByIds(String.valueOf(ids.get(0)),
+                "id,name", new ServletWebRequest(request, new MockHttpServletResponse())).getBody();
+
+        assertNull(((GadgetBatchDTO) value.getValue()).getGadgets().get(0).getSpecifications());
+    }
+
+    @Test
+    void rejectsInvalidAndTooManyIds() {
+        assertThrows(BadRequestException.class, () -> get(ids.get(0) + ",x"));
+        assertThrows(BadRequestException.class, () -> post(Arrays.asList(ids.get(0), null)));
+
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= GadgetService.MAX_BATCH_SIZE + 1; id++) {
+            tooMany.add(id);
+        }
+        assertThrows(BadRequestException.class, () -> post(tooMany));
+        GadgetBatchDTO largest = post(tooMany.subList(0, GadgetService.MAX_BATCH_SIZE));
+        assertEquals(GadgetService.MAX_BATCH_SIZE, largest.getGadgets().size() + largest.getMissing().size());
+    }
+
+    private GadgetBatchDTO get(String ids) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/gadgets");
+        request.setParameter("ids", ids);
+        return (GadgetBatchDTO) controller.getGadgetsByIds(ids, null,
+                new ServletWebRequest(request, new MockHttpServletResponse())).getBody();
+    }
+
+    private GadgetBatchDTO post(List<Long> ids) {
+        return (GadgetBatchDTO) controller.getGadgetsByIdsBatch(ids, null).getBody();
+    }
+
+    private static List<Long> idsOf(GadgetBatchDTO batch) {
+        return batch.getGadgets().stream().map(GadgetDTO::getId).collect(Collectors.toList());
+    }
+}
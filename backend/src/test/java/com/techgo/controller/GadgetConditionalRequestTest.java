@@ -0,0 +1,132 @@
+package com.techgo.controller;
+
+import com.techgo.MySqlIntegrationTest;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import com.techgo.service.GadgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * ETags of single gadgets follow the gadget version, those of id lists the catalog revision;
+ * a matching If-None-Match is answered with 304
+ */
+class GadgetConditionalRequestTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private GadgetController controller;
+
+    @Autowired
+    private GadgetService gadgetService;
+
+    private GadgetDTO gadget;
+
+    @BeforeEach
+    void createGadget() {
+        resetCatalog();
+        gadget = gadgetService.createGadget(phone("Phone", "499.00"));
+    }
+
+    @Test
+    void matchingETagIsAnsweredNotModified() {
+        String eTag = getGadget(null, null).eTag;
+        assertNotNull(eTag);
+
+        Exchange conditional = getGadget(null, eTag);
+
+        assertEquals(304, conditional.status);
+    }
+
+    @Test
+    void updateChangesTheETag() {
+        String before = getGadget(null, null).eTag;
+
+        gadgetService.updateGadget(gadget.getId(), phone("Phone", "449.00"));
+
+        Exchange after = getGadget(null, before);
+        assertEquals(200, after.status);
+        assertNotEquals(before, after.eTag);
+        assertEquals(Long.valueOf(gadget.getVersion() + 1),
+                gadgetService.getGadgetVersion(gadget.getId()).getVersion());
+    }
+
+    @Test
+    void specificationChangeChangesTheETag() {
+        String before = getGadget(null, null).eTag;
+
+        gadgetService.replaceSpecifications(gadget.getId(), Map.of("RAM", "8 GB"));
+
+        assertEquals(200, getGadget(null, before).status);
+    }
+
+    @Test
+    void fieldsetsHaveTheirOwnETag() {
+        assertNotEquals(getGadget(null, null).eTag, getGadget("id,name", null).eTag);
+        assertEquals(getGadget("id,name", null).eTag, getGadget("name,id", null).eTag);
+    }
+
+    @Test
+    void idListETagFollowsTheCatalogRevision() {
+        String ids = String.valueOf(gadget.getId());
+        String before = getGadgets(ids, null).eTag;
+        assertEquals(304, getGadgets(ids, before).status);
+
+        gadgetService.createGadget(phone("Other phone", "199.00"));
+
+        Exchange after = getGadgets(ids, before);
+        assertEquals(200, after.status);
+        assertNotEquals(before, after.eTag);
+    }
+
+    private Exchange getGadget(String fields, String ifNoneMatch) {
+        MockHttpServletRequest request = request("/gadgets/" + gadget.getId(), ifNoneMatch);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<?> entity = controller.getGadgetById(gadget.getId(), fields,
+                new ServletWebRequest(request, response));
+        return new Exchange(entity, response);
+    }
+
+    private Exchange getGadgets(String ids, String ifNoneMatch) {
+        MockHttpServletRequest request = request("/gadgets", ifNoneMatch);
+        request.setParameter("ids", ids);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<?> entity = controller.getGadgetsByIds(ids, null, new ServletWebRequest(request, response));
+        return new Exchange(entity, response);
+    }
+
+    private static MockHttpServletRequest request(String uri, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static CreateGadgetDTO phone(String name, String price) {
+        return new CreateGadgetDTO(name, "Brand", Category.MOBILES, new BigDecimal(price));
+    }
+
+    private static final class Exchange {
+        private final int status;
+        private final String eTag;
+
+        private Exchange(ResponseEntity<?> entity, MockHttpServletResponse response) {
+            this.status = entity.getStatusCode().value();
+            this.eTag = response.getHeader(HttpHeaders.ETAG);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.techgo.dictionary;
+
+import com.techgo.MySqlIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Codebook against MySQL, whose collation decides which names are the same entry
+ */
+class CodebookTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Codebook names;
+    private String suffix;
+
+    @BeforeEach
+    void newCodebook() {
+        names = new Codebook(dataSource, "spec_keys", "name", "name",
+                name -> name.toLowerCase(Locale.ROOT), name -> name);
+        suffix = " " + System.nanoTime();
+    }
+
+    @Test
+    void nameDifferingOnlyInCaseOrAccentsGetsTheStoredCode() {
+        int code = names.encode("Resolution" + suffix);
+
+        assertEquals(code, names.encode("RESOLUTION" + suffix));
+        assertEquals(code, names.encode("Résolution" + suffix));
+        assertEquals("Resolution" + suffix, names.decode(code));
+        assertEquals(1, countCommitted("Resolution" + suffix));
+    }
+
+    @Test
+    void accentVariantsInOneBatchShareACode() {
+        names.encodeAll(List.of("Größe" + suffix, "Grosse" + suffix, "GRÖSSE" + suffix));
+
+        Integer code = names.find("Größe" + suffix);
+        assertNotNull(code);
+        assertEquals(code, names.find("Grosse" + suffix));
+        assertEquals(code, names.find("GRÖSSE" + suffix));
+    }
+
+    @Test
+    void entriesOfARolledBackTransactionAreNotKept() {
+        String name = "Rolled back" + suffix;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            int code = names.encode(name);
+            assertEquals(name, names.decode(code));
+            // Inserted on the transaction's connection, not committed on one of its own
+            assertEquals(0, countCommitted(name));
+            status.setRollbackOnly();
+        });
+
+        assertNull(names.find(name));
+        int code = names.encode(name);
+        assertEquals(name, names.decode(code));
+        assertEquals(1, countCommitted(name));
+    }
+
+    @Test
+    void entriesOfACommittedTransactionAreSharedWithOtherThreads() throws InterruptedException {
+        String name = "Committed" + suffix;
+        int code = new TransactionTemplate(transactionManager).execute(status -> names.encode(name));
+
+        AtomicInteger seen = new AtomicInteger(-1);
+        Thread reader = new Thread(() -> seen.set(names.find(name)));
+        reader.start();
+        reader.join();
+        assertEquals(code, seen.get());
+        assertEquals(1, countCommitted(name));
+    }
+
+    @Test
+    void decodesEntriesAddedByAnotherInstance() {
+        names.encode("Loaded" + suffix);
+        jdbcTemplate.update("INSERT INTO spec_keys (name) VALUES (?)", "Added elsewhere" + suffix);
+        int code = jdbcTemplate.queryForObject("SELECT id FROM spec_keys WHERE name = ?", Integer.class,
+                "Added elsewhere" + suffix);
+
+        assertEquals("Added elsewhere" + suffix, names.decode(code));
+        assertEquals(Integer.valueOf(code), names.find("added elsewhere" + suffix));
+    }
+
+    @Test
+    void unknownCodeFailsClearly() {
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> names.decode(Integer.MAX_VALUE - 1));
+        assertEquals("Unknown code " + (Integer.MAX_VALUE - 1) + " in spec_keys", error.getMessage());
+    }
+
+    /**
+     * Rows with the exact name visible to a new connection, outside any transaction of the test
+     */
+    private int countCommitted(String name) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM spec_keys WHERE name = ? COLLATE utf8mb4_bin")) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.techgo.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techgo.exception.BadRequestException;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GadgetFieldsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void serializesOnlyTheSelectedFields() throws Exception {
+        GadgetFields fields = GadgetFields.parse("id, name,price");
+
+        JsonNode json = serialize(gadget(), fields);
+
+        List<String> names = new ArrayList<>();
+        json.fieldNames().forEachRemaining(names::add);
+        assertEquals(List.of("id", "name", "price"), names);
+        assertEquals(0, new BigDecimal("12.50").compareTo(json.get("price").decimalValue()));
+    }
+
+    @Test
+    void serializesEverythingWithoutAFieldsParameter() throws Exception {
+        assertSame(GadgetFields.ALL, GadgetFields.parse(null));
+        assertSame(GadgetFields.ALL, GadgetFields.parse(" "));
+
+        JsonNode json = serialize(gadget(), GadgetFields.ALL);
+
+        assertTrue(json.has("specifications"));
+        assertTrue(json.has("formattedRating"));
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        BadRequestException error = assertThrows(BadRequestException.class, () -> GadgetFields.parse("id,secret"));
+
+        assertTrue(error.getMessage().contains("'secret'"), error.getMessage());
+    }
+
+    @Test
+    void loadsSpecificationsOnlyWhenSelected() {
+        assertFalse(GadgetFields.parse("id,name").includesSpecifications());
+        assertTrue(GadgetFields.parse("id,specifications").includesSpecifications());
+        assertTrue(GadgetFields.ALL.includesSpecifications());
+    }
+
+    @Test
+    void tokenIgnoresFieldOrder() {
+        assertEquals(GadgetFields.parse("name,id").token(), GadgetFields.parse("id,name,,id").token());
+        assertNotEquals(GadgetFields.parse("id").token(), GadgetFields.parse("id,name").token());
+        assertEquals("all", GadgetFields.ALL.token());
+    }
+
+    private JsonNode serialize(GadgetDTO gadget, GadgetFields fields) throws Exception {
+        return objectMapper.readTree(objectMapper.writer(fields.toFilterProvider()).writeValueAsString(gadget));
+    }
+
+    private static GadgetDTO gadget() {
+        GadgetDTO gadget = new GadgetDTO(7L, "Buds", "Sony", Category.EARPHONES, new BigDecimal("12.50"), null,
+                new BigDecimal("4.20"), 3, null);
+        gadget.setSpecifications(List.of(new SpecificationDTO("Battery", "30 h")));
+        return gadget;
+    }
+}
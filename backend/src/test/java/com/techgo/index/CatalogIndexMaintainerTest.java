@@ -0,0 +1,89 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.event.GadgetChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CatalogIndexMaintainerTest {
+
+    private RecordingIndex index;
+    private CatalogIndexMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecordingIndex();
+        maintainer = new CatalogIndexMaintainer(List.of(index), null);
+    }
+
+    @Test
+    void olderStateArrivingLateIsDropped() {
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(gadget(1L, 2L, "Second")));
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(gadget(1L, 1L, "First")));
+
+        assertEquals("Second", index.gadgets.get(1L).getName());
+        assertEquals(1, index.applied);
+    }
+
+    @Test
+    void sameVersionIsAppliedAgain() {
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(gadget(1L, 3L, "Before rating")));
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(gadget(1L, 3L, "After rating")));
+
+        assertEquals("After rating", index.gadgets.get(1L).getName());
+    }
+
+    @Test
+    void deletedGadgetIsNotIndexedByALateSave() {
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(gadget(1L, 0L, "Created")));
+        maintainer.onGadgetChanged(GadgetChangedEvent.deleted(1L));
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(gadget(1L, 4L, "Updated before the delete")));
+
+        assertFalse(index.gadgets.containsKey(1L));
+    }
+
+    @Test
+    void versionsAreTrackedPerGadget() {
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(gadget(1L, 5L, "One")));
+        maintainer.onGadgetChanged(GadgetChangedEvent.saved(gadget(2L, 1L, "Two")));
+
+        assertEquals("Two", index.gadgets.get(2L).getName());
+    }
+
+    private static GadgetDTO gadget(Long id, Long version, String name) {
+        GadgetDTO gadget = new GadgetDTO();
+        gadget.setId(id);
+        gadget.setVersion(version);
+        gadget.setName(name);
+        return gadget;
+    }
+
+    private static final class RecordingIndex implements CatalogIndex {
+        private final Map<Long, GadgetDTO> gadgets = new HashMap<>();
+        private int applied;
+
+        @Override
+        public void clear() {
+            gadgets.clear();
+        }
+
+        @Override
+        public void index(GadgetDTO gadget) {
+            gadgets.put(gadget.getId(), gadget);
+            applied++;
+        }
+
+        @Override
+        public void remove(Long gadgetId) {
+            gadgets.remove(gadgetId);
+            applied++;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.techgo.index;
+
+import com.techgo.BenchmarkApplication;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import com.techgo.repository.GadgetFilters;
+import com.techgo.repository.GadgetRepository;
+import com.techgo.service.GadgetSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter-only listing pages of 100k gadgets in MySQL, read by 4 threads: the snapshot's id page
+ * plus the query loading its rows, against the GadgetFilters query the listing ran before.
+ * A writer changes a gadget in the snapshot every millisecond; rebuilds run on the snapshot's
+ * background thread, so the reported p99 shows whether readers ever wait for one.
+ * rebuild measures a full rebuild alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class CatalogSnapshotBenchmark {
+
+    private static final int GADGETS = 100_000;
+    private static final BigDecimal MIN_PRICE = new BigDecimal("100");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("800");
+    private static final BigDecimal MIN_RATING = new BigDecimal("3.5");
+
+    private BenchmarkApplication application;
+    private CatalogSnapshot snapshot;
+    private GadgetRepository gadgetRepository;
+    private TransactionTemplate readOnly;
+    private PageRequest topRated;
+    private PageRequest byPrice;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        application.getBean(JdbcTemplate.class).update("""
+                INSERT INTO gadgets (name, brand, category, price, image_url, rating, review_count)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20000)
+                SELECT CONCAT('Gadget ', a.n, '-', b.k), ELT(1 + (a.n + b.k) % 12, 'Apple', 'Samsung', 'Sony',
+                           'Google', 'Bose', 'Lenovo', 'Dell', 'Asus', 'Xiaomi', 'OnePlus', 'JBL', 'Sennheiser'),
+                       ELT(b.k + 1, 'mobiles', 'laptops', 'tablets', 'earphones', 'speakers'),
+                       10 + (a.n * 7 + b.k) % 2990, CONCAT('https://img.example.com/', a.n, '.jpg'),
+                       (a.n % 501) / 100, a.n % 5000
+                FROM seq a CROSS JOIN (SELECT 0 AS k UNION ALL SELECT 1 UNION ALL SELECT 2
+                                       UNION ALL SELECT 3 UNION ALL SELECT 4) b
+                """);
+        application.getBean(CatalogIndexMaintainer.class).rebuild();
+        snapshot = application.getBean(CatalogSnapshot.class);
+        gadgetRepository = application.getBean(GadgetRepository.class);
+        readOnly = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        topRated = PageRequest.of(0, 20, GadgetSort.parse("rating").toSort());
+        byPrice = PageRequest.of(2, 20, GadgetSort.parse("price").toSort());
+
+        List<GadgetDTO> gadgets = readOnly.execute(status -> gadgetRepository.findSummaries(
+                GadgetFilters.matching(null, null, null, null, null, null), PageRequest.of(0, 1000)).getContent());
+        running = true;
+        writer = new Thread(() -> {
+            Random writes = new Random(2);
+            while (running) {
+                GadgetDTO gadget = gadgets.get(writes.nextInt(gadgets.size()));
+                gadget.setRatingX100(writes.nextInt(501));
+                gadget.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(writes.nextInt(500_000)));
+                snapshot.index(gadget);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }, "catalog-writer");
+        writer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        writer.join();
+        application.close();
+    }
+
+    @Benchmark
+    public List<GadgetDTO> topRatedInCategorySnapshot() {
+        SearchHits hits = snapshot.query(Category.LAPTOPS, null, null, null, null,
+                CatalogSnapshot.Order.RATING, true, 0, 20);
+        return readOnly.execute(status -> gadgetRepository.findSummariesByIdIn(hits.getGadgetIds()));
+    }
+
+    @Benchmark
+    public List<GadgetDTO> topRatedInCategorySql() {
+        return readOnly.execute(status -> gadgetRepository.findSummaries(
+                GadgetFilters.matching(Category.LAPTOPS, null, null, null, null, null), topRated).getContent());
+    }
+
+    @Benchmark
+    public List<GadgetDTO> brandInPriceRangeByPriceSnapshot() {
+        SearchHits hits = snapshot.query(null, "Sony", MIN_PRICE, MAX_PRICE, MIN_RATING,
+                CatalogSnapshot.Order.PRICE, false, 2, 20);
+        return readOnly.execute(status -> gadgetRepository.findSummariesByIdIn(hits.getGadgetIds()));
+    }
+
+    @Benchmark
+    public List<GadgetDTO> brandInPriceRangeByPriceSql() {
+        return readOnly.execute(status -> gadgetRepository.findSummaries(
+                GadgetFilters.matching(null, "Sony", MIN_PRICE, MAX_PRICE, MIN_RATING, null), byPrice).getContent());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void rebuild() {
+        snapshot.rebuildComplete();
+    }
+}
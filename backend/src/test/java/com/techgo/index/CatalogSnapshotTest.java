@@ -0,0 +1,201 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+    private static final int MAX_RATING_X100 = 1022;
+    private static final int MAX_REVIEW_COUNT = (1 << 29) - 2;
+
+    private CatalogSnapshot snapshot;
+
+    @AfterEach
+    void shutdown() {
+        if (snapshot != null) {
+            snapshot.shutdown();
+        }
+    }
+
+    @Test
+    void ratingOrderPacksRatingThenReviewCountThenId() {
+        build(Duration.ZERO,
+                gadget(1, 100, 450, 10),
+                gadget(2, 100, MAX_RATING_X100, 0),
+                gadget(3, 100, 450, MAX_REVIEW_COUNT),
+                gadget(4, 100, -1, -1),
+                gadget(5, 100, 450, 10),
+                gadget(6, 100, 0, -1));
+
+        assertEquals(List.of(4L, 6L, 1L, 5L, 3L, 2L), ids(CatalogSnapshot.Order.RATING, false));
+        assertEquals(List.of(2L, 3L, 5L, 1L, 6L, 4L), ids(CatalogSnapshot.Order.RATING, true));
+    }
+
+    @Test
+    void reviewCountOrderPacksReviewCountThenRatingThenId() {
+        build(Duration.ZERO,
+                gadget(1, 100, 300, MAX_REVIEW_COUNT),
+                gadget(2, 100, MAX_RATING_X100, 5),
+                gadget(3, 100, -1, 5),
+                gadget(4, 100, 200, -1),
+                gadget(5, 100, MAX_RATING_X100, 5));
+
+        assertEquals(List.of(4L, 3L, 2L, 5L, 1L), ids(CatalogSnapshot.Order.REVIEW_COUNT, false));
+    }
+
+    @Test
+    void priceOrderCoversTheFullIntRange() {
+        build(Duration.ZERO,
+                gadget(1, Integer.MAX_VALUE, 0, 0),
+                gadget(2, 0, 0, 0),
+                gadget(3, 1, 0, 0),
+                gadget(4, 0, 0, 0));
+
+        assertEquals(List.of(2L, 4L, 3L, 1L), ids(CatalogSnapshot.Order.PRICE, false));
+        assertEquals(List.of(1L, 3L, 4L, 2L), ids(CatalogSnapshot.Order.PRICE, true));
+    }
+
+    @Test
+    void createdAtOrderRanksEqualTimesTogether() {
+        GadgetDTO newest = gadget(1, 100, 0, 0);
+        newest.setCreatedAt(NOW.plusDays(1));
+        GadgetDTO unknown = gadget(2, 100, 0, 0);
+        unknown.setCreatedAt(null);
+        build(Duration.ZERO, newest, unknown, gadget(3, 100, 0, 0), gadget(4, 100, 0, 0));
+
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids(CatalogSnapshot.Order.CREATED_AT, false));
+    }
+
+    @Test
+    void valuesOutsideTheirColumnsInEitherDirectionAreNotRepresentable() {
+        assertRepresentable(true, gadget(1, 0, -1, -1));
+        assertRepresentable(true, gadget(1, Integer.MAX_VALUE, MAX_RATING_X100, MAX_REVIEW_COUNT));
+
+        assertRepresentable(false, gadget(1, -1, 0, 0));
+        assertRepresentable(false, gadget(1, Integer.MAX_VALUE + 1L, 0, 0));
+        assertRepresentable(false, gadget(1, 100, -2, 0));
+        assertRepresentable(false, gadget(1, 100, MAX_RATING_X100 + 1, 0));
+        // Would wrap into range if narrowed to a short before the check
+        assertRepresentable(false, gadget(1, 100, 65_536 + 450, 0));
+        assertRepresentable(false, gadget(1, 100, 0, -2));
+        assertRepresentable(false, gadget(1, 100, 0, MAX_REVIEW_COUNT + 1));
+    }
+
+    @Test
+    void filtersLikeTheSqlPredicates() {
+        GadgetDTO laptop = gadget(2, 99_999, 480, 3);
+        laptop.setCategory(Category.LAPTOPS);
+        laptop.setBrand("Acme");
+        build(Duration.ZERO, gadget(1, 50_000, 400, 1), laptop, gadget(3, 100_000, 490, 2));
+
+        SearchHits hits = snapshot.query(Category.LAPTOPS, "ACME", new BigDecimal("999.985"),
+                new BigDecimal("1000"), new BigDecimal("4.8"), CatalogSnapshot.Order.ID, false, 0, 10);
+        assertEquals(List.of(2L), hits.getGadgetIds());
+        assertEquals(0, snapshot.query(null, "Unknown", null, null, null,
+                CatalogSnapshot.Order.ID, false, 0, 10).getTotal());
+    }
+
+    @Test
+    void servesThePreviousSnapshotUntilTheDelayedRebuild() {
+        build(Duration.ofHours(1), gadget(1, 100, 0, 0));
+        assertTrue(snapshot.isCurrent());
+
+        snapshot.index(gadget(2, 100, 0, 0));
+        snapshot.remove(1L);
+
+        assertFalse(snapshot.isCurrent());
+        assertEquals(List.of(1L), ids(CatalogSnapshot.Order.ID, false));
+    }
+
+    @Test
+    void foldsABurstOfChangesInTheBackground() throws InterruptedException {
+        build(Duration.ofMillis(20), gadget(1, 100, 0, 0));
+
+        for (long id = 2; id <= 1000; id++) {
+            snapshot.index(gadget(id, 100, 0, 0));
+        }
+        snapshot.remove(1L);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!snapshot.isCurrent() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(snapshot.isCurrent());
+        SearchHits hits = snapshot.query(null, null, null, null, null, CatalogSnapshot.Order.ID, false, 0, 1);
+        assertEquals(999, hits.getTotal());
+        assertEquals(List.of(2L), hits.getGadgetIds());
+    }
+
+    @Test
+    void steadyWritesAreFoldedInWithinTheMaximumDelay() throws InterruptedException {
+        build(Duration.ofMillis(100), Duration.ofMillis(300), gadget(1, 100, 0, 0));
+
+        // Writes every 10 ms never pause for the rebuild delay
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        long id = 2;
+        while (total() == 1 && System.nanoTime() < deadline) {
+            snapshot.index(gadget(id++, 100, 0, 0));
+            Thread.sleep(10);
+        }
+        assertTrue(total() > 1);
+    }
+
+    private long total() {
+        return snapshot.query(null, null, null, null, null, CatalogSnapshot.Order.ID, false, 0, 1).getTotal();
+    }
+
+    private void build(Duration rebuildDelay, GadgetDTO... gadgets) {
+        build(rebuildDelay, rebuildDelay, gadgets);
+    }
+
+    private void build(Duration rebuildDelay, Duration maxRebuildDelay, GadgetDTO... gadgets) {
+        snapshot = new CatalogSnapshot(rebuildDelay, maxRebuildDelay);
+        snapshot.clear();
+        for (GadgetDTO gadget : gadgets) {
+            snapshot.index(gadget);
+        }
+        snapshot.rebuildComplete();
+    }
+
+    private void assertRepresentable(boolean expected, GadgetDTO gadget) {
+        build(Duration.ZERO, gadget);
+        SearchHits hits = snapshot.query(null, null, null, null, null, CatalogSnapshot.Order.RATING, false, 0, 10);
+        if (expected) {
+            assertNotNull(hits);
+        } else {
+            assertNull(hits);
+        }
+        snapshot.shutdown();
+    }
+
+    private List<Long> ids(CatalogSnapshot.Order order, boolean descending) {
+        return snapshot.query(null, null, null, null, null, order, descending, 0, 100).getGadgetIds();
+    }
+
+    private static GadgetDTO gadget(long id, long priceCents, int ratingX100, int reviewCount) {
+        GadgetDTO gadget = new GadgetDTO();
+        gadget.setId(id);
+        gadget.setName("Gadget " + id);
+        gadget.setBrand("Brand");
+        gadget.setCategory(Category.MOBILES);
+        gadget.setPriceCents(priceCents);
+        gadget.setRatingX100(ratingX100);
+        gadget.setReviewCount(reviewCount != -1 ? reviewCount : null);
+        gadget.setCreatedAt(NOW);
+        return gadget;
+    }
+}
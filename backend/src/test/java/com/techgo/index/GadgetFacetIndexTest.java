@@ -0,0 +1,90 @@
+package com.techgo.index;
+
+import com.techgo.dto.FacetCountsDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GadgetFacetIndexTest {
+
+    private GadgetFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GadgetFacetIndex();
+        index.index(gadget(1L, Category.MOBILES, "Apple", "999.00", "4.50"));
+        index.index(gadget(2L, Category.MOBILES, "Samsung", "799.00", "4.20"));
+        index.index(gadget(3L, Category.LAPTOPS, "Apple", "1999.00", "3.80"));
+        index.index(gadget(4L, Category.LAPTOPS, "Dell", "899.00", "2.50"));
+        index.index(gadget(5L, Category.EARPHONES, "Sony", "99.00", "4.80"));
+        index.rebuildComplete();
+    }
+
+    @Test
+    void countsTheWholeCatalogWithoutFilters() {
+        FacetCountsDTO facets = index.count(null, null, null, null, null, null);
+
+        assertEquals(Map.of("mobiles", 2, "laptops", 2, "tablets", 0, "earphones", 1, "speakers", 0),
+                facets.getCategories());
+        assertEquals(List.of("Apple", "Dell", "Samsung", "Sony"), List.copyOf(facets.getBrands().keySet()));
+        assertEquals(Integer.valueOf(2), facets.getBrands().get("Apple"));
+        assertEquals(Map.of("Under $100", 1, "$100 - $250", 0, "$250 - $500", 0, "$500 - $1000", 3,
+                "$1000 - $2000", 1, "$2000 & above", 0), facets.getPriceRanges());
+        assertEquals(Map.of("4 & up", 3, "3 & up", 4, "2 & up", 5, "1 & up", 5), facets.getRatings());
+    }
+
+    @Test
+    void countsEachFacetWithTheOtherFiltersOnly() {
+        FacetCountsDTO facets = index.count(Category.LAPTOPS, null, null, null, null, null);
+
+        // The category facet ignores its own filter, so other categories stay selectable
+        assertEquals(Integer.valueOf(2), facets.getCategories().get("mobiles"));
+        assertEquals(Map.of("Apple", 1, "Dell", 1), facets.getBrands());
+        assertEquals(Integer.valueOf(1), facets.getPriceRanges().get("$500 - $1000"));
+        assertEquals(Map.of("4 & up", 0, "3 & up", 1, "2 & up", 2, "1 & up", 2), facets.getRatings());
+    }
+
+    @Test
+    void combinesBrandAndPriceFilters() {
+        FacetCountsDTO facets = index.count(null, "apple", new BigDecimal("900"), null, null, null);
+
+        assertEquals(Integer.valueOf(1), facets.getCategories().get("mobiles"));
+        assertEquals(Integer.valueOf(1), facets.getCategories().get("laptops"));
+        assertEquals(Map.of("Apple", 2), facets.getBrands());
+        assertEquals(Integer.valueOf(1), facets.getPriceRanges().get("$500 - $1000"));
+        assertEquals(Integer.valueOf(1), facets.getPriceRanges().get("$1000 - $2000"));
+    }
+
+    @Test
+    void restrictsCountsToMatchingGadgets() {
+        FacetCountsDTO facets = index.count(null, null, null, null, null, List.of(1L, 2L, 5L));
+
+        assertEquals(Map.of("mobiles", 2, "laptops", 0, "tablets", 0, "earphones", 1, "speakers", 0),
+                facets.getCategories());
+        assertEquals(Map.of("Apple", 1, "Samsung", 1, "Sony", 1), facets.getBrands());
+    }
+
+    @Test
+    void followsRemovedAndChangedGadgets() {
+        index.remove(5L);
+        index.index(gadget(2L, Category.LAPTOPS, "Apple", "799.00", "4.20"));
+
+        FacetCountsDTO facets = index.count(null, null, null, null, null, null);
+
+        assertEquals(Integer.valueOf(0), facets.getCategories().get("earphones"));
+        assertEquals(Integer.valueOf(3), facets.getCategories().get("laptops"));
+        assertEquals(Map.of("Apple", 3, "Dell", 1), facets.getBrands());
+    }
+
+    private static GadgetDTO gadget(Long id, Category category, String brand, String price, String rating) {
+        return new GadgetDTO(id, "Gadget " + id, brand, category, new BigDecimal(price), null,
+                new BigDecimal(rating), 10, null);
+    }
+}
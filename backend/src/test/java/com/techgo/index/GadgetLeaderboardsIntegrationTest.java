@@ -0,0 +1,98 @@
+package com.techgo.index;
+
+import com.techgo.MySqlIntegrationTest;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.GadgetFields;
+import com.techgo.model.Category;
+import com.techgo.model.Gadget;
+import com.techgo.repository.GadgetRepository;
+import com.techgo.service.GadgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The in-memory leaderboards return the same gadgets in the same order as the
+ * GadgetRepository queries they replace, after a rebuild and after changes
+ */
+class GadgetLeaderboardsIntegrationTest extends MySqlIntegrationTest {
+
+    private static final int[] LIMITS = {1, 8, 50, 500};
+
+    @Autowired
+    private GadgetService gadgetService;
+
+    @Autowired
+    private GadgetRepository gadgetRepository;
+
+    @Autowired
+    private GadgetLeaderboards leaderboards;
+
+    @BeforeEach
+    void createCatalog() {
+        resetCatalog();
+        // 400 gadgets with distinct ratings, review counts and creation times, so every order is total
+        jdbcTemplate.update("""
+                INSERT INTO gadgets (name, brand, category, price, rating, review_count, created_at)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 400)
+                SELECT CONCAT('Gadget ', n), 'Acme',
+                       ELT(n % 5 + 1, 'mobiles', 'laptops', 'tablets', 'earphones', 'speakers'),
+                       100 + n, ((n * 37) % 400) / 80, (n * 53) % 401, NOW() - INTERVAL ((n * 97) % 400) HOUR
+                FROM seq
+                """);
+        indexMaintainer.rebuild();
+        assertTrue(leaderboards.isReady());
+    }
+
+    @Test
+    void matchTheSqlQueriesAfterARebuild() {
+        assertBoardsMatchSql();
+    }
+
+    @Test
+    void matchTheSqlQueriesAfterChanges() {
+        CreateGadgetDTO created = new CreateGadgetDTO("Newest Phone", "Acme", Category.MOBILES, new BigDecimal("999.00"));
+        gadgetService.createGadget(created);
+        List<Long> featured = ids(gadgetService.getFeaturedGadgets(null, 3, GadgetFields.ALL));
+        gadgetService.deleteGadget(featured.get(0));
+        GadgetDTO popular = gadgetService.getPopularGadgets(Category.LAPTOPS.getValue(), 1).get(0);
+        gadgetService.updateGadget(popular.getId(), new CreateGadgetDTO(popular.getName(), popular.getBrand(),
+                Category.TABLETS, new BigDecimal("1.00")));
+
+        assertBoardsMatchSql();
+    }
+
+    private void assertBoardsMatchSql() {
+        for (int limit : LIMITS) {
+            PageRequest first = PageRequest.of(0, limit);
+            assertEquals(entityIds(gadgetRepository.findFeaturedGadgets(first)),
+                    ids(gadgetService.getFeaturedGadgets(null, limit, GadgetFields.ALL)), "featured, top " + limit);
+            assertEquals(entityIds(gadgetRepository.findPopularGadgets(first)),
+                    ids(gadgetService.getPopularGadgets(null, limit)), "popular, top " + limit);
+            assertEquals(entityIds(gadgetRepository.findLatestGadgets(first)),
+                    ids(gadgetService.getLatestGadgets(null, limit)), "latest, top " + limit);
+            for (Category category : Category.values()) {
+                assertEquals(entityIds(gadgetRepository.findFeaturedByCategory(category, first)),
+                        ids(gadgetService.getFeaturedGadgets(category.getValue(), limit, GadgetFields.ALL)),
+                        "featured " + category.getValue() + ", top " + limit);
+            }
+        }
+    }
+
+    private static List<Long> entityIds(List<Gadget> gadgets) {
+        return gadgets.stream().map(Gadget::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<GadgetDTO> gadgets) {
+        return gadgets.stream().map(GadgetDTO::getId).collect(Collectors.toList());
+    }
+}
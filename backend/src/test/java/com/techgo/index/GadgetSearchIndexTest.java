@@ -0,0 +1,116 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GadgetSearchIndexTest {
+
+    private GadgetSearchIndex index;
+
+    @BeforeEach
+    void buildIndex() {
+        index = new GadgetSearchIndex();
+        index.clear();
+        index.index(gadget(1L, "iPhone 15 Pro", "Apple", Category.MOBILES, "699.00", "Titanium body"));
+        index.index(gadget(2L, "Galaxy S24", "Samsung", Category.MOBILES, "799.00", "Android phone with a fast chip"));
+        index.index(gadget(3L, "Galaxy Tab S9", "Samsung", Category.TABLETS, "899.00", "Tablet for drawing"));
+        index.index(gadget(4L, "Phone Stand", "Generic", Category.MOBILES, "19.00", "Desk stand"));
+        index.index(gadget(5L, "Pixel Buds", "Google", Category.EARPHONES, "199.00", "Earbuds for your phone"));
+        index.rebuildComplete();
+    }
+
+    @Test
+    void requiresEveryTerm() {
+        assertEquals(List.of(2L, 3L), index.matchingIds("galaxy samsung").stream().sorted().toList());
+        assertEquals(List.of(3L), index.matchingIds("galaxy tablet"));
+        assertTrue(index.matchingIds("galaxy apple").isEmpty());
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        SearchHits hits = index.search("phone", null, null, null, null, null, 0, 10);
+
+        assertEquals(3, hits.getTotal());
+        assertEquals(List.of(4L), hits.getGadgetIds().subList(0, 1));
+    }
+
+    @Test
+    void matchesWordPrefixesButNotTextInsideWords() {
+        assertEquals(List.of(2L, 3L), index.matchingIds("gal").stream().sorted().toList());
+        // iPhone is indexed as the single word "iphone"
+        assertFalse(index.matchingIds("phone").contains(1L));
+        assertEquals(List.of(1L), index.matchingIds("iph"));
+    }
+
+    @Test
+    void shortTermsOnlyMatchWholeWords() {
+        assertTrue(index.matchingIds("ga").isEmpty());
+        assertEquals(List.of(3L), index.matchingIds("s9"));
+    }
+
+    @Test
+    void countsEveryPrefixMatch() {
+        for (long id = 100; id < 300; id++) {
+            index.index(gadget(id, "Model" + id, "Acme", Category.SPEAKERS, "50.00", null));
+        }
+
+        SearchHits hits = index.search("model", null, null, null, null, null, 0, 10);
+
+        assertEquals(200, hits.getTotal());
+        assertEquals(10, hits.getGadgetIds().size());
+        assertTrue(hits.hasMore());
+    }
+
+    @Test
+    void appliesFilters() {
+        assertEquals(List.of(2L), index.search("galaxy", Category.MOBILES, null, null, null, null, 0, 10)
+                .getGadgetIds());
+        assertEquals(List.of(3L), index.search("galaxy", null, "samsung", new BigDecimal("800"), null, null, 0, 10)
+                .getGadgetIds());
+        assertEquals(List.of(4L, 5L), index.search("phone", null, null, null, new BigDecimal("199"), null, 0, 10)
+                .getGadgetIds().stream().sorted().toList());
+    }
+
+    @Test
+    void pagesWithCursorsInRankOrder() {
+        SearchHits all = index.search("phone", null, null, null, null, null, 0, 10);
+        SearchHits first = index.search("phone", null, null, null, null, null, 0, 2);
+        SearchHits next = index.searchAfter("phone", null, null, null, null, null,
+                first.getLastScore(), first.getGadgetIds().get(1), 2);
+
+        assertEquals(all.getGadgetIds().subList(0, 2), first.getGadgetIds());
+        assertEquals(all.getGadgetIds().subList(2, 3), next.getGadgetIds());
+        assertFalse(next.hasMore());
+    }
+
+    @Test
+    void reindexingAndRemovingUpdateMatches() {
+        index.index(gadget(4L, "Laptop Stand", "Generic", Category.LAPTOPS, "29.00", "Desk stand"));
+        index.remove(5L);
+
+        assertEquals(List.of(2L), index.matchingIds("phone"));
+        assertEquals(List.of(4L), index.matchingIds("laptop"));
+
+        index.index(gadget(6L, "Phone Case", "Generic", Category.MOBILES, "9.00", null));
+        assertEquals(List.of(2L, 6L), index.matchingIds("phone").stream().sorted().toList());
+    }
+
+    private static GadgetDTO gadget(Long id, String name, String brand, Category category, String price,
+                                    String description) {
+        GadgetDTO gadget = new GadgetDTO(id, name, brand, category, new BigDecimal(price), null,
+                new BigDecimal("4.50"), 10, null);
+        gadget.setDescription(description);
+        gadget.setSpecifications(List.of(new SpecificationDTO("Color", "Black")));
+        return gadget;
+    }
+}
@@ -0,0 +1,95 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.model.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Similar-gadget lookups over 100k gadgets in 5 categories, each scan covering the 20k vectors of
+ * one category, read by 8 threads while a writer re-indexes a gadget every millisecond.
+ * Sample mode reports the p50, p99 and p99.9 latencies of a top-10 query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class GadgetSimilarityBenchmark {
+
+    private static final int GADGETS = 100_000;
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final GadgetSimilarityIndex index = new GadgetSimilarityIndex();
+    private Thread writer;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        index.clear();
+        for (long id = 1; id <= GADGETS; id++) {
+            index.index(gadget(id, random));
+        }
+        index.rebuildComplete();
+
+        running = true;
+        writer = new Thread(() -> {
+            Random writes = new Random(2);
+            while (running) {
+                index.index(gadget(1 + writes.nextInt(GADGETS), writes));
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }, "catalog-writer");
+        writer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        writer.join();
+    }
+
+    @Benchmark
+    public List<Long> similar() {
+        return index.similar(1L + ThreadLocalRandom.current().nextInt(GADGETS), 10);
+    }
+
+    /**
+     * A gadget whose category follows from its id, so re-indexing never moves it between partitions
+     */
+    private static GadgetDTO gadget(long id, Random random) {
+        GadgetDTO gadget = new GadgetDTO(id, "Gadget " + id, "Brand", CATEGORIES[(int) (id % CATEGORIES.length)],
+                BigDecimal.valueOf(2_000 + random.nextInt(300_000), 2), null,
+                BigDecimal.valueOf(100 + random.nextInt(400), 2), random.nextInt(5000), null);
+        gadget.setSpecifications(List.of(
+                new SpecificationDTO("RAM", (4 << random.nextInt(4)) + " GB"),
+                new SpecificationDTO("Storage", (64 << random.nextInt(5)) + " GB"),
+                new SpecificationDTO("Battery", (3000 + random.nextInt(3000)) + " mAh"),
+                new SpecificationDTO("Display", (5 + random.nextInt(120) / 10.0) + " inches")));
+        return gadget;
+    }
+}
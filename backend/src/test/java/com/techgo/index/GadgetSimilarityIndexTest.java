@@ -0,0 +1,70 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GadgetSimilarityIndexTest {
+
+    private GadgetSimilarityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GadgetSimilarityIndex();
+        index.index(phone(1L, "500.00", "4.00", "8 GB"));
+        index.index(phone(2L, "520.00", "4.00", "8 GB"));
+        index.index(phone(3L, "1000.00", "4.00", "8 GB"));
+        index.index(phone(4L, "500.00", "4.00", "16 GB"));
+        index.index(phone(5L, "5000.00", "1.00", "2 GB"));
+        index.index(gadget(6L, Category.LAPTOPS, "500.00", "4.00", "8 GB"));
+        index.rebuildComplete();
+    }
+
+    @Test
+    void returnsNeighboursNearestFirstWithoutTheGadgetItself() {
+        assertEquals(List.of(2L, 4L, 3L, 5L), index.similar(1L, 10));
+    }
+
+    @Test
+    void keepsTheNearestWithinTheLimit() {
+        assertEquals(List.of(2L, 4L), index.similar(1L, 2));
+    }
+
+    @Test
+    void onlyComparesGadgetsOfTheSameCategory() {
+        assertEquals(List.of(), index.similar(6L, 10));
+    }
+
+    @Test
+    void dropsRemovedAndMovedGadgets() {
+        index.remove(2L);
+        index.index(gadget(4L, Category.LAPTOPS, "500.00", "4.00", "16 GB"));
+
+        assertEquals(List.of(3L, 5L), index.similar(1L, 10));
+        assertEquals(List.of(6L), index.similar(4L, 10));
+    }
+
+    @Test
+    void answersNullForAGadgetNotIndexed() {
+        assertNull(index.similar(99L, 10));
+    }
+
+    private static GadgetDTO phone(Long id, String price, String rating, String ram) {
+        return gadget(id, Category.MOBILES, price, rating, ram);
+    }
+
+    private static GadgetDTO gadget(Long id, Category category, String price, String rating, String ram) {
+        GadgetDTO gadget = new GadgetDTO(id, "Gadget " + id, "Brand", category, new BigDecimal(price), null,
+                new BigDecimal(rating), 10, null);
+        gadget.setSpecifications(List.of(new SpecificationDTO("RAM", ram)));
+        return gadget;
+    }
+}
@@ -0,0 +1,98 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SuggestionDTO;
+import com.techgo.model.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency under concurrent load: 8 threads look up prefixes of 1 to 6 characters in a
+ * suggester over 100k gadgets while a writer re-indexes a gadget every millisecond, as catalog
+ * writes would. Sample mode reports the p50, p99 and p99.9 latencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class GadgetSuggesterBenchmark {
+
+    private static final int GADGETS = 100_000;
+    private static final String[] WORDS = {"galaxy", "pixel", "iphone", "pro", "max", "air", "book", "buds",
+            "tab", "ultra", "mini", "sound", "pad", "watch", "studio", "plus", "lite", "note", "edge", "fold"};
+    private static final String[] BRANDS = {"Apple", "Samsung", "Sony", "Google", "Bose", "Lenovo", "Dell",
+            "Asus", "Xiaomi", "OnePlus", "JBL", "Sennheiser"};
+
+    private final GadgetSuggester suggester = new GadgetSuggester();
+    private String[] queries;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        suggester.clear();
+        for (long id = 1; id <= GADGETS; id++) {
+            suggester.index(gadget(id, random));
+        }
+        suggester.rebuildComplete();
+
+        queries = new String[4096];
+        for (int i = 0; i < queries.length; i++) {
+            String word = random.nextBoolean() ? WORDS[random.nextInt(WORDS.length)]
+                    : BRANDS[random.nextInt(BRANDS.length)].toLowerCase();
+            queries[i] = word.substring(0, 1 + random.nextInt(Math.min(6, word.length())));
+        }
+
+        running = true;
+        writer = new Thread(() -> {
+            Random writes = new Random(2);
+            while (running) {
+                suggester.index(gadget(1 + writes.nextInt(GADGETS), writes));
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }, "catalog-writer");
+        writer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        writer.join();
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> suggest() {
+        return suggester.suggest(queries[ThreadLocalRandom.current().nextInt(queries.length)], 8);
+    }
+
+    private static GadgetDTO gadget(long id, Random random) {
+        String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+        return new GadgetDTO(id, name, BRANDS[random.nextInt(BRANDS.length)], Category.MOBILES,
+                new BigDecimal("199.00"), null, BigDecimal.valueOf(100 + random.nextInt(400), 2),
+                random.nextInt(5000), null);
+    }
+}
@@ -0,0 +1,143 @@
+package com.techgo.index;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SuggestionDTO;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GadgetSuggesterTest {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Sony", "Google", "Bose", "Lenovo"};
+    private static final String[] WORDS = {"Galaxy", "Pixel", "Pro", "Max", "Air", "Book", "Buds", "Phone",
+            "Tab", "Ultra", "Mini", "Sound", "Pad", "Watch", "X1"};
+
+    private final Random random = new Random(42);
+    private final Map<Long, GadgetDTO> catalog = new HashMap<>();
+    private GadgetSuggester suggester;
+
+    @BeforeEach
+    void buildSuggester() {
+        suggester = new GadgetSuggester();
+        suggester.clear();
+        for (long id = 1; id <= 500; id++) {
+            add(randomGadget(id));
+        }
+        suggester.rebuildComplete();
+    }
+
+    @Test
+    void suggestsNamesWordsAndBrandsByPopularity() {
+        suggester.clear();
+        catalog.clear();
+        add(gadget(1L, "Galaxy S24 Ultra", "Samsung", 120, 450));
+        add(gadget(2L, "Galaxy Buds", "Samsung", 300, 420));
+        add(gadget(3L, "Pixel 8", "Google", 300, 460));
+
+        assertEquals(List.of(2L, 1L), ids(suggester.suggest("gal", 10)));
+        assertEquals(List.of(1L), ids(suggester.suggest("ultra", 10)));
+        assertEquals(List.of(1L), ids(suggester.suggest("  S24   ULTRA", 10)));
+        assertEquals(List.of(2L, 1L), ids(suggester.suggest("sams", 10)));
+        assertEquals(List.of(3L), ids(suggester.suggest("pix", 1)));
+        assertTrue(suggester.suggest("xyz", 10).isEmpty());
+        assertTrue(suggester.suggest("  ", 10).isEmpty());
+
+        SuggestionDTO pixel = suggester.suggest("pixel", 1).get(0);
+        assertEquals("Pixel 8", pixel.getName());
+        assertEquals("Google", pixel.getBrand());
+        assertEquals(Category.MOBILES, pixel.getCategory());
+    }
+
+    @Test
+    void matchesABruteForceScan() {
+        assertMatchesBruteForce();
+    }
+
+    @Test
+    void staysCorrectAfterUpdatesAndRemovals() {
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(600);
+            if (random.nextInt(4) == 0) {
+                suggester.remove(id);
+                catalog.remove(id);
+            } else {
+                add(randomGadget(id));
+            }
+        }
+        assertMatchesBruteForce();
+    }
+
+    private void assertMatchesBruteForce() {
+        List<String> prefixes = new ArrayList<>();
+        for (String word : WORDS) {
+            String lower = word.toLowerCase();
+            for (int length = 1; length <= lower.length(); length++) {
+                prefixes.add(lower.substring(0, length));
+            }
+            prefixes.add(lower + " ");
+        }
+        for (String brand : BRANDS) {
+            prefixes.add(brand.toLowerCase().substring(0, 2));
+        }
+        prefixes.add("galaxy pro m");
+
+        for (String prefix : prefixes) {
+            String normalized = GadgetSuggester.normalize(prefix);
+            List<Long> expected = catalog.values().stream()
+                    .filter(gadget -> keys(gadget).stream().anyMatch(key -> key.startsWith(normalized)))
+                    .sorted(Comparator.comparingInt((GadgetDTO g) -> -g.getReviewCount())
+                            .thenComparingInt(g -> -g.getRatingX100())
+                            .thenComparingLong(GadgetDTO::getId))
+                    .limit(GadgetSuggester.TOP_K)
+                    .map(GadgetDTO::getId)
+                    .collect(Collectors.toList());
+            assertEquals(expected, ids(suggester.suggest(prefix, GadgetSuggester.TOP_K)), "prefix '" + prefix + "'");
+        }
+    }
+
+    private static List<String> keys(GadgetDTO gadget) {
+        List<String> words = Tokenizer.tokenize(gadget.getName());
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        keys.add(GadgetSuggester.normalize(gadget.getBrand()));
+        return keys;
+    }
+
+    private void add(GadgetDTO gadget) {
+        catalog.put(gadget.getId(), gadget);
+        suggester.index(gadget);
+    }
+
+    private GadgetDTO randomGadget(long id) {
+        int words = 1 + random.nextInt(3);
+        StringBuilder name = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < words; i++) {
+            name.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return gadget(id, name.toString(), BRANDS[random.nextInt(BRANDS.length)],
+                random.nextInt(50), 100 + random.nextInt(400));
+    }
+
+    private static GadgetDTO gadget(long id, String name, String brand, int reviewCount, int ratingX100) {
+        return new GadgetDTO(id, name, brand, Category.MOBILES, new BigDecimal("100.00"), null,
+                BigDecimal.valueOf(ratingX100, 2), reviewCount, null);
+    }
+
+    private static List<Long> ids(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getId).collect(Collectors.toList());
+    }
+}
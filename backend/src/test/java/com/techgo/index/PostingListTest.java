@@ -0,0 +1,59 @@
+package com.techgo.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PostingListTest {
+
+    @Test
+    void keepsDocumentsSortedWithTheirFrequencies() {
+        PostingList list = new PostingList();
+        list.add(5, 1);
+        list.add(9, 2);
+        list.add(1, 3);
+        list.add(7, 4);
+        list.add(0, 5);
+
+        assertDocs(list, new int[] {0, 1, 5, 7, 9}, new int[] {5, 3, 1, 4, 2});
+    }
+
+    @Test
+    void growsBeyondItsInitialCapacity() {
+        PostingList list = new PostingList();
+        for (int doc = 99; doc >= 0; doc--) {
+            list.add(doc, doc + 1);
+        }
+
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, list.doc(i));
+            assertEquals(i + 1, list.freq(i));
+        }
+    }
+
+    @Test
+    void removesDocumentsAndIgnoresMissingOnes() {
+        PostingList list = new PostingList();
+        list.add(1, 10);
+        list.add(2, 20);
+        list.add(3, 30);
+
+        list.remove(2);
+        list.remove(4);
+
+        assertDocs(list, new int[] {1, 3}, new int[] {10, 30});
+
+        list.remove(1);
+        list.remove(3);
+        assertEquals(0, list.size());
+    }
+
+    private static void assertDocs(PostingList list, int[] docs, int[] freqs) {
+        assertEquals(docs.length, list.size());
+        for (int i = 0; i < docs.length; i++) {
+            assertEquals(docs[i], list.doc(i));
+            assertEquals(freqs[i], list.freq(i));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.techgo.model;
+
+import com.techgo.dto.GadgetDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering 100k gadgets by price range and minimum rating and sorting the matches, with price and
+ * rating as BigDecimal (the gadget DTO before fixed-point hundredths) against the long cents and
+ * int hundredths GadgetDTO carries now. Run with the gc profiler (on by default in
+ * BenchmarkRunnerTest) to compare the bytes allocated per listing as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FixedPointListingBenchmark {
+
+    private static final int GADGETS = 100_000;
+    private static final BigDecimal MIN_PRICE = new BigDecimal("100");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("2000");
+    private static final BigDecimal MIN_RATING = new BigDecimal("2.5");
+
+    private static final Comparator<DecimalGadget> DECIMAL_BY_PRICE =
+            Comparator.comparing((DecimalGadget g) -> g.price).thenComparing(g -> g.id);
+    private static final Comparator<DecimalGadget> DECIMAL_BY_RATING =
+            Comparator.comparing((DecimalGadget g) -> g.rating, Comparator.reverseOrder())
+                    .thenComparing(g -> g.reviewCount, Comparator.reverseOrder())
+                    .thenComparing(g -> g.id, Comparator.reverseOrder());
+    private static final Comparator<GadgetDTO> FIXED_BY_PRICE =
+            Comparator.comparingLong(GadgetDTO::getPriceCents).thenComparingLong(GadgetDTO::getId);
+    private static final Comparator<GadgetDTO> FIXED_BY_RATING =
+            Comparator.comparingInt((GadgetDTO g) -> -g.getRatingX100())
+                    .thenComparingInt(g -> -g.getReviewCount())
+                    .thenComparingLong(g -> -g.getId());
+
+    @Param({"price", "rating"})
+    public String sort;
+
+    private List<DecimalGadget> decimalGadgets;
+    private List<GadgetDTO> fixedGadgets;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        decimalGadgets = new ArrayList<>(GADGETS);
+        fixedGadgets = new ArrayList<>(GADGETS);
+        for (long id = 1; id <= GADGETS; id++) {
+            long priceCents = 1_000 + random.nextInt(500_000);
+            int ratingX100 = random.nextInt(501);
+            int reviewCount = random.nextInt(5_000);
+            decimalGadgets.add(new DecimalGadget(id, BigDecimal.valueOf(priceCents, 2),
+                    BigDecimal.valueOf(ratingX100, 2), reviewCount));
+
+            GadgetDTO gadget = new GadgetDTO();
+            gadget.setId(id);
+            gadget.setPriceCents(priceCents);
+            gadget.setRatingX100(ratingX100);
+            gadget.setReviewCount(reviewCount);
+            fixedGadgets.add(gadget);
+        }
+    }
+
+    @Benchmark
+    public List<DecimalGadget> bigDecimal() {
+        List<DecimalGadget> matches = new ArrayList<>();
+        for (DecimalGadget gadget : decimalGadgets) {
+            if (gadget.price.compareTo(MIN_PRICE) >= 0 && gadget.price.compareTo(MAX_PRICE) <= 0
+                    && gadget.rating.compareTo(MIN_RATING) >= 0) {
+                matches.add(gadget);
+            }
+        }
+        matches.sort(sort.equals("price") ? DECIMAL_BY_PRICE : DECIMAL_BY_RATING);
+        return matches;
+    }
+
+    @Benchmark
+    public List<GadgetDTO> fixedPoint() {
+        long minCents = Hundredths.of(MIN_PRICE, RoundingMode.CEILING, Long.MIN_VALUE);
+        long maxCents = Hundredths.of(MAX_PRICE, RoundingMode.FLOOR, Long.MAX_VALUE);
+        long minRatingX100 = Hundredths.of(MIN_RATING, RoundingMode.CEILING, Long.MIN_VALUE);
+        List<GadgetDTO> matches = new ArrayList<>();
+        for (GadgetDTO gadget : fixedGadgets) {
+            if (gadget.getPriceCents() >= minCents && gadget.getPriceCents() <= maxCents
+                    && gadget.getRatingX100() >= minRatingX100) {
+                matches.add(gadget);
+            }
+        }
+        matches.sort(sort.equals("price") ? FIXED_BY_PRICE : FIXED_BY_RATING);
+        return matches;
+    }
+
+    /**
+     * The listing fields of a gadget as the DTO held them before fixed-point hundredths
+     */
+    public static final class DecimalGadget {
+        private final Long id;
+        private final BigDecimal price;
+        private final BigDecimal rating;
+        private final Integer reviewCount;
+
+        private DecimalGadget(Long id, BigDecimal price, BigDecimal rating, Integer reviewCount) {
+            this.id = id;
+            this.price = price;
+            this.rating = rating;
+            this.reviewCount = reviewCount;
+        }
+    }
+}
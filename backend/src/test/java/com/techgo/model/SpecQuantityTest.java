@@ -0,0 +1,51 @@
+package com.techgo.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SpecQuantityTest {
+
+    @Test
+    void networkGenerationIsNotAMass() {
+        assertNull(SpecQuantity.parse("Network", "5G"));
+        assertNull(SpecQuantity.parse("Connectivity", "4G LTE"));
+        assertNull(SpecQuantity.parse("Network", "5 G"));
+        assertNull(SpecQuantity.parse("Features", "5G"));
+    }
+
+    @Test
+    void connectivitySkipsTheGenerationForALaterQuantity() {
+        SpecQuantity quantity = SpecQuantity.parse("Connectivity", "5G, Wi-Fi 6 at 2.4 GHz");
+
+        assertEquals("Hz", quantity.getUnit());
+        assertEquals(0, new BigDecimal("2400000000").compareTo(quantity.getValue()));
+    }
+
+    @Test
+    void gramsWithASpaceOrInAWeightSpecification() {
+        assertGrams("180", SpecQuantity.parse("Dimensions", "146.7 x 71.5 mm, 180 g"));
+        assertGrams("150", SpecQuantity.parse("Weight", "150g"));
+        assertGrams("204", SpecQuantity.parse("Body mass", "204G"));
+        assertGrams("1300", SpecQuantity.parse("Weight", "1.3 kg"));
+    }
+
+    @Test
+    void otherUnitsAreUnaffected() {
+        SpecQuantity battery = SpecQuantity.parse("Battery", "5,000mAh");
+        assertEquals("mAh", battery.getUnit());
+        assertEquals(0, new BigDecimal("5000").compareTo(battery.getValue()));
+
+        SpecQuantity storage = SpecQuantity.parse("Storage", "1TB");
+        assertEquals("GB", storage.getUnit());
+        assertEquals(0, new BigDecimal("1024").compareTo(storage.getValue()));
+    }
+
+    private static void assertGrams(String expected, SpecQuantity quantity) {
+        assertEquals("g", quantity.getUnit());
+        assertEquals(0, new BigDecimal(expected).compareTo(quantity.getValue()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.techgo.repository;
+
+import com.techgo.MySqlIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Every sort order of a listing, alone or under a category or brand filter, is read in order
+ * from a matching index instead of being sorted (see GadgetSort and the V2 and V9 migrations)
+ */
+class GadgetListingIndexTest extends MySqlIntegrationTest {
+
+    private static final String[][] ORDERS = {
+            {"price", "price ASC, id ASC"},
+            {"price", "price DESC, id DESC"},
+            {"rating", "rating DESC, review_count DESC, id DESC"},
+            {"review_count", "review_count DESC, rating DESC, id DESC"},
+            {"created_at", "created_at DESC, id DESC"},
+            {"name", "name ASC, id ASC"},
+    };
+
+    @BeforeEach
+    void createCatalog() {
+        resetCatalog();
+        // 5000 gadgets over 5 categories and 40 brands
+        jdbcTemplate.update("""
+                INSERT INTO gadgets (name, brand, category, price, rating, review_count, created_at)
+                WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 999)
+                SELECT CONCAT('Gadget ', g.n), CONCAT('Brand ', g.n % 40),
+                       ELT(g.n % 5 + 1, 'mobiles', 'laptops', 'tablets', 'earphones', 'speakers'),
+                       10 + g.n % 997, (g.n % 501) / 100, g.n % 1000, NOW() - INTERVAL g.n MINUTE
+                FROM (SELECT a.n * 5 + b.k AS n FROM seq a
+                      CROSS JOIN (SELECT 0 AS k UNION ALL SELECT 1 UNION ALL SELECT 2
+                                  UNION ALL SELECT 3 UNION ALL SELECT 4) b) g
+                """);
+        jdbcTemplate.queryForList("ANALYZE TABLE gadgets");
+    }
+
+    @Test
+    void unfilteredListingsUseASortIndex() {
+        assertIndexed("", "id ASC", "PRIMARY");
+        assertIndexed("", "price ASC, id ASC", "idx_price");
+        assertIndexed("", "rating DESC, review_count DESC, id DESC", "idx_rating_review_count");
+        assertIndexed("", "review_count DESC, rating DESC, id DESC", "idx_review_count_rating");
+        assertIndexed("", "created_at DESC, id DESC", "idx_created_at");
+        assertIndexed("", "name ASC, id ASC", "idx_name");
+    }
+
+    @Test
+    void categoryListingsUseACategoryIndex() {
+        for (String[] order : ORDERS) {
+            assertIndexed("WHERE category = 'laptops'", order[1], "idx_category_" + order[0]);
+        }
+    }
+
+    @Test
+    void brandListingsUseABrandIndex() {
+        for (String[] order : ORDERS) {
+            assertIndexed("WHERE brand = 'Brand 7'", order[1], "idx_brand_" + order[0]);
+        }
+    }
+
+    @Test
+    void categoryAndBrandListingsUseTheCombinedIndex() {
+        assertIndexed("WHERE category = 'tablets' AND brand = 'Brand 7'", "id ASC", "idx_category_brand");
+    }
+
+    private void assertIndexed(String where, String orderBy, String expectedIndex) {
+        String sql = "SELECT * FROM gadgets " + where + " ORDER BY " + orderBy + " LIMIT 20";
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+
+        assertEquals(1, plan.size(), sql);
+        assertEquals(expectedIndex, plan.get(0).get("key"), sql);
+        Object extra = plan.get(0).get("Extra");
+        assertFalse(extra != null && extra.toString().contains("Using filesort"), sql + ": " + extra);
+    }
+}
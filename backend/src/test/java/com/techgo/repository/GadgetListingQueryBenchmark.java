@@ -0,0 +1,95 @@
+package com.techgo.repository;
+
+import com.techgo.BenchmarkApplication;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import com.techgo.model.Gadget;
+import com.techgo.service.GadgetSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A listing page loaded as managed Gadget entities and copied into DTOs, against the same page
+ * read as summary DTOs by GadgetRepository.findSummaries. Each gadget carries a 2 KB description,
+ * which only the entity path reads. Run with the gc profiler (on by default in
+ * BenchmarkRunnerTest) to compare gc.alloc.rate.norm, the bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GadgetListingQueryBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private BenchmarkApplication application;
+    private GadgetRepository gadgetRepository;
+    private TransactionTemplate readOnly;
+    private Specification<Gadget> laptops;
+    private PageRequest page;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        application.getBean(JdbcTemplate.class).update("""
+                INSERT INTO gadgets (name, brand, category, price, description, image_url, rating, review_count)
+                WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+                SELECT CONCAT('Gadget ', a.n, '-', b.k), CONCAT('Brand ', a.n % 40),
+                       ELT(b.k + 1, 'mobiles', 'laptops', 'tablets', 'earphones', 'speakers'),
+                       10 + a.n % 997, REPEAT('Long product description. ', 80),
+                       CONCAT('https://img.example.com/', a.n, '.jpg'), (a.n % 501) / 100, a.n % 1000
+                FROM seq a CROSS JOIN (SELECT 0 AS k UNION ALL SELECT 1 UNION ALL SELECT 2
+                                       UNION ALL SELECT 3 UNION ALL SELECT 4) b
+                """);
+        gadgetRepository = application.getBean(GadgetRepository.class);
+        readOnly = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        laptops = GadgetFilters.matching(Category.LAPTOPS, null, null, null, null, null);
+        page = PageRequest.of(3, pageSize, GadgetSort.parse("rating").toSort());
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public List<GadgetDTO> entities() {
+        return readOnly.execute(status -> {
+            Page<Gadget> gadgets = gadgetRepository.findAll(laptops, page);
+            return gadgets.getContent().stream()
+                    .map(gadget -> new GadgetDTO(gadget.getId(), gadget.getName(), gadget.getBrand(),
+                            gadget.getCategory(), gadget.getPrice(), gadget.getImageUrl(), gadget.getRating(),
+                            gadget.getReviewCount(), gadget.getCreatedAt()))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Benchmark
+    public List<GadgetDTO> projections() {
+        return readOnly.execute(status -> gadgetRepository.findSummaries(laptops, page).getContent());
+    }
+}
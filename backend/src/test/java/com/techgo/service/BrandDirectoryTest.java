@@ -0,0 +1,78 @@
+package com.techgo.service;
+
+import com.techgo.MySqlIntegrationTest;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Gadget writes keep the brands table and the directory read from it current
+ */
+class BrandDirectoryTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private GadgetService gadgetService;
+
+    private GadgetDTO phone;
+
+    @BeforeEach
+    void createCatalog() {
+        resetCatalog();
+        phone = gadgetService.createGadget(gadget("Phone", "Apple", Category.MOBILES));
+        gadgetService.createGadget(gadget("Other phone", "Samsung", Category.MOBILES));
+        gadgetService.createGadget(gadget("Laptop", "Apple", Category.LAPTOPS));
+    }
+
+    @Test
+    void listsBrandsPerCategory() {
+        assertEquals(List.of("Apple", "Samsung"), gadgetService.getBrandsByCategory("mobiles"));
+        assertEquals(List.of("Apple"), gadgetService.getBrandsByCategory("laptops"));
+        assertEquals(List.of(), gadgetService.getBrandsByCategory("tablets"));
+        assertEquals(List.of("Apple", "Samsung"), gadgetService.getBrandsByCategory(null));
+    }
+
+    @Test
+    void brandChangeMovesTheGadget() {
+        gadgetService.updateGadget(phone.getId(), gadget("Phone", "Google", Category.MOBILES));
+
+        assertEquals(List.of("Google", "Samsung"), gadgetService.getBrandsByCategory("mobiles"));
+        assertEquals(0, count("Apple", Category.MOBILES));
+        assertEquals(1, count("Google", Category.MOBILES));
+    }
+
+    @Test
+    void categoryChangeMovesTheGadget() {
+        gadgetService.updateGadget(phone.getId(), gadget("Phone", "Apple", Category.TABLETS));
+
+        assertEquals(List.of("Samsung"), gadgetService.getBrandsByCategory("mobiles"));
+        assertEquals(List.of("Apple"), gadgetService.getBrandsByCategory("tablets"));
+        assertEquals(1, count("Apple", Category.LAPTOPS));
+    }
+
+    @Test
+    void deleteStopsCountingTheGadget() {
+        gadgetService.deleteGadget(phone.getId());
+
+        assertEquals(List.of("Samsung"), gadgetService.getBrandsByCategory("mobiles"));
+        // Apple still has its laptop
+        assertEquals(List.of("Apple", "Samsung"), gadgetService.getBrandsByCategory(null));
+        assertEquals(0, count("Apple", Category.MOBILES));
+    }
+
+    private int count(String brand, Category category) {
+        return jdbcTemplate.queryForObject("SELECT gadget_count FROM brands WHERE name = ? AND category = ?",
+                Integer.class, brand, category.getValue());
+    }
+
+    private static CreateGadgetDTO gadget(String name, String brand, Category category) {
+        return new CreateGadgetDTO(name, brand, category, BigDecimal.valueOf(299));
+    }
+}
@@ -0,0 +1,96 @@
+package com.techgo.service;
+
+import com.techgo.MySqlIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exporting a million gadgets streams them: the heap retained while the export runs does not
+ * grow with the number of gadgets written
+ */
+class CatalogExportServiceTest extends MySqlIntegrationTest {
+
+    private static final int GADGETS = 1_000_000;
+    private static final int SAMPLE_EVERY = 100_000;
+    /** Retained heap allowed to grow between the first and the last sample */
+    private static final long MAX_GROWTH_BYTES = 32L * 1024 * 1024;
+
+    @Autowired
+    private CatalogExportService exportService;
+
+    @BeforeEach
+    void createCatalog() {
+        resetCatalog();
+        jdbcTemplate.update("""
+                INSERT INTO gadgets (name, brand, category, price, description, rating, review_count)
+                WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 999)
+                SELECT CONCAT('Gadget ', a.n * 1000 + b.n), CONCAT('Brand ', a.n % 40),
+                       ELT(b.n % 5 + 1, 'mobiles', 'laptops', 'tablets', 'earphones', 'speakers'),
+                       10 + b.n, 'Synthetic gadget for the export test', (b.n % 501) / 100, a.n
+                FROM seq a CROSS JOIN seq b
+                """);
+        jdbcTemplate.update("INSERT INTO spec_keys (name) VALUES ('Color') ON DUPLICATE KEY UPDATE name = name");
+        jdbcTemplate.update("INSERT IGNORE INTO spec_values (value, value_hash) VALUES ('Black', UNHEX(SHA2('Black', 256)))");
+        jdbcTemplate.update("""
+                INSERT INTO gadget_specifications (gadget_id, spec_key_id, spec_value_id)
+                SELECT g.id, (SELECT id FROM spec_keys WHERE name = 'Color'),
+                       (SELECT id FROM spec_values WHERE value_hash = UNHEX(SHA2('Black', 256)))
+                FROM gadgets g WHERE g.id % 10 = 0
+                """);
+    }
+
+    @AfterEach
+    void deleteCatalog() {
+        resetCatalog();
+    }
+
+    @Test
+    void streamsAMillionGadgetsInConstantMemory() throws Exception {
+        LineSampler out = new LineSampler();
+
+        exportService.export(CatalogExportService.Format.NDJSON, out);
+
+        assertEquals(GADGETS, out.lines);
+        List<Long> retained = out.retained;
+        assertEquals(GADGETS / SAMPLE_EVERY, retained.size());
+        long growth = retained.get(retained.size() - 1) - retained.get(0);
+        assertTrue(growth < MAX_GROWTH_BYTES,
+                "retained heap grew by " + growth / 1024 + " KB while exporting, samples " + retained);
+    }
+
+    /**
+     * Discards the export, counting lines and recording the heap retained after a collection
+     * every {@link #SAMPLE_EVERY} lines
+     */
+    private static final class LineSampler extends OutputStream {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final List<Long> retained = new ArrayList<>();
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_EVERY == 0) {
+                System.gc();
+                retained.add(memory.getHeapMemoryUsage().getUsed());
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.techgo.service;
+
+import com.techgo.BenchmarkApplication;
+import com.techgo.dto.BulkImportResultDTO;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.CreateSpecificationDTO;
+import com.techgo.model.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import throughput, reported in gadgets per second: every invocation imports 10,000 new
+ * gadgets with three specifications each, in the default batches of 1,000, through the unique
+ * name and brand constraint. The target is at least 10,000 gadgets per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class GadgetImportBenchmark {
+
+    private static final int GADGETS = 10_000;
+    private static final Category[] CATEGORIES = Category.values();
+
+    private BenchmarkApplication application;
+    private GadgetImportService importService;
+    private List<CreateGadgetDTO> gadgets;
+    private int run;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        importService = application.getBean(GadgetImportService.class);
+    }
+
+    /**
+     * New names for every invocation, so nothing is skipped as a duplicate
+     */
+    @Setup(Level.Invocation)
+    public void nextImport() {
+        run++;
+        gadgets = new ArrayList<>(GADGETS);
+        for (int i = 0; i < GADGETS; i++) {
+            CreateGadgetDTO gadget = new CreateGadgetDTO("Gadget " + run + "-" + i, "Brand " + i % 50,
+                    CATEGORIES[i % CATEGORIES.length], BigDecimal.valueOf(1000 + i % 9000, 2));
+            gadget.setDescription("Imported gadget number " + i);
+            gadget.setSpecifications(List.of(
+                    new CreateSpecificationDTO("Weight", (100 + i % 400) + " g"),
+                    new CreateSpecificationDTO("Battery", (1000 + i % 4000) + " mAh"),
+                    new CreateSpecificationDTO("Color", "Color " + i % 12)));
+            gadgets.add(gadget);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GADGETS)
+    public BulkImportResultDTO importGadgets() {
+        BulkImportResultDTO result = importService.importGadgets(gadgets);
+        if (result.getCreated() != GADGETS) {
+            throw new IllegalStateException("Imported " + result.getCreated() + " of " + GADGETS + " gadgets");
+        }
+        return result;
+    }
+}
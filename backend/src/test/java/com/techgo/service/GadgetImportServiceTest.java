@@ -0,0 +1,57 @@
+package com.techgo.service;
+
+import com.techgo.MySqlIntegrationTest;
+import com.techgo.dto.BulkImportResultDTO;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports against MySQL, whose accent- and case-insensitive collation decides which gadgets are duplicates
+ */
+class GadgetImportServiceTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private GadgetImportService importService;
+
+    @Autowired
+    private GadgetService gadgetService;
+
+    @BeforeEach
+    void createCatalog() {
+        resetCatalog();
+        gadgetService.createGadget(gadget("Cafe Speaker"));
+    }
+
+    @Test
+    void gadgetDifferingFromAStoredOneOnlyInAccentsIsSkipped() {
+        BulkImportResultDTO result = importService.importGadgets(List.of(
+                gadget("Café Speaker"), gadget("Tea Speaker")));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of("Café Speaker (Brand)"), result.getSkipped());
+        assertEquals("Tea Speaker", gadgetService.getGadgetById(result.getCreatedIds().get(0)).getName());
+    }
+
+    @Test
+    void accentVariantsInOneImportKeepTheFirst() {
+        BulkImportResultDTO result = importService.importGadgets(List.of(
+                gadget("Tea Speaker"), gadget("Téa Speaker"), gadget("Radio")));
+
+        assertEquals(List.of("Téa Speaker (Brand)"), result.getSkipped());
+        assertEquals(2, result.getCreatedIds().size());
+        assertEquals("Tea Speaker", gadgetService.getGadgetById(result.getCreatedIds().get(0)).getName());
+        assertEquals("Radio", gadgetService.getGadgetById(result.getCreatedIds().get(1)).getName());
+    }
+
+    private static CreateGadgetDTO gadget(String name) {
+        return new CreateGadgetDTO(name, "Brand", Category.SPEAKERS, BigDecimal.valueOf(99));
+    }
+}
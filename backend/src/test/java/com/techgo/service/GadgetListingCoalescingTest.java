@@ -0,0 +1,129 @@
+package com.techgo.service;
+
+import com.techgo.MySqlIntegrationTest;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.CreateSpecificationDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.GadgetFields;
+import com.techgo.dto.SpecRangeFilter;
+import com.techgo.model.Category;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Identical concurrent listings wait for one shared query without holding a connection each.
+ * The shared query is held up by a table lock taken outside the application's pool.
+ */
+class GadgetListingCoalescingTest extends MySqlIntegrationTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private GadgetService gadgetService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void createCatalog() {
+        resetCatalog();
+        for (int i = 0; i < 5; i++) {
+            CreateGadgetDTO gadget = new CreateGadgetDTO("Phone " + i, "Brand", Category.MOBILES,
+                    BigDecimal.valueOf(100 + i));
+            gadget.setSpecifications(List.of(new CreateSpecificationDTO("RAM", (4 + i) + " GB")));
+            gadgetService.createGadget(gadget);
+        }
+    }
+
+    @Test
+    void waitingCallersHoldNoConnection() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Thread> threads = new ArrayList<>();
+        List<CompletableFuture<Page<GadgetDTO>>> listings = new ArrayList<>();
+        try (Connection lock = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(),
+                MYSQL.getPassword())) {
+            int idle = pool.getActiveConnections();
+            execute(lock, "LOCK TABLES gadgets WRITE, gadget_specifications WRITE");
+            try {
+                for (int i = 0; i < CALLERS; i++) {
+                    listings.add(CompletableFuture.supplyAsync(() -> {
+                        synchronized (threads) {
+                            threads.add(Thread.currentThread());
+                        }
+                        return listing();
+                    }, executor));
+                }
+                awaitWaiting(threads, CALLERS - 1);
+
+                assertEquals(idle + 1, pool.getActiveConnections(), "connections held while the query is blocked");
+            } finally {
+                execute(lock, "UNLOCK TABLES");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Page<GadgetDTO> first = listings.get(0).get(30, TimeUnit.SECONDS);
+        assertEquals(5, first.getNumberOfElements());
+        for (CompletableFuture<Page<GadgetDTO>> listing : listings.subList(1, CALLERS)) {
+            Page<GadgetDTO> page = listing.get(30, TimeUnit.SECONDS);
+            assertEquals(first.getContent().get(0).getId(), page.getContent().get(0).getId());
+            assertNotSame(first.getContent().get(0), page.getContent().get(0));
+        }
+    }
+
+    private Page<GadgetDTO> listing() {
+        // A specification filter keeps the listing in the database
+        return gadgetService.getAllGadgets(Category.MOBILES.getValue(), null, null, null, null, null,
+                List.of(new SpecRangeFilter("ram", BigDecimal.ONE, null)), 0, 20, null, GadgetFields.ALL);
+    }
+
+    /**
+     * Wait until the given number of callers are parked, then a little longer for any stragglers
+     */
+    private static void awaitWaiting(List<Thread> threads, int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (parked(threads) < waiting) {
+            assertTrue(System.nanoTime() < deadline, "callers never started waiting");
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+    }
+
+    private static int parked(List<Thread> threads) {
+        synchronized (threads) {
+            return (int) threads.stream()
+                    .filter(thread -> thread.getState() == Thread.State.TIMED_WAITING
+                            || thread.getState() == Thread.State.WAITING)
+                    .count();
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
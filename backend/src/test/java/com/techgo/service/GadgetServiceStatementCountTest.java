@@ -0,0 +1,99 @@
+package com.techgo.service;
+
+import com.techgo.MySqlIntegrationTest;
+import com.techgo.StatementCounter;
+import com.techgo.cache.GadgetDTOCache;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.CreateSpecificationDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.GadgetFields;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gadget list pages load the specifications of all their gadgets together, so the number of
+ * statements a page runs does not grow with the page size
+ */
+@Import(StatementCounter.Config.class)
+class GadgetServiceStatementCountTest extends MySqlIntegrationTest {
+
+    private static final int GADGETS = 60;
+
+    @Autowired
+    private GadgetService gadgetService;
+
+    @Autowired
+    private GadgetDTOCache gadgetCache;
+
+    @BeforeEach
+    void createCatalog() {
+        resetCatalog();
+        for (int i = 0; i < GADGETS; i++) {
+            CreateGadgetDTO gadget = new CreateGadgetDTO("Phone " + i, "Brand " + (i % 4), Category.MOBILES,
+                    BigDecimal.valueOf(100 + i));
+            gadget.setSpecifications(List.of(
+                    new CreateSpecificationDTO("RAM", (4 + i % 3 * 4) + " GB"),
+                    new CreateSpecificationDTO("Battery", (4000 + i * 10) + " mAh"),
+                    new CreateSpecificationDTO("Display", "6.1 inches")));
+            gadgetService.createGadget(gadget);
+        }
+    }
+
+    @Test
+    void listingRunsTheSameStatementsForAnyPageSize() {
+        assertConstantStatements(size -> gadgetService.getAllGadgets(null, null, null, null, null, null,
+                Collections.emptyList(), 0, size, null, GadgetFields.ALL).getContent());
+    }
+
+    @Test
+    void sortedTextListingRunsTheSameStatementsForAnyPageSize() {
+        assertConstantStatements(size -> gadgetService.getAllGadgets(Category.MOBILES.getValue(), null, null, null,
+                null, "phone", Collections.emptyList(), 0, size, "price", GadgetFields.ALL).getContent());
+    }
+
+    @Test
+    void featuredGadgetsRunTheSameStatementsForAnyLimit() {
+        assertConstantStatements(size -> gadgetService.getFeaturedGadgets(null, size, GadgetFields.ALL));
+    }
+
+    @Test
+    void searchRunsTheSameStatementsForAnyPageSize() {
+        assertConstantStatements(size -> gadgetService.searchGadgets("phone", null, null, 0, size,
+                GadgetFields.ALL).getContent());
+    }
+
+    private void assertConstantStatements(IntFunction<List<GadgetDTO>> listing) {
+        int small = coldStatements(listing, 5);
+        int large = coldStatements(listing, 50);
+        assertEquals(small, large, "statements for a page of 5 and a page of 50");
+        assertTrue(large <= 3, "expected at most 3 statements per page but got " + large);
+    }
+
+    /**
+     * Statements run by a listing with an empty DTO cache, after checking that every gadget
+     * in it came with its specifications
+     */
+    private int coldStatements(IntFunction<List<GadgetDTO>> listing, int size) {
+        gadgetCache.clear();
+        List<List<GadgetDTO>> pages = new ArrayList<>();
+        int statements = StatementCounter.count(() -> pages.add(listing.apply(size)));
+        List<GadgetDTO> gadgets = pages.get(0);
+        assertEquals(size, gadgets.size());
+        for (GadgetDTO gadget : gadgets) {
+            assertEquals(3, gadget.getSpecifications().size(), "specifications of " + gadget.getName());
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,112 @@
+package com.techgo.service;
+
+import com.techgo.dto.GadgetDTO;
+import com.techgo.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsOrderSortKeyAndId() {
+        String token = new KeysetCursor("rating,desc", "450|12", 42L).encode();
+
+        KeysetCursor cursor = KeysetCursor.decode(token, "rating,desc");
+
+        assertEquals("rating,desc", cursor.getOrder());
+        assertEquals("450|12", cursor.getSortKey());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void isUrlSafe() {
+        String token = new KeysetCursor("name,asc", "Ünïcode ?&/+= name", Long.MAX_VALUE).encode();
+
+        assertFalse(token.matches(".*[+/=?&].*"), token);
+        assertEquals("Ünïcode ?&/+= name", KeysetCursor.decode(token, "name,asc").getSortKey());
+    }
+
+    @Test
+    void startsFromTheFirstRowWithoutAToken() {
+        assertNull(KeysetCursor.decode(null, "id,asc"));
+        assertNull(KeysetCursor.decode("", "id,asc"));
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherOrder() {
+        String token = new KeysetCursor("price,asc", "19900", 7L).encode();
+
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token, "price,desc"));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not base64!", "id,asc"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(encode("id,asc"), "id,asc"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(encode("id,asc|x|1"), "id,asc"));
+        assertThrows(BadRequestException.class,
+                () -> KeysetCursor.decode(new KeysetCursor("relevance", "high", 1L).encode(), "relevance")
+                        .getFloatSortKey());
+    }
+
+    @Test
+    void parsesRelevanceScores() {
+        String token = new KeysetCursor("relevance", String.valueOf(3.25f), 5L).encode();
+
+        assertEquals(3.25f, KeysetCursor.decode(token, "relevance").getFloatSortKey(), 0f);
+    }
+
+    @Test
+    void roundTripsANullReviewCount() {
+        GadgetDTO gadget = gadget(450, true, null);
+
+        assertEquals(Arrays.asList(null, new BigDecimal("4.50")),
+                roundTrip(GadgetSort.parse("reviewCount"), gadget));
+    }
+
+    @Test
+    void roundTripsANullRating() {
+        GadgetDTO gadget = gadget(0, false, 3);
+
+        assertEquals(Arrays.asList(null, Integer.valueOf(3)), roundTrip(GadgetSort.parse("rating"), gadget));
+    }
+
+    @Test
+    void tellsANullRatingFromZero() {
+        GadgetDTO gadget = gadget(0, true, 3);
+
+        assertEquals(List.of(new BigDecimal("0.00"), Integer.valueOf(3)),
+                roundTrip(GadgetSort.parse("rating"), gadget));
+    }
+
+    /**
+     * Sort keys of a gadget as the next page decodes them from its cursor
+     */
+    private static List<Comparable<?>> roundTrip(GadgetSort sort, GadgetDTO last) {
+        String token = new KeysetCursor(sort.getCode(), sort.encodeKeys(last), 9L).encode();
+        return sort.decodeKeys(KeysetCursor.decode(token, sort.getCode()).getSortKey());
+    }
+
+    private static GadgetDTO gadget(int ratingX100, boolean rated, Integer reviewCount) {
+        GadgetDTO gadget = new GadgetDTO();
+        gadget.setId(9L);
+        gadget.setRatingX100(ratingX100);
+        gadget.setRated(rated);
+        gadget.setReviewCount(reviewCount);
+        return gadget;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
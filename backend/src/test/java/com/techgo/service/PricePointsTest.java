@@ -0,0 +1,94 @@
+package com.techgo.service;
+
+import com.techgo.repository.projection.PriceHistoryBlock;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PricePointsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void encodesSevenBitsPerByteLeastSignificantFirst() {
+        assertArrayEquals(bytes(0x00, 0x00), PricePoints.encode(0, 0));
+        assertArrayEquals(bytes(0x7F, 0x00), PricePoints.encode(127, 0));
+        assertArrayEquals(bytes(0x80, 0x01, 0x00), PricePoints.encode(128, 0));
+        assertArrayEquals(bytes(0xFF, 0x7F, 0x00), PricePoints.encode(16383, 0));
+        assertArrayEquals(bytes(0x80, 0x80, 0x01, 0x00), PricePoints.encode(16384, 0));
+    }
+
+    @Test
+    void zigzagKeepsSmallChangesOfEitherSignShort() {
+        assertArrayEquals(bytes(0x00, 0x01), PricePoints.encode(0, -1));
+        assertArrayEquals(bytes(0x00, 0x02), PricePoints.encode(0, 1));
+        assertArrayEquals(bytes(0x00, 0x7F), PricePoints.encode(0, -64));
+        assertArrayEquals(bytes(0x00, 0x80, 0x01), PricePoints.encode(0, 64));
+    }
+
+    @Test
+    void weeklyRepricingTakesFiveBytes() {
+        assertEquals(5, PricePoints.encode(7 * 24 * 3600, -2500).length);
+    }
+
+    @Test
+    void extremeChangesRoundTrip() {
+        byte[] largest = PricePoints.encode(0, Long.MIN_VALUE);
+        // One byte of seconds, ten for the full 64-bit change
+        assertEquals(11, largest.length);
+
+        List<Long> prices = decode(block(0, largest, 1));
+        assertEquals(List.of(0L, Long.MIN_VALUE), prices);
+        assertEquals(List.of(0L, Long.MAX_VALUE), decode(block(0, PricePoints.encode(1, Long.MAX_VALUE), 1)));
+    }
+
+    @Test
+    void roundTripsARandomHistory() {
+        Random random = new Random(42);
+        ByteArrayOutputStream points = new ByteArrayOutputStream();
+        List<LocalDateTime> times = new ArrayList<>(List.of(START));
+        List<Long> prices = new ArrayList<>(List.of(49_999L));
+        for (int i = 0; i < 1000; i++) {
+            long seconds = random.nextInt(4) == 0 ? random.nextInt(100) : random.nextInt(90 * 24 * 3600);
+            long price = Math.max(1, prices.get(prices.size() - 1) + random.nextInt(20_001) - 10_000);
+            points.writeBytes(PricePoints.encode(seconds, price - prices.get(prices.size() - 1)));
+            times.add(times.get(times.size() - 1).plusSeconds(seconds));
+            prices.add(price);
+        }
+
+        List<LocalDateTime> decodedTimes = new ArrayList<>();
+        List<Long> decodedPrices = new ArrayList<>();
+        PricePoints.decode(block(49_999L, points.toByteArray(), 1000), (at, cents) -> {
+            decodedTimes.add(at);
+            decodedPrices.add(cents);
+        });
+
+        assertEquals(times, decodedTimes);
+        assertEquals(prices, decodedPrices);
+    }
+
+    private static PriceHistoryBlock block(long firstPriceCents, byte[] points, int changes) {
+        return new PriceHistoryBlock(1L, START, START, firstPriceCents, firstPriceCents, changes + 1, points);
+    }
+
+    private static List<Long> decode(PriceHistoryBlock block) {
+        List<Long> prices = new ArrayList<>();
+        PricePoints.decode(block, (at, cents) -> prices.add(cents));
+        return prices;
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
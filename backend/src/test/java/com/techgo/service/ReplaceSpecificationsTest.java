@@ -0,0 +1,82 @@
+package com.techgo.service;
+
+import com.techgo.MySqlIntegrationTest;
+import com.techgo.dto.CreateGadgetDTO;
+import com.techgo.dto.CreateSpecificationDTO;
+import com.techgo.dto.GadgetDTO;
+import com.techgo.dto.SpecificationDTO;
+import com.techgo.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replacing the specifications of a gadget inserts, updates and deletes rows in one call
+ */
+class ReplaceSpecificationsTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private GadgetService gadgetService;
+
+    private GadgetDTO gadget;
+
+    @BeforeEach
+    void createGadget() {
+        resetCatalog();
+        CreateGadgetDTO phone = new CreateGadgetDTO("Phone", "Brand", Category.MOBILES, BigDecimal.valueOf(499));
+        phone.setSpecifications(List.of(
+                new CreateSpecificationDTO("RAM", "8 GB"),
+                new CreateSpecificationDTO("Battery", "4000 mAh"),
+                new CreateSpecificationDTO("Display", "6.1 inches")));
+        gadget = gadgetService.createGadget(phone);
+    }
+
+    @Test
+    void insertsUpdatesAndDeletesInOneCall() {
+        Long batteryId = specification("Battery").getId();
+        Map<String, String> wanted = new LinkedHashMap<>();
+        wanted.put("RAM", "16 GB");
+        wanted.put("Battery", "4000 mAh");
+        wanted.put("Weight", "180 g");
+
+        gadgetService.replaceSpecifications(gadget.getId(), wanted);
+
+        Map<String, String> stored = gadgetService.getGadgetSpecifications(gadget.getId()).stream()
+                .collect(Collectors.toMap(SpecificationDTO::getSpecName, SpecificationDTO::getSpecValue));
+        assertEquals(wanted, stored);
+        // The unchanged row is left alone and the changed one is parsed again
+        assertEquals(batteryId, specification("Battery").getId());
+        assertEquals(0, new BigDecimal("16").compareTo(jdbcTemplate.queryForObject(
+                "SELECT numeric_value FROM gadget_specifications WHERE gadget_id = ? AND filter_key = 'ram_gb'",
+                BigDecimal.class, gadget.getId())));
+        assertTrue(gadgetService.getGadgetById(gadget.getId()).getVersion() > gadget.getVersion());
+    }
+
+    @Test
+    void unchangedSpecificationsLeaveTheVersion() {
+        Map<String, String> same = new LinkedHashMap<>();
+        same.put("RAM", "8 GB");
+        same.put("Battery", "4000 mAh");
+        same.put("Display", "6.1 inches");
+
+        gadgetService.replaceSpecifications(gadget.getId(), same);
+
+        assertEquals(gadget.getVersion(), gadgetService.getGadgetById(gadget.getId()).getVersion());
+    }
+
+    private SpecificationDTO specification(String name) {
+        return gadgetService.getGadgetSpecifications(gadget.getId()).stream()
+                .filter(spec -> spec.getSpecName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
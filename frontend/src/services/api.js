@@ -44,6 +44,12 @@ export const gadgetService = {
   // Get gadget by ID
   getGadget: (id) => api.get(`/gadgets/${id}`),
 
+  // Get many gadgets by ID in one request; long lists are posted
+  getGadgetsByIds: (ids, fields) =>
+    ids.length > 100
+      ? api.post('/gadgets/batch', ids, { params: { fields } })
+      : api.get('/gadgets', { params: { ids: ids.join(','), fields } }),
+
   // Search gadgets
   searchGadgets: (query, category, brand, page = 0, size = 10) =>
     api.get('/gadgets/search', {